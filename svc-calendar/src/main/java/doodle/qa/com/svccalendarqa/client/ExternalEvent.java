@@ -0,0 +1,11 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import java.time.LocalDateTime;
+
+/**
+ * An external event of a calendar, reduced to the interval it occupies.
+ *
+ * @param start the start time
+ * @param end the end time
+ */
+public record ExternalEvent(LocalDateTime start, LocalDateTime end) {}
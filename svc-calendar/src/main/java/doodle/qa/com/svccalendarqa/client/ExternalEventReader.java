@@ -0,0 +1,61 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder for the event lists returned by the provider service. Only {@code startTime}
+ * and {@code endTime} are read; all other fields, including nested ones, are skipped without being
+ * materialized.
+ */
+public final class ExternalEventReader {
+
+  private ExternalEventReader() {}
+
+  /**
+   * Read a JSON array of provider events.
+   *
+   * @param parser the parser positioned before the array
+   * @return the events in the order they were read
+   * @throws IOException if the input cannot be read or is not an array of events
+   */
+  public static List<ExternalEvent> read(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_ARRAY) {
+      throw new JsonParseException(parser, "Expected an array of events");
+    }
+
+    List<ExternalEvent> events = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      events.add(readEvent(parser));
+    }
+    if (parser.currentToken() != JsonToken.END_ARRAY) {
+      throw new JsonParseException(parser, "Expected an event object");
+    }
+    return events;
+  }
+
+  private static ExternalEvent readEvent(JsonParser parser) throws IOException {
+    LocalDateTime start = null;
+    LocalDateTime end = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("startTime".equals(field) && value == JsonToken.VALUE_STRING) {
+        start = LocalDateTime.parse(parser.getText());
+      } else if ("endTime".equals(field) && value == JsonToken.VALUE_STRING) {
+        end = LocalDateTime.parse(parser.getText());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (start == null || end == null) {
+      throw new JsonParseException(parser, "Event without start or end time");
+    }
+    return new ExternalEvent(start, end);
+  }
+}
@@ -0,0 +1,64 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Client for the provider service, which owns the external events of a calendar. Responses are
+ * decoded with {@link ExternalEventReader} straight from the response stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderClient {
+
+  private final RestTemplate restTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${provider.service.url:http://localhost:8083}")
+  private String providerServiceUrl;
+
+  /**
+   * Get the external events of a calendar that start within the given time range, bounds included.
+   *
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @return a list of external events
+   */
+  public List<ExternalEvent> getEvents(UUID calendarId, LocalDateTime from, LocalDateTime to) {
+    String url =
+        String.format(
+            "%s/api/events/calendar/%s/timerange?start=%s&end=%s",
+            providerServiceUrl, calendarId, from, to);
+
+    List<ExternalEvent> events =
+        restTemplate.execute(
+            url,
+            HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+            this::readEvents);
+
+    if (events != null) {
+      return events;
+    }
+    return Collections.emptyList();
+  }
+
+  private List<ExternalEvent> readEvents(ClientHttpResponse response) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+      return ExternalEventReader.read(parser);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import doodle.qa.com.svccalendarqa.exception.ProviderUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of provider events in front of {@link ProviderClient}. Events are cached per calendar and
+ * day, keyed by the day their start time falls on. A request for any range is answered by combining
+ * the day buckets it covers, and only the missing days are fetched from the provider, in one call.
+ * Buckets are evicted by count and by age; hit, miss and eviction counts are published as {@code
+ * cache.*} metrics tagged {@code cache=provider.events}.
+ *
+ * <p>Concurrent misses for the same calendar and days share one provider call through a {@link
+ * SingleFlight}; the number of calls saved this way is published as {@code
+ * provider.events.collapsed}.
+ *
+ * <p>Provider calls go through {@link ProviderResilience}. Every fetched bucket is also kept as
+ * last-known-good data for {@code provider.events.cache.stale-ttl}; when a call fails, for example
+ * because the circuit breaker is open, those buckets are served instead and counted in {@code
+ * provider.events.stale}. If any of the requested days has no last-known-good data, a {@link
+ * ProviderUnavailableException} is thrown rather than reporting the calendar as free.
+ */
+@Component
+@Slf4j
+public class ProviderEventCache {
+
+  private final ProviderClient providerClient;
+  private final ProviderResilience providerResilience;
+  private final Cache<BucketKey, List<ExternalEvent>> cache;
+  private final Cache<BucketKey, List<ExternalEvent>> lastKnownGood;
+  private final Counter staleServed;
+  private final SingleFlight<FetchKey, Map<LocalDate, List<ExternalEvent>>> fetches;
+
+  public ProviderEventCache(
+      ProviderClient providerClient,
+      ProviderResilience providerResilience,
+      MeterRegistry meterRegistry,
+      @Value("${provider.events.cache.max-buckets:10000}") long maxBuckets,
+      @Value("${provider.events.cache.ttl:PT30S}") Duration ttl,
+      @Value("${provider.events.cache.stale-ttl:PT1H}") Duration staleTtl) {
+    this.providerClient = providerClient;
+    this.providerResilience = providerResilience;
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterWrite(ttl).recordStats().build();
+    this.lastKnownGood =
+        Caffeine.newBuilder().maximumSize(maxBuckets).expireAfterWrite(staleTtl).build();
+    this.staleServed = meterRegistry.counter("provider.events.stale");
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "provider.events");
+    this.fetches = new SingleFlight<>(meterRegistry.counter("provider.events.collapsed"));
+  }
+
+  /**
+   * Get the external events of a calendar that start within the given time range, bounds included.
+   *
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @return a list of external events
+   * @throws ProviderUnavailableException if the events can neither be fetched nor served stale
+   */
+  public List<ExternalEvent> getEvents(UUID calendarId, LocalDateTime from, LocalDateTime to) {
+    LocalDate firstDay = from.toLocalDate();
+    LocalDate lastDay = to.toLocalDate();
+
+    // Collect cached days and the span of days that still has to be fetched
+    Map<LocalDate, List<ExternalEvent>> buckets = new HashMap<>();
+    LocalDate firstMissing = null;
+    LocalDate lastMissing = null;
+    for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+      List<ExternalEvent> bucket = cache.getIfPresent(new BucketKey(calendarId, day));
+      if (bucket != null) {
+        buckets.put(day, bucket);
+      } else {
+        if (firstMissing == null) {
+          firstMissing = day;
+        }
+        lastMissing = day;
+      }
+    }
+
+    if (firstMissing != null) {
+      FetchKey key = new FetchKey(calendarId, firstMissing, lastMissing);
+      buckets.putAll(fetches.execute(key, () -> fetch(key)));
+    }
+
+    // Combine the buckets, keeping only the events within the requested range
+    List<ExternalEvent> events = new ArrayList<>();
+    for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+      for (ExternalEvent event : buckets.get(day)) {
+        LocalDateTime start = event.start();
+        if (!start.isBefore(from) && !start.isAfter(to)) {
+          events.add(event);
+        }
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Drop all cached events of a calendar, including its last-known-good data.
+   *
+   * @param calendarId the calendar ID
+   */
+  public void invalidate(UUID calendarId) {
+    cache.asMap().keySet().removeIf(key -> key.calendarId().equals(calendarId));
+    lastKnownGood.asMap().keySet().removeIf(key -> key.calendarId().equals(calendarId));
+  }
+
+  /**
+   * Fetch whole days from the provider and cache them, one bucket per day. Falls back to
+   * last-known-good data if the provider call fails.
+   *
+   * @param key the calendar and days to fetch
+   * @return the fetched buckets by day
+   */
+  private Map<LocalDate, List<ExternalEvent>> fetch(FetchKey key) {
+    UUID calendarId = key.calendarId();
+    LocalDate firstDay = key.firstDay();
+    LocalDate lastDay = key.lastDay();
+    List<ExternalEvent> events;
+    try {
+      events =
+          providerResilience.call(
+              () ->
+                  providerClient.getEvents(
+                      calendarId, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay()));
+    } catch (RuntimeException e) {
+      return stale(key, e);
+    }
+
+    Map<LocalDate, List<ExternalEvent>> buckets = new HashMap<>();
+    for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+      buckets.put(day, new ArrayList<>());
+    }
+    for (ExternalEvent event : events) {
+      // Events starting exactly at the end of the span belong to the next, unfetched day
+      List<ExternalEvent> bucket = buckets.get(event.start().toLocalDate());
+      if (bucket != null) {
+        bucket.add(event);
+      }
+    }
+
+    buckets.replaceAll((day, bucket) -> List.copyOf(bucket));
+    buckets.forEach(
+        (day, bucket) -> {
+          cache.put(new BucketKey(calendarId, day), bucket);
+          lastKnownGood.put(new BucketKey(calendarId, day), bucket);
+        });
+    return Map.copyOf(buckets);
+  }
+
+  /**
+   * Get the last-known-good buckets for the given days. Stale buckets are not put back into the
+   * cache, so the provider is asked again on the next request.
+   *
+   * @param key the calendar and days to get
+   * @param failure the failure of the provider call
+   * @return the last-known-good buckets by day
+   * @throws ProviderUnavailableException if a day has no last-known-good data
+   */
+  private Map<LocalDate, List<ExternalEvent>> stale(FetchKey key, RuntimeException failure) {
+    Map<LocalDate, List<ExternalEvent>> buckets = new HashMap<>();
+    for (LocalDate day = key.firstDay(); !day.isAfter(key.lastDay()); day = day.plusDays(1)) {
+      List<ExternalEvent> bucket = lastKnownGood.getIfPresent(new BucketKey(key.calendarId(), day));
+      if (bucket == null) {
+        throw new ProviderUnavailableException(key.calendarId(), failure);
+      }
+      buckets.put(day, bucket);
+    }
+    log.warn(
+        "Serving last-known-good events for calendar {}: {}",
+        key.calendarId(),
+        failure.getMessage());
+    staleServed.increment();
+    return Map.copyOf(buckets);
+  }
+
+  /** Cache key of the events of one calendar that start on one day. */
+  private record BucketKey(UUID calendarId, LocalDate day) {}
+
+  /** Key of one provider call covering the given days of a calendar. */
+  private record FetchKey(UUID calendarId, LocalDate firstDay, LocalDate lastDay) {}
+}
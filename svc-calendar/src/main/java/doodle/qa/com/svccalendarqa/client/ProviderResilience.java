@@ -0,0 +1,141 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Resilience layer around calls to the provider service. A call passes, from the outside in,
+ * through
+ *
+ * <ul>
+ *   <li>a retry with exponential backoff and jitter, limited by a {@link RetryBudget},
+ *   <li>a circuit breaker that opens when too many calls fail and probes the provider with a few
+ *       calls once half-open,
+ *   <li>a bulkhead that rejects calls beyond a fixed number of concurrent calls.
+ * </ul>
+ *
+ * <p>Calls rejected by the circuit breaker or the bulkhead, and client errors, are not retried.
+ * State, call and retry metrics are published under {@code resilience4j.*} with {@code
+ * name=provider}; denied retries are counted in {@code provider.retry.budget.exhausted}.
+ */
+@Component
+public class ProviderResilience {
+
+  private static final String NAME = "provider";
+
+  /** Maximum number of retry tokens, which bounds retry bursts after a quiet period. */
+  private static final double MAX_RETRY_TOKENS = 10;
+
+  private final RetryBudget retryBudget;
+  private final Counter retryBudgetExhausted;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final Retry retry;
+
+  public ProviderResilience(
+      MeterRegistry meterRegistry,
+      @Value("${provider.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+      @Value("${provider.resilience.sliding-window-size:20}") int slidingWindowSize,
+      @Value("${provider.resilience.open-duration:PT10S}") Duration openDuration,
+      @Value("${provider.resilience.half-open-calls:3}") int halfOpenCalls,
+      @Value("${provider.resilience.max-concurrent-calls:25}") int maxConcurrentCalls,
+      @Value("${provider.resilience.max-attempts:3}") int maxAttempts,
+      @Value("${provider.resilience.retry-backoff:PT0.1S}") Duration retryBackoff,
+      @Value("${provider.resilience.retry-budget-ratio:0.1}") double retryBudgetRatio) {
+    this.retryBudget = new RetryBudget(retryBudgetRatio, MAX_RETRY_TOKENS);
+    this.retryBudgetExhausted = meterRegistry.counter("provider.retry.budget.exhausted");
+    Gauge.builder("provider.retry.budget.tokens", retryBudget, RetryBudget::tokens)
+        .register(meterRegistry);
+
+    CircuitBreakerRegistry circuitBreakerRegistry =
+        CircuitBreakerRegistry.of(
+            CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.max(1, slidingWindowSize / 2))
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build());
+    BulkheadRegistry bulkheadRegistry =
+        BulkheadRegistry.of(
+            BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    RetryRegistry retryRegistry =
+        RetryRegistry.of(
+            RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(retryBackoff, 2.0))
+                .retryOnException(this::shouldRetry)
+                .build());
+
+    this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+    this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+    this.retry = retryRegistry.retry(NAME);
+
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry)
+        .bindTo(meterRegistry);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+  }
+
+  /**
+   * Run a call to the provider service through the retry, circuit breaker and bulkhead.
+   *
+   * @param call the call to run
+   * @return the result of the call
+   * @throws CallNotPermittedException if the circuit breaker is open
+   * @throws BulkheadFullException if too many calls are in flight
+   */
+  public <T> T call(Supplier<T> call) {
+    retryBudget.deposit();
+    Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead, call);
+    guarded = CircuitBreaker.decorateSupplier(circuitBreaker, guarded);
+    return Retry.decorateSupplier(retry, guarded).get();
+  }
+
+  /**
+   * Get the circuit breaker state.
+   *
+   * @return the circuit breaker state
+   */
+  public CircuitBreaker.State state() {
+    return circuitBreaker.getState();
+  }
+
+  private boolean shouldRetry(Throwable e) {
+    if (e instanceof CallNotPermittedException
+        || e instanceof BulkheadFullException
+        || e instanceof HttpClientErrorException) {
+      return false;
+    }
+    if (!retryBudget.tryAcquire()) {
+      retryBudgetExhausted.increment();
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,52 @@
+package doodle.qa.com.svccalendarqa.client;
+
+/**
+ * Token bucket that limits retries to a fraction of calls. Every call deposits {@code ratio} tokens
+ * and every retry withdraws one, so under a sustained outage retries add at most {@code ratio}
+ * extra load instead of multiplying it by the number of attempts.
+ */
+public class RetryBudget {
+
+  private final double ratio;
+  private final double maxTokens;
+  private double tokens;
+
+  /**
+   * Create a retry budget that starts full.
+   *
+   * @param ratio the tokens deposited per call
+   * @param maxTokens the maximum number of tokens, which bounds retry bursts
+   */
+  public RetryBudget(double ratio, double maxTokens) {
+    this.ratio = ratio;
+    this.maxTokens = maxTokens;
+    this.tokens = maxTokens;
+  }
+
+  /** Record a call. */
+  public synchronized void deposit() {
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  /**
+   * Withdraw a token for a retry.
+   *
+   * @return true if the retry is within budget
+   */
+  public synchronized boolean tryAcquire() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  /**
+   * Get the number of tokens left.
+   *
+   * @return the number of tokens
+   */
+  public synchronized double tokens() {
+    return tokens;
+  }
+}
@@ -0,0 +1,83 @@
+package doodle.qa.com.svccalendarqa.client;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one. The first caller for a key runs the call on
+ * its own thread; callers arriving while it is in flight wait for and share its result, or its
+ * exception. Once the call completes the key is released, so results are never reused by later
+ * callers.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter collapsed;
+
+  /**
+   * Create a single-flight group.
+   *
+   * @param collapsed counter incremented for every call served by another caller's call
+   */
+  public SingleFlight(Counter collapsed) {
+    this.collapsed = collapsed;
+  }
+
+  /**
+   * Run the call for the given key, or wait for the call already in flight for it.
+   *
+   * @param key the key identifying the call
+   * @param call the call to run
+   * @return the result of the call
+   */
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      collapsed.increment();
+      return await(existing);
+    }
+
+    try {
+      V result = call.get();
+      future.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Get the number of calls currently in flight.
+   *
+   * @return the number of in-flight calls
+   */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // Rethrow the leader's exception as is, so followers fail the same way
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package doodle.qa.com.svccalendarqa.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Configuration class for executors. */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Creates the executor that runs provider calls alongside database work. The pool and its queue
+   * are bounded; when both are full the call runs on the calling thread instead.
+   *
+   * @param poolSize the number of threads
+   * @param queueCapacity the number of calls that may wait for a thread
+   * @return the provider executor bean
+   */
+  @Bean
+  public ThreadPoolTaskExecutor providerExecutor(
+      @Value("${provider.executor.pool-size:16}") int poolSize,
+      @Value("${provider.executor.queue-capacity:100}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("provider-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    return executor;
+  }
+
+  /**
+   * Creates the executor on which user state events of different users are applied in parallel,
+   * when {@code kafka.user-state.mode} is {@code parallel}. The events of one user run as a single
+   * task, so they keep their order. When the pool and its queue are full, the task runs on the
+   * listener thread instead.
+   *
+   * @param poolSize the number of threads
+   * @param queueCapacity the number of users whose events may wait for a thread
+   * @return the user state executor bean
+   */
+  @Bean
+  @ConditionalOnProperty(name = "kafka.user-state.mode", havingValue = "parallel")
+  public ThreadPoolTaskExecutor userStateExecutor(
+      @Value("${kafka.user-state.parallel.pool-size:8}") int poolSize,
+      @Value("${kafka.user-state.parallel.queue-capacity:500}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("user-state-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    return executor;
+  }
+
+  /**
+   * Creates the executor on which replays of the user state dead-letter topic run, so that a long
+   * replay does not hold the request that started it. Only one replay runs at a time.
+   *
+   * @return the dead-letter replay executor bean
+   */
+  @Bean
+  public ThreadPoolTaskExecutor deadLetterReplayExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("dlt-replay-");
+    return executor;
+  }
+}
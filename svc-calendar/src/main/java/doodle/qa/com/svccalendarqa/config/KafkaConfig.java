@@ -1,13 +1,25 @@
 package doodle.qa.com.svccalendarqa.config;
 
+import doodle.qa.com.svccalendarqa.kafka.UserStatePartitions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 import org.springframework.util.backoff.ExponentialBackOff;
@@ -20,6 +32,9 @@ public class KafkaConfig {
   @Value("${kafka.topics.user-state}")
   private String userStateTopic;
 
+  @Value("${kafka.topics.user-state-dlt}")
+  private String userStateDltTopic;
+
   @Value("${spring.retry.kafka.max-attempts}")
   private int maxAttempts;
 
@@ -32,10 +47,22 @@ public class KafkaConfig {
   @Value("${spring.retry.kafka.max-interval}")
   private long maxInterval;
 
+  @Value("${kafka.user-state.concurrency:1}")
+  private int concurrency;
+
+  @Value("${kafka.user-state.batch.max-poll-records:500}")
+  private int batchMaxPollRecords;
+
   private final ConsumerFactory<String, Object> consumerFactory;
 
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+
+  private final UserStatePartitions userStatePartitions;
+
   /**
-   * Creates a Kafka listener container factory with error handling.
+   * Creates a Kafka listener container factory with error handling. Each container runs {@code
+   * kafka.user-state.concurrency} consumers, so that partitions are consumed in parallel, and
+   * reports their partitions to {@link UserStatePartitions}.
    *
    * @return the Kafka listener container factory
    */
@@ -44,11 +71,37 @@ public class KafkaConfig {
     ConcurrentKafkaListenerContainerFactory<String, Object> factory =
         new ConcurrentKafkaListenerContainerFactory<>();
     factory.setConsumerFactory(consumerFactory);
+    factory.setConcurrency(concurrency);
     factory.setCommonErrorHandler(errorHandler());
     factory
         .getContainerProperties()
         .setAckMode(
             org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+    factory.getContainerProperties().setConsumerRebalanceListener(userStatePartitions);
+    return factory;
+  }
+
+  /**
+   * Creates a Kafka listener container factory for batch listeners, with error handling and the
+   * same concurrency. Offsets are committed once per batch, after the listener has returned.
+   *
+   * @return the batch Kafka listener container factory
+   */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, Object>
+      batchKafkaListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(consumerFactory);
+    factory.setConcurrency(concurrency);
+    factory.setCommonErrorHandler(errorHandler());
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+    factory.getContainerProperties().setConsumerRebalanceListener(userStatePartitions);
+
+    Properties consumerProperties = new Properties();
+    consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+    factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
     return factory;
   }
 
@@ -63,7 +116,20 @@ public class KafkaConfig {
   }
 
   /**
-   * Creates an error handler for Kafka listeners.
+   * Creates a dead-letter topic for user state events that could not be applied. It is specific to
+   * this service, and has as many partitions as the user state topic.
+   *
+   * @return the user state dead-letter topic
+   */
+  @Bean
+  public NewTopic userStateDltTopic() {
+    return TopicBuilder.name(userStateDltTopic).partitions(3).replicas(1).build();
+  }
+
+  /**
+   * Creates an error handler for Kafka listeners. Records that still fail after the retries are
+   * published to the same partition of the dead-letter topic. Records that could not be
+   * deserialized are not retried, and are published with their original bytes.
    *
    * @return the error handler
    */
@@ -74,6 +140,19 @@ public class KafkaConfig {
     backOff.setMultiplier(multiplier);
     backOff.setMaxInterval(maxInterval);
 
-    return new DefaultErrorHandler(backOff);
+    // Checked in order, so the raw bytes of records that could not be deserialized bypass Avro
+    Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+    templates.put(
+        byte[].class,
+        new KafkaTemplate<>(
+            kafkaTemplate.getProducerFactory(),
+            Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+    templates.put(Object.class, kafkaTemplate);
+    DeadLetterPublishingRecoverer recoverer =
+        new DeadLetterPublishingRecoverer(
+            templates,
+            (record, exception) -> new TopicPartition(userStateDltTopic, record.partition()));
+
+    return new DefaultErrorHandler(recoverer, backOff);
   }
 }
@@ -1,7 +1,20 @@
 package doodle.qa.com.svccalendarqa.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /** Configuration class for RestTemplate. */
@@ -9,12 +22,80 @@ import org.springframework.web.client.RestTemplate;
 public class RestTemplateConfig {
 
   /**
-   * Creates a RestTemplate bean.
+   * Creates the pooled connection manager used for calls to the provider service. Pool usage is
+   * published as {@code httpcomponents.httpclient.pool.*} metrics tagged {@code
+   * httpclient=provider}.
    *
+   * @param maxConnections the maximum number of connections in total
+   * @param maxConnectionsPerRoute the maximum number of connections per host
+   * @param connectTimeout the time allowed to establish a connection
+   * @param readTimeout the time allowed between two packets of a response
+   * @param meterRegistry the meter registry
+   * @return the connection manager bean
+   */
+  @Bean
+  public PoolingHttpClientConnectionManager providerConnectionManager(
+      @Value("${provider.http.max-connections:200}") int maxConnections,
+      @Value("${provider.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+      @Value("${provider.http.connect-timeout:PT1S}") Duration connectTimeout,
+      @Value("${provider.http.read-timeout:PT2S}") Duration readTimeout,
+      MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(timeout(connectTimeout))
+                    .setSocketTimeout(timeout(readTimeout))
+                    .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                    .build())
+            .build();
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "provider")
+        .bindTo(meterRegistry);
+    return connectionManager;
+  }
+
+  /**
+   * Creates the HTTP client used for calls to the provider service.
+   *
+   * @param connectionManager the connection manager
+   * @param connectionRequestTimeout the time allowed to wait for a connection from the pool
+   * @param readTimeout the time allowed until the response starts
+   * @param idleTimeout the time after which idle connections are closed
+   * @return the HTTP client bean
+   */
+  @Bean
+  public CloseableHttpClient providerHttpClient(
+      PoolingHttpClientConnectionManager connectionManager,
+      @Value("${provider.http.connection-request-timeout:PT0.5S}")
+          Duration connectionRequestTimeout,
+      @Value("${provider.http.read-timeout:PT2S}") Duration readTimeout,
+      @Value("${provider.http.idle-timeout:PT30S}") Duration idleTimeout) {
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(
+            RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(connectionRequestTimeout))
+                .setResponseTimeout(timeout(readTimeout))
+                .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+        .build();
+  }
+
+  /**
+   * Creates a RestTemplate bean backed by the pooled provider HTTP client.
+   *
+   * @param providerHttpClient the HTTP client
    * @return the RestTemplate bean
    */
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(CloseableHttpClient providerHttpClient) {
+    return new RestTemplate(new HttpComponentsClientHttpRequestFactory(providerHttpClient));
+  }
+
+  private static Timeout timeout(Duration duration) {
+    return Timeout.ofMilliseconds(duration.toMillis());
   }
 }
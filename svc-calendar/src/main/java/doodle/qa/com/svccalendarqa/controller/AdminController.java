@@ -0,0 +1,97 @@
+package doodle.qa.com.svccalendarqa.controller;
+
+import doodle.qa.com.svccalendarqa.client.ProviderEventCache;
+import doodle.qa.com.svccalendarqa.dto.DeadLetterReplayDto;
+import doodle.qa.com.svccalendarqa.kafka.DeadLetterReplayer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Controller for operational tasks on the calendar service. */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin", description = "Operational API")
+public class AdminController {
+
+  private final ProviderEventCache providerEventCache;
+  private final DeadLetterReplayer deadLetterReplayer;
+
+  /**
+   * Invalidate the cached provider events of a calendar.
+   *
+   * @param calendarId the calendar ID
+   * @return no content
+   */
+  @DeleteMapping("/provider-events/{calendarId}")
+  @Operation(
+      summary = "Invalidate cached provider events",
+      description = "Drop all cached provider events of a calendar so they are fetched again",
+      responses = {@ApiResponse(responseCode = "204", description = "Cache invalidated")})
+  public ResponseEntity<Void> invalidateProviderEvents(
+      @Parameter(description = "Calendar ID") @PathVariable UUID calendarId) {
+
+    log.info("Invalidating cached provider events for calendar {}", calendarId);
+
+    providerEventCache.invalidate(calendarId);
+
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Start replaying the user state events of the dead-letter topic, once the cause of their failure
+   * is fixed. The replay runs in the background; its progress is returned by {@link
+   * #getUserStateDeadLetterReplay()}.
+   *
+   * @param maxRecords the maximum number of events to replay
+   * @param recordsPerSecond the maximum rate of the replay, unlimited if not positive
+   * @return the progress of the replay
+   */
+  @PostMapping("/user-state-dlt/replay")
+  @Operation(
+      summary = "Replay dead-lettered user state events",
+      description =
+          "Start applying the user state events that could not be applied before, in bulk at a"
+              + " bounded rate. Events that fail again are dead-lettered again",
+      responses = {
+        @ApiResponse(responseCode = "202", description = "Replay started"),
+        @ApiResponse(responseCode = "409", description = "A replay is already running")
+      })
+  public ResponseEntity<DeadLetterReplayDto> replayUserStateDeadLetters(
+      @Parameter(description = "Maximum number of events to replay")
+          @RequestParam(defaultValue = "10000")
+          int maxRecords,
+      @Parameter(description = "Maximum number of events per second")
+          @RequestParam(defaultValue = "500")
+          int recordsPerSecond) {
+
+    log.info(
+        "Replaying up to {} dead-lettered user state events at {} per second",
+        maxRecords,
+        recordsPerSecond);
+
+    return ResponseEntity.accepted().body(deadLetterReplayer.start(maxRecords, recordsPerSecond));
+  }
+
+  /**
+   * Get the progress of the running replay of the user state dead-letter topic, or the outcome of
+   * the last one.
+   *
+   * @return the progress of the replay
+   */
+  @GetMapping("/user-state-dlt/replay")
+  @Operation(
+      summary = "Get the progress of the dead-letter replay",
+      description = "Get the number of events replayed so far, and whether the replay is running",
+      responses = {@ApiResponse(responseCode = "200", description = "Replay progress found")})
+  public ResponseEntity<DeadLetterReplayDto> getUserStateDeadLetterReplay() {
+    return ResponseEntity.ok(deadLetterReplayer.status());
+  }
+}
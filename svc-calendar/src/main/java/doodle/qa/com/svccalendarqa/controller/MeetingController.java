@@ -1,5 +1,10 @@
 package doodle.qa.com.svccalendarqa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingRequestDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResponseDto;
+import doodle.qa.com.svccalendarqa.dto.CursorPageDto;
+import doodle.qa.com.svccalendarqa.dto.GroupSlotsRequestDto;
 import doodle.qa.com.svccalendarqa.dto.MeetingDto;
 import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
 import doodle.qa.com.svccalendarqa.service.MeetingService;
@@ -8,7 +13,9 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,9 +40,14 @@ import org.springframework.web.bind.annotation.*;
 public class MeetingController {
 
   private final MeetingService meetingService;
+  private final ObjectMapper objectMapper;
 
   /**
-   * Get meetings by user ID, calendar ID, and time range.
+   * Get meetings by user ID, calendar ID, and time range. When a cursor is given, even an empty
+   * one, pages are continued from the cursor instead of the page number, and the response carries
+   * the cursor of the next page instead of the total number of pages. In slice mode, the response
+   * tells whether there is a next page instead of the total number of pages, so no count query is
+   * run.
    *
    * @param userId the user ID
    * @param calendarId the calendar ID
@@ -42,12 +55,15 @@ public class MeetingController {
    * @param to the end time
    * @param page the page number
    * @param size the page size
+   * @param cursor the cursor of the page to get, empty for the first page
+   * @param slice whether to return hasNext instead of totalPages
    * @return a page of meetings
    */
   @GetMapping
   @Operation(
       summary = "Get meetings",
-      description = "Get meetings by user ID, calendar ID, and time range",
+      description =
+          "Get meetings by user ID, calendar ID, and time range, by page number or by cursor",
       responses = {
         @ApiResponse(responseCode = "200", description = "Meetings found"),
         @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
@@ -68,12 +84,41 @@ public class MeetingController {
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
           LocalDateTime to,
       @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
-      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Cursor of the page, empty for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Return hasNext instead of totalPages, without a count query")
+          @RequestParam(defaultValue = "false")
+          boolean slice) {
 
     log.info(
         "Getting meetings for user {} and calendar {} from {} to {}", userId, calendarId, from, to);
 
+    if (cursor != null) {
+      CursorPageDto<MeetingDto> meetings =
+          meetingService.findMeetingsAfter(userId, calendarId, from, to, cursor, size);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("meetings", meetings.getContent());
+      response.put("nextCursor", meetings.getNextCursor());
+
+      return ResponseEntity.ok(response);
+    }
+
     Pageable pageable = PageRequest.of(page, size);
+    if (slice) {
+      Slice<MeetingDto> meetings =
+          meetingService.findMeetingSlice(userId, calendarId, from, to, pageable);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("meetings", meetings.getContent());
+      response.put("hasNext", meetings.hasNext());
+      response.put("currentPage", meetings.getNumber());
+
+      return ResponseEntity.ok(response);
+    }
+
     Page<MeetingDto> meetings = meetingService.findMeetings(userId, calendarId, from, to, pageable);
 
     Map<String, Object> response = new HashMap<>();
@@ -84,6 +129,58 @@ public class MeetingController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Export the meetings of a calendar within a time range as newline-delimited JSON, one meeting
+   * per line in start time and ID order. The time range is not limited, and meetings are written as
+   * they are read from the database.
+   *
+   * @param userId the user ID
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @param response the response the meetings are written to
+   * @throws IOException if the response cannot be written
+   */
+  @GetMapping(value = "/export", produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Export meetings",
+      description =
+          "Export the meetings of a calendar within a time range of any length as"
+              + " newline-delimited JSON",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Meetings exported"),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(
+            responseCode = "404",
+            description = "User or calendar not found",
+            content = @Content)
+      })
+  public void exportMeetings(
+      @Parameter(description = "User ID") @RequestParam UUID userId,
+      @Parameter(description = "Calendar ID") @RequestParam UUID calendarId,
+      @Parameter(description = "Start time")
+          @RequestParam
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @Parameter(description = "End time")
+          @RequestParam
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      HttpServletResponse response)
+      throws IOException {
+
+    log.info(
+        "Exporting meetings for user {} and calendar {} from {} to {}",
+        userId,
+        calendarId,
+        from,
+        to);
+
+    NdjsonWriter writer = new NdjsonWriter(response, objectMapper);
+    meetingService.exportMeetings(userId, calendarId, from, to, writer);
+    writer.finish();
+  }
+
   /**
    * Get available time slots by user ID, calendar ID, time range, and slot duration.
    *
@@ -144,6 +241,57 @@ public class MeetingController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Get the time slots in which every participant is available.
+   *
+   * @param request the participants, time range, and slot duration
+   * @param page the page number
+   * @param size the page size
+   * @return a page of available time slots with pagination information
+   */
+  @PostMapping("/slots/group")
+  @Operation(
+      summary = "Get group available time slots",
+      description =
+          "Get the time slots in which every participant is available, by user ID and calendar ID"
+              + " pairs, time range, and slot duration",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Time slots found"),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(
+            responseCode = "404",
+            description = "User or calendar not found",
+            content = @Content)
+      })
+  public ResponseEntity<Map<String, Object>> getGroupAvailableTimeSlots(
+      @Parameter(description = "Request DTO") @Valid @RequestBody GroupSlotsRequestDto request,
+      @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+
+    log.info(
+        "Getting available time slots for {} participants from {} to {} with slot duration {}",
+        request.getParticipants().size(),
+        request.getFrom(),
+        request.getTo(),
+        request.getSlotDuration());
+
+    Pageable pageable = PageRequest.of(page, size);
+    Page<TimeSlotDto> timeSlots =
+        meetingService.findGroupAvailableTimeSlots(
+            request.getParticipants(),
+            request.getFrom(),
+            request.getTo(),
+            request.getSlotDuration(),
+            pageable);
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("slots", timeSlots.getContent());
+    response.put("totalPages", timeSlots.getTotalPages());
+    response.put("currentPage", timeSlots.getNumber());
+
+    return ResponseEntity.ok(response);
+  }
+
   /**
    * Get a meeting by ID, user ID, and calendar ID.
    *
@@ -206,6 +354,42 @@ public class MeetingController {
     return ResponseEntity.status(HttpStatus.CREATED).body(meeting);
   }
 
+  /**
+   * Create many meetings of one calendar at once.
+   *
+   * @param request the calendar ID and the meetings
+   * @param userId the user ID
+   * @return the result of each meeting
+   */
+  @PostMapping("/bulk")
+  @Operation(
+      summary = "Create meetings in bulk",
+      description =
+          "Create many meetings of one calendar at once, reporting for each meeting whether it was"
+              + " created, invalid, or in conflict",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Meetings processed"),
+        @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content),
+        @ApiResponse(
+            responseCode = "404",
+            description = "User or calendar not found",
+            content = @Content)
+      })
+  public ResponseEntity<BulkMeetingResponseDto> createMeetings(
+      @Parameter(description = "Request DTO") @Valid @RequestBody BulkMeetingRequestDto request,
+      @Parameter(description = "User ID") @RequestParam UUID userId) {
+
+    log.info(
+        "Creating {} meetings in bulk for user {} and calendar {}",
+        request.getMeetings().size(),
+        userId,
+        request.getCalendarId());
+
+    BulkMeetingResponseDto response = meetingService.createMeetings(request, userId);
+
+    return ResponseEntity.ok(response);
+  }
+
   /**
    * Update a meeting.
    *
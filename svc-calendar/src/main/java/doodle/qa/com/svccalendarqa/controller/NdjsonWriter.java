@@ -0,0 +1,64 @@
+package doodle.qa.com.svccalendarqa.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes values to a response as newline-delimited JSON, one value per line. The content type is
+ * set and the body opened on the first value only, so that an exception thrown before it is still
+ * rendered as a regular error response. Lines are left to the response buffer instead of being
+ * flushed one by one.
+ */
+class NdjsonWriter implements Consumer<Object> {
+
+  /** Media type of newline-delimited JSON. */
+  static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+  private final HttpServletResponse response;
+  private final ObjectWriter writer;
+  private OutputStream out;
+
+  NdjsonWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+    this.response = response;
+    this.writer =
+        objectMapper
+            .writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Override
+  public void accept(Object value) {
+    try {
+      open();
+      writer.writeValue(out, value);
+      out.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Open the body if no value was written, and flush it.
+   *
+   * @throws IOException if the body cannot be written
+   */
+  void finish() throws IOException {
+    open();
+    out.flush();
+  }
+
+  private void open() throws IOException {
+    if (out == null) {
+      response.setContentType(APPLICATION_NDJSON_VALUE);
+      out = response.getOutputStream();
+    }
+  }
+}
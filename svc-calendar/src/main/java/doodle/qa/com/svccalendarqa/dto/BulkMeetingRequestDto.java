@@ -0,0 +1,29 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for creating many meetings of one calendar at once. The meetings are not
+ * validated as a whole; each one that is invalid is reported in its own result instead, and its
+ * calendar ID may be left out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMeetingRequestDto {
+  @NotNull(message = "Calendar ID is required")
+  private UUID calendarId;
+
+  @NotEmpty(message = "At least one meeting is required")
+  @Size(max = 1000, message = "At most 1000 meetings are allowed")
+  private List<@NotNull MeetingDto> meetings;
+}
@@ -0,0 +1,21 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data Transfer Object for the outcome of a bulk creation, with one result per meeting. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMeetingResponseDto {
+  private int created;
+
+  private int failed;
+
+  /** Results in the order of the meetings in the request. */
+  private List<BulkMeetingResultDto> results;
+}
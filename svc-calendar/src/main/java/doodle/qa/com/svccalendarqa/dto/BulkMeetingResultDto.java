@@ -0,0 +1,32 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data Transfer Object for the outcome of one meeting of a bulk creation. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMeetingResultDto {
+
+  /** Outcome of a meeting of a bulk creation. */
+  public enum Status {
+    CREATED,
+    INVALID,
+    CONFLICT
+  }
+
+  /** Position of the meeting in the request. */
+  private int index;
+
+  private Status status;
+
+  /** The created meeting, or {@code null} if it was not created. */
+  private MeetingDto meeting;
+
+  /** Why the meeting was not created, or {@code null} if it was. */
+  private String error;
+}
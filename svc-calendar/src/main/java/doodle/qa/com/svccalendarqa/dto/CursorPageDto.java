@@ -0,0 +1,23 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generic Data Transfer Object for a page of a keyset-paginated list.
+ *
+ * @param <T> the type of the content
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+  private List<T> content;
+
+  /** Cursor of the next page, or {@code null} if this is the last page. */
+  private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data Transfer Object for the progress of a replay of the user state dead-letter topic. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayDto {
+  private int applied;
+
+  /** Events that were stale or already applied. */
+  private int skipped;
+
+  /**
+   * Events that failed again, and were published back to the dead-letter topic. Events that cannot
+   * be deserialized are counted too, but left where they are.
+   */
+  private int failed;
+
+  /** Whether the replay is still running. */
+  private boolean running;
+
+  /** Whether every event dead-lettered before the replay started was replayed. */
+  private boolean completed;
+
+  /** Message of the error that stopped the replay, if any. */
+  private String error;
+}
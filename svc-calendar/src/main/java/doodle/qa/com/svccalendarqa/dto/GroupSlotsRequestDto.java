@@ -0,0 +1,32 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data Transfer Object for a search of time slots that are free for every participant. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupSlotsRequestDto {
+  @NotEmpty(message = "At least one participant is required")
+  @Size(max = 50, message = "At most 50 participants are allowed")
+  private List<@Valid @NotNull ParticipantDto> participants;
+
+  @NotNull(message = "Start time is required")
+  private LocalDateTime from;
+
+  @NotNull(message = "End time is required")
+  private LocalDateTime to;
+
+  @NotNull(message = "Slot duration is required")
+  private Integer slotDuration;
+}
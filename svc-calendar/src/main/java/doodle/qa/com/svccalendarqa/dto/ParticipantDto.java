@@ -0,0 +1,21 @@
+package doodle.qa.com.svccalendarqa.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data Transfer Object for a participant of a group availability search. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantDto {
+  @NotNull(message = "User ID is required")
+  private UUID userId;
+
+  @NotNull(message = "Calendar ID is required")
+  private UUID calendarId;
+}
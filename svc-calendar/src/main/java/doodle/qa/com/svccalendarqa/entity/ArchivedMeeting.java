@@ -0,0 +1,60 @@
+package doodle.qa.com.svccalendarqa.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Archived meeting, moved out of the meetings table by the archival job once it ended long ago.
+ * Archived meetings are only read, by listings of historic time ranges.
+ */
+@Entity
+@Immutable
+@Table(name = "meetings_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedMeeting {
+
+  @Id private UUID id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  @Column(name = "start_time", nullable = false)
+  private LocalDateTime startTime;
+
+  @Column(name = "end_time", nullable = false)
+  private LocalDateTime endTime;
+
+  @Column private String location;
+
+  /** User calendar ID of the meeting, kept as a plain column since archived rows are read only. */
+  @Column(name = "user_calendar_id", nullable = false)
+  private UUID userCalendarId;
+
+  @Column(name = "calendar_id", nullable = false)
+  private UUID calendarId;
+
+  /** Version of the meeting when it was archived. */
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+}
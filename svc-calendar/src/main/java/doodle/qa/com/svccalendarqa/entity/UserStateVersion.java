@@ -0,0 +1,31 @@
+package doodle.qa.com.svccalendarqa.entity;
+
+import jakarta.persistence.*;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last user state event applied for a user, identified by its timestamp and its offset in the user
+ * state topic, as two events of a user may share a timestamp.
+ */
+@Entity
+@Table(name = "user_state_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStateVersion {
+
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Column(name = "event_timestamp", nullable = false)
+  private long eventTimestamp;
+
+  @Column(name = "event_offset", nullable = false)
+  private long eventOffset;
+}
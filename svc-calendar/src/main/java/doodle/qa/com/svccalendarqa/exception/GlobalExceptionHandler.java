@@ -102,6 +102,23 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
   }
 
+  /**
+   * Handles ProviderUnavailableException. Returns a 503 Service Unavailable status code.
+   *
+   * @param ex the exception
+   * @return the response entity with error details
+   */
+  @ExceptionHandler(ProviderUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<ErrorResponse> handleProviderUnavailableException(
+      ProviderUnavailableException ex) {
+    log.warn("Provider unavailable: {}", ex.getMessage(), ex.getCause());
+    ErrorResponse errorResponse =
+        new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(), LocalDateTime.now());
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
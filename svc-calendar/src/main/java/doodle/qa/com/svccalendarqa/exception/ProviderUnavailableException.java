@@ -0,0 +1,14 @@
+package doodle.qa.com.svccalendarqa.exception;
+
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Exception thrown when the external events of a calendar cannot be retrieved. */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProviderUnavailableException extends RuntimeException {
+
+  public ProviderUnavailableException(UUID calendarId, Throwable cause) {
+    super("External events are currently unavailable for calendar ID: " + calendarId, cause);
+  }
+}
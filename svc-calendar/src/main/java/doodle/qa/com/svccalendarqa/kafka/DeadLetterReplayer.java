@@ -0,0 +1,304 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.dto.DeadLetterReplayDto;
+import doodle.qa.com.svccalendarqa.exception.IllegalArgumentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays the user state events of the dead-letter topic, to recover after an incident once the
+ * cause of the failures is fixed. The topic is read in large polls with a consumer group of its
+ * own, up to the offsets it had when the replay started, and each event is applied as by {@link
+ * UserStateConsumer}, paced to a maximum rate so that a replay does not starve the live consumers
+ * of the database. Events that fail again are published back to the dead-letter topic, and the
+ * offsets of a poll are committed once all its events are handled, so a replay can be repeated or
+ * resumed at any time. The outcome of each event is counted as {@code user-state.dlt.replayed},
+ * tagged with the outcome.
+ *
+ * <p>A replay runs on the dead-letter replay executor, and its progress can be read while it runs
+ * and after it ended. Events that cannot be deserialized cannot be applied by a replay either; they
+ * are counted as failed and logged with their offset, but not published again.
+ */
+@Component
+@Slf4j
+public class DeadLetterReplayer {
+
+  private final ConsumerFactory<String, Object> consumerFactory;
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final UserStateConsumer userStateConsumer;
+  private final Executor deadLetterReplayExecutor;
+  private final Counter appliedEvents;
+  private final Counter skippedEvents;
+  private final Counter failedEvents;
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile Progress progress = new Progress();
+
+  @Value("${kafka.topics.user-state-dlt:user-state.calendar.DLT}")
+  private String deadLetterTopic = "user-state.calendar.DLT";
+
+  /** Consumer group whose committed offsets track the progress of replays. */
+  @Value("${kafka.user-state.dlt-replay.group-id:calendar-service-dlt-replay}")
+  private String groupId = "calendar-service-dlt-replay";
+
+  /** Maximum number of events fetched per poll. */
+  @Value("${kafka.user-state.dlt-replay.max-poll-records:1000}")
+  private int maxPollRecords = 1000;
+
+  /** Time to wait for events per poll; a poll that returns none ends the replay. */
+  @Value("${kafka.user-state.dlt-replay.poll-timeout:PT2S}")
+  private Duration pollTimeout = Duration.ofSeconds(2);
+
+  public DeadLetterReplayer(
+      ConsumerFactory<String, Object> consumerFactory,
+      KafkaTemplate<String, Object> kafkaTemplate,
+      UserStateConsumer userStateConsumer,
+      @Qualifier("deadLetterReplayExecutor") Executor deadLetterReplayExecutor,
+      MeterRegistry meterRegistry) {
+    this.consumerFactory = consumerFactory;
+    this.kafkaTemplate = kafkaTemplate;
+    this.userStateConsumer = userStateConsumer;
+    this.deadLetterReplayExecutor = deadLetterReplayExecutor;
+    this.appliedEvents = meterRegistry.counter("user-state.dlt.replayed", "outcome", "applied");
+    this.skippedEvents = meterRegistry.counter("user-state.dlt.replayed", "outcome", "skipped");
+    this.failedEvents = meterRegistry.counter("user-state.dlt.replayed", "outcome", "failed");
+  }
+
+  /**
+   * Start replaying the events of the dead-letter topic that were not replayed yet, up to the end
+   * of the topic when the replay started. Only one replay runs at a time.
+   *
+   * @param maxRecords the maximum number of events to replay
+   * @param recordsPerSecond the maximum number of events replayed per second, unlimited if not
+   *     positive
+   * @return the progress of the replay
+   * @throws IllegalArgumentException if a replay is already running
+   */
+  public DeadLetterReplayDto start(int maxRecords, int recordsPerSecond) {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalArgumentException("A replay of the dead-letter topic is already running");
+    }
+    Progress started = new Progress();
+    started.running = true;
+    progress = started;
+    try {
+      deadLetterReplayExecutor.execute(() -> run(started, maxRecords, recordsPerSecond));
+    } catch (RuntimeException e) {
+      started.running = false;
+      running.set(false);
+      throw e;
+    }
+    return status();
+  }
+
+  /**
+   * Get the progress of the running replay, or the outcome of the last one.
+   *
+   * @return the number of events applied, skipped and failed so far
+   */
+  public DeadLetterReplayDto status() {
+    return progress.toDto();
+  }
+
+  private void run(Progress progress, int maxRecords, int recordsPerSecond) {
+    try (Consumer<String, Object> consumer =
+        consumerFactory.createConsumer(groupId, null, null, consumerProperties())) {
+      replay(consumer, progress, maxRecords, recordsPerSecond);
+    } catch (RuntimeException e) {
+      log.error("Replay of {} failed: {}", deadLetterTopic, e.getMessage(), e);
+      progress.error = e.getMessage();
+    } finally {
+      progress.running = false;
+      running.set(false);
+    }
+  }
+
+  private void replay(
+      Consumer<String, Object> consumer, Progress progress, int maxRecords, int recordsPerSecond) {
+    List<TopicPartition> partitions =
+        consumer.partitionsFor(deadLetterTopic).stream()
+            .map(info -> new TopicPartition(info.topic(), info.partition()))
+            .toList();
+    consumer.assign(partitions);
+    // Events failing again during the replay land after these offsets, and wait for the next one
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+    long started = System.nanoTime();
+    int replayed = 0;
+    while (replayed < maxRecords && !reachedEnd(consumer, endOffsets)) {
+      ConsumerRecords<String, Object> records = consumer.poll(pollTimeout);
+      if (records.isEmpty()) {
+        break;
+      }
+
+      Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+      List<CompletableFuture<?>> republished = new ArrayList<>();
+      for (TopicPartition partition : records.partitions()) {
+        for (ConsumerRecord<String, Object> record : records.records(partition)) {
+          if (record.offset() >= endOffsets.get(partition)) {
+            // Not committed, so left for the next replay
+            break;
+          }
+          if (replayed >= maxRecords) {
+            consumer.seek(partition, record.offset());
+            break;
+          }
+          pace(started, replayed, recordsPerSecond);
+          if (record.value() == null) {
+            unreadable(record, progress);
+          } else if (!apply(record, progress)) {
+            republished.add(
+                kafkaTemplate.send(
+                    new ProducerRecord<>(
+                        deadLetterTopic,
+                        record.partition(),
+                        record.key(),
+                        record.value(),
+                        record.headers())));
+          }
+          offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+          replayed++;
+        }
+      }
+
+      // Only commit once the events that failed again are safely back on the topic
+      CompletableFuture.allOf(republished.toArray(CompletableFuture[]::new)).join();
+      consumer.commitSync(offsets);
+    }
+
+    progress.completed = reachedEnd(consumer, endOffsets);
+    log.info(
+        "Replayed {} user state events from {}: {} applied, {} skipped, {} failed",
+        replayed,
+        deadLetterTopic,
+        progress.applied.get(),
+        progress.skipped.get(),
+        progress.failed.get());
+  }
+
+  /** Apply one dead-lettered event, and count its outcome. */
+  private boolean apply(ConsumerRecord<String, Object> record, Progress progress) {
+    try {
+      if (!(record.value() instanceof UserState userState)) {
+        throw new IllegalStateException("Not a user state event: " + record.value());
+      }
+      if (userStateConsumer.applyUserState(userState, originalOffset(record))) {
+        appliedEvents.increment();
+        progress.applied.incrementAndGet();
+      } else {
+        skippedEvents.increment();
+        progress.skipped.incrementAndGet();
+      }
+      return true;
+    } catch (RuntimeException e) {
+      log.error(
+          "Error replaying user state event at offset {} of partition {}: {}",
+          record.offset(),
+          record.partition(),
+          e.getMessage(),
+          e);
+      failedEvents.increment();
+      progress.failed.incrementAndGet();
+      return false;
+    }
+  }
+
+  /**
+   * Count an event that could not be deserialized as failed. Publishing it again would only move
+   * it, so it is left at its offset for inspection.
+   */
+  private void unreadable(ConsumerRecord<String, Object> record, Progress progress) {
+    log.error(
+        "User state event at offset {} of partition {} could not be deserialized",
+        record.offset(),
+        record.partition());
+    failedEvents.increment();
+    progress.failed.incrementAndGet();
+  }
+
+  /**
+   * Offset of a dead-lettered event in the user state topic, as recorded by the dead-letter
+   * publishing recoverer, or -1 if it is not recorded.
+   */
+  private static long originalOffset(ConsumerRecord<String, Object> record) {
+    Header header = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET);
+    return header != null ? ByteBuffer.wrap(header.value()).getLong() : -1;
+  }
+
+  /** Sleep until the given number of events is within the rate since the start of the replay. */
+  private static void pace(long started, int replayed, int recordsPerSecond) {
+    if (recordsPerSecond <= 0) {
+      return;
+    }
+    long due = started + Duration.ofSeconds(1).toNanos() * replayed / recordsPerSecond;
+    long wait = due - System.nanoTime();
+    if (wait > 0) {
+      try {
+        Thread.sleep(Duration.ofNanos(wait).toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Replay of the dead-letter topic interrupted", e);
+      }
+    }
+  }
+
+  private static boolean reachedEnd(
+      Consumer<String, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream()
+        .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+  }
+
+  private Properties consumerProperties() {
+    Properties properties = new Properties();
+    properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+    properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    return properties;
+  }
+
+  /** Progress of one replay, updated by the replay and read by the requests for its status. */
+  private static class Progress {
+    private final AtomicInteger applied = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean running;
+    private volatile boolean completed;
+    private volatile String error;
+
+    private DeadLetterReplayDto toDto() {
+      return DeadLetterReplayDto.builder()
+          .applied(applied.get())
+          .skipped(skipped.get())
+          .failed(failed.get())
+          .running(running)
+          .completed(completed)
+          .error(error)
+          .build();
+    }
+  }
+}
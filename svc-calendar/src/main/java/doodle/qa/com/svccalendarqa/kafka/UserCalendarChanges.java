@@ -0,0 +1,79 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import com.example.svcuser.avro.EventType;
+import com.example.svcuser.avro.UserState;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Net effect of consecutive user state events of one user on the user_calendar table, so that a
+ * batch of events can be applied with one insert and one delete. Each event is folded in the same
+ * way as {@link UserStateConsumer} would apply it on its own.
+ */
+class UserCalendarChanges {
+
+  /** Calendars to add if they are missing. */
+  private final Set<UUID> calendarIdsToAdd = new LinkedHashSet<>();
+
+  /** Calendars to keep, all others being removed, or null to remove none. */
+  private Set<UUID> calendarIdsToKeep;
+
+  /**
+   * Fold the next event of the user into the changes.
+   *
+   * @param userState the user state event
+   */
+  void apply(UserState userState) {
+    List<UUID> calendarIds = userState.getCalendarIds().stream().map(UUID::fromString).toList();
+    EventType eventType = userState.getEventType();
+
+    switch (eventType) {
+      case CREATED:
+      case UPDATED:
+        calendarIdsToAdd.clear();
+        calendarIdsToAdd.addAll(calendarIds);
+        calendarIdsToKeep = new LinkedHashSet<>(calendarIds);
+        break;
+      case DELETED:
+        calendarIdsToAdd.clear();
+        calendarIdsToKeep = new LinkedHashSet<>();
+        break;
+      case CALENDAR_ADDED:
+        calendarIdsToAdd.addAll(calendarIds);
+        if (calendarIdsToKeep != null) {
+          calendarIdsToKeep.addAll(calendarIds);
+        }
+        break;
+      case CALENDAR_REMOVED:
+        calendarIdsToAdd.retainAll(calendarIds);
+        if (calendarIdsToKeep == null) {
+          calendarIdsToKeep = new LinkedHashSet<>(calendarIds);
+        } else {
+          calendarIdsToKeep.retainAll(calendarIds);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Get the calendars to add if they are missing.
+   *
+   * @return the calendar IDs
+   */
+  Set<UUID> getCalendarIdsToAdd() {
+    return calendarIdsToAdd;
+  }
+
+  /**
+   * Get the calendars to keep, all other calendars of the user being removed.
+   *
+   * @return the calendar IDs, or null if no calendar is removed
+   */
+  Set<UUID> getCalendarIdsToKeep() {
+    return calendarIdsToKeep;
+  }
+}
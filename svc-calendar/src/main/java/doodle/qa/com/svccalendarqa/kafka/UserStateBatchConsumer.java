@@ -0,0 +1,165 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarBatchRepository;
+import doodle.qa.com.svccalendarqa.service.AfterCommit;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Batch Kafka consumer for user state events, used instead of {@link UserStateConsumer} when {@code
+ * kafka.user-state.mode} is {@code batch}. The events of each poll are collapsed per user into the
+ * net change of their calendars, and applied with one insert and one delete, in one transaction and
+ * with one offset commit per batch.
+ *
+ * <p>Each batch is timed as {@code user-state.batch}, and its number of events is recorded as
+ * {@code user-state.batch.records}.
+ *
+ * <p>An event that could not be deserialized is handed over as null. The events before it are
+ * applied and committed, and the error handler publishes it to the dead-letter topic.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.user-state.mode", havingValue = "batch")
+@Slf4j
+public class UserStateBatchConsumer {
+
+  private final UserCalendarBatchRepository userCalendarBatchRepository;
+  private final MembershipIndex membershipIndex;
+  private final UserStateVersionTracker userStateVersionTracker;
+  private final Timer batchTimer;
+  private final DistributionSummary batchRecords;
+
+  public UserStateBatchConsumer(
+      UserCalendarBatchRepository userCalendarBatchRepository,
+      MembershipIndex membershipIndex,
+      UserStateVersionTracker userStateVersionTracker,
+      MeterRegistry meterRegistry) {
+    this.userCalendarBatchRepository = userCalendarBatchRepository;
+    this.membershipIndex = membershipIndex;
+    this.userStateVersionTracker = userStateVersionTracker;
+    this.batchTimer = meterRegistry.timer("user-state.batch");
+    this.batchRecords = meterRegistry.summary("user-state.batch.records");
+  }
+
+  /**
+   * Processes a batch of user state events from the user-state topic.
+   *
+   * @param userStates the user state events, in partition order
+   * @param offsets the offsets of the events, in the same order
+   * @param acknowledgment the acknowledgment to acknowledge the whole batch
+   * @throws BatchListenerFailedException if an event could not be deserialized
+   */
+  @KafkaListener(
+      topics = "${kafka.topics.user-state}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      containerFactory = "batchKafkaListenerContainerFactory")
+  @Transactional(noRollbackFor = BatchListenerFailedException.class)
+  public void processUserStates(
+      @Payload List<UserState> userStates,
+      @Header(KafkaHeaders.OFFSET) List<Long> offsets,
+      Acknowledgment acknowledgment) {
+    Timer.Sample sample = Timer.start();
+    // Events the error handling deserializer could not read are handed over as null
+    int applicable = 0;
+    while (applicable < userStates.size() && userStates.get(applicable) != null) {
+      applicable++;
+    }
+    try {
+      // Stale and redelivered events are dropped, later events of a user are folded over the
+      // earlier ones
+      Map<UserState, Long> offsetsByEvent = new IdentityHashMap<>();
+      for (int index = 0; index < applicable; index++) {
+        offsetsByEvent.put(userStates.get(index), offsets.get(index));
+      }
+      Map<UUID, UserCalendarChanges> changesByUser = new LinkedHashMap<>();
+      Map<UUID, Long> lastOffsets = new HashMap<>();
+      for (UserState userState :
+          userStateVersionTracker.acceptAll(
+              userStates.subList(0, applicable), offsets.subList(0, applicable))) {
+        UUID userId = UUID.fromString(userState.getId());
+        changesByUser.computeIfAbsent(userId, id -> new UserCalendarChanges()).apply(userState);
+        lastOffsets.put(userId, offsetsByEvent.get(userState));
+      }
+
+      List<UserCalendar> calendarsToAdd = new ArrayList<>();
+      Map<UUID, Set<UUID>> calendarIdsToKeep = new LinkedHashMap<>();
+      changesByUser.forEach(
+          (userId, changes) -> {
+            for (UUID calendarId : changes.getCalendarIdsToAdd()) {
+              calendarsToAdd.add(
+                  UserCalendar.builder().calendarId(calendarId).userId(userId).build());
+            }
+            if (changes.getCalendarIdsToKeep() != null) {
+              calendarIdsToKeep.put(userId, changes.getCalendarIdsToKeep());
+            }
+          });
+
+      List<UserCalendar> removed =
+          calendarIdsToKeep.isEmpty()
+              ? List.of()
+              : userCalendarBatchRepository.deleteAllExcept(calendarIdsToKeep);
+      List<UserCalendar> added =
+          calendarsToAdd.isEmpty()
+              ? List.of()
+              : userCalendarBatchRepository.insertAllMissing(calendarsToAdd);
+      AfterCommit.run(
+          () -> {
+            removed.forEach(
+                userCalendar ->
+                    membershipIndex.remove(
+                        userCalendar, lastOffsets.get(userCalendar.getUserId())));
+            added.forEach(
+                userCalendar ->
+                    membershipIndex.put(userCalendar, lastOffsets.get(userCalendar.getUserId())));
+          });
+
+      if (applicable == userStates.size()) {
+        acknowledgment.acknowledge();
+      }
+      batchRecords.record(applicable);
+      log.info(
+          "Processed {} user state events for {} users: {} user calendars added, {} removed",
+          applicable,
+          changesByUser.size(),
+          added.size(),
+          removed.size());
+    } catch (Exception e) {
+      log.error("Error processing batch of {} user state events", userStates.size(), e);
+      // The DefaultErrorHandler configured in KafkaConfig will retry the whole batch
+      throw e;
+    } finally {
+      sample.stop(batchTimer);
+    }
+
+    if (applicable < userStates.size()) {
+      log.error(
+          "User state event {} of a batch of {} could not be deserialized",
+          applicable,
+          userStates.size());
+      // The events before it are committed with this transaction and by the error handler
+      throw new BatchListenerFailedException(
+          "User state event could not be deserialized", applicable);
+    }
+  }
+}
@@ -4,6 +4,8 @@ import com.example.svcuser.avro.EventType;
 import com.example.svcuser.avro.UserState;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
 import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.service.AfterCommit;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -11,13 +13,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Kafka consumer for user state events. Listens to the user-state topic and processes user state
- * events. Only saves user_id and calendar_id to the user_calendar table.
+ * events. Only saves user_id and calendar_id to the user_calendar table. Committed changes are
+ * applied to the {@link MembershipIndex}. The listener only runs when {@code kafka.user-state.mode}
+ * is {@code record}, the default. {@link UserStateParallelConsumer} applies events through {@link
+ * #applyUserState}, and {@link UserStateBatchConsumer} replaces it.
  */
 @Component
 @Slf4j
@@ -25,39 +32,29 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserStateConsumer {
 
   private final UserCalendarRepository userCalendarRepository;
+  private final MembershipIndex membershipIndex;
+  private final UserStateVersionTracker userStateVersionTracker;
 
   /**
    * Processes user state events from the user-state topic.
    *
    * @param userState the user state event
+   * @param offset the offset of the event
    * @param acknowledgment the acknowledgment to manually acknowledge the message
    */
   @KafkaListener(
       topics = "${kafka.topics.user-state}",
-      groupId = "${spring.kafka.consumer.group-id}")
+      groupId = "${spring.kafka.consumer.group-id}",
+      autoStartup = "#{'${kafka.user-state.mode:record}' == 'record'}")
   @Transactional
-  public void processUserState(@Payload UserState userState, Acknowledgment acknowledgment) {
+  public void processUserState(
+      @Payload UserState userState,
+      @Header(KafkaHeaders.OFFSET) long offset,
+      Acknowledgment acknowledgment) {
     try {
       log.info("Received user state event: {}", userState);
 
-      UUID userId = UUID.fromString(userState.getId());
-      EventType eventType = userState.getEventType();
-
-      switch (eventType) {
-        case CREATED:
-        case UPDATED:
-          handleUserCreatedOrUpdated(userState);
-          break;
-        case DELETED:
-          handleUserDeleted(userId);
-          break;
-        case CALENDAR_ADDED:
-        case CALENDAR_REMOVED:
-          handleCalendarChange(userState);
-          break;
-        default:
-          log.warn("Unknown event type: {}", eventType);
-      }
+      applyUserState(userState, offset);
 
       // Acknowledge the message
       acknowledgment.acknowledge();
@@ -70,13 +67,50 @@ public class UserStateConsumer {
     }
   }
 
+  /**
+   * Applies a user state event to the user_calendar table, in a transaction of its own unless one
+   * is already active. Events older than the last applied one of the user, and redelivered events,
+   * are skipped.
+   *
+   * @param userState the user state event
+   * @param offset the offset of the event in the user state topic, or -1 if it is unknown
+   * @return true if the event was applied, false if it was skipped
+   */
+  @Transactional
+  public boolean applyUserState(UserState userState, long offset) {
+    if (!userStateVersionTracker.accept(userState, offset)) {
+      return false;
+    }
+
+    UUID userId = UUID.fromString(userState.getId());
+    EventType eventType = userState.getEventType();
+
+    switch (eventType) {
+      case CREATED:
+      case UPDATED:
+        handleUserCreatedOrUpdated(userState, offset);
+        break;
+      case DELETED:
+        handleUserDeleted(userId, offset);
+        break;
+      case CALENDAR_ADDED:
+      case CALENDAR_REMOVED:
+        handleCalendarChange(userState, offset);
+        break;
+      default:
+        log.warn("Unknown event type: {}", eventType);
+    }
+    return true;
+  }
+
   /**
    * Handles user created or updated events. Only saves user_id and calendar_id to the user_calendar
    * table.
    *
    * @param userState the user state event
+   * @param offset the offset of the event
    */
-  private void handleUserCreatedOrUpdated(UserState userState) {
+  private void handleUserCreatedOrUpdated(UserState userState, long offset) {
     UUID userId = UUID.fromString(userState.getId());
 
     // Process calendar IDs
@@ -102,6 +136,7 @@ public class UserStateConsumer {
         UserCalendar userCalendar =
             UserCalendar.builder().calendarId(calendarId).userId(userId).build();
         userCalendarRepository.save(userCalendar);
+        AfterCommit.run(() -> membershipIndex.put(userCalendar, offset));
         log.info("User calendar created: {}", userCalendar);
       } else {
         log.info(
@@ -114,6 +149,7 @@ public class UserStateConsumer {
     for (UserCalendar existingCalendar : existingCalendars) {
       if (!calendarIds.contains(existingCalendar.getCalendarId())) {
         userCalendarRepository.delete(existingCalendar);
+        AfterCommit.run(() -> membershipIndex.remove(existingCalendar, offset));
         log.info("User calendar removed: {}", existingCalendar);
       }
     }
@@ -123,12 +159,16 @@ public class UserStateConsumer {
    * Handles user deleted events. Only deletes entries from the user_calendar table.
    *
    * @param userId the user ID
+   * @param offset the offset of the event
    */
-  private void handleUserDeleted(UUID userId) {
+  private void handleUserDeleted(UUID userId, long offset) {
     // Delete all user calendars associated with this user
     List<UserCalendar> userCalendars = userCalendarRepository.findByUserId(userId);
     if (!userCalendars.isEmpty()) {
       userCalendarRepository.deleteAll(userCalendars);
+      AfterCommit.run(
+          () ->
+              userCalendars.forEach(userCalendar -> membershipIndex.remove(userCalendar, offset)));
       log.info("Deleted {} user calendars for user ID: {}", userCalendars.size(), userId);
     } else {
       log.info("No user calendars found for user ID: {}", userId);
@@ -139,8 +179,9 @@ public class UserStateConsumer {
    * Handles calendar added or removed events. Only updates entries in the user_calendar table.
    *
    * @param userState the user state event
+   * @param offset the offset of the event
    */
-  private void handleCalendarChange(UserState userState) {
+  private void handleCalendarChange(UserState userState, long offset) {
     UUID userId = UUID.fromString(userState.getId());
     EventType eventType = userState.getEventType();
 
@@ -172,6 +213,7 @@ public class UserStateConsumer {
           UserCalendar userCalendar =
               UserCalendar.builder().calendarId(calendarId).userId(userId).build();
           userCalendarRepository.save(userCalendar);
+          AfterCommit.run(() -> membershipIndex.put(userCalendar, offset));
           log.info("User calendar added: {}", userCalendar);
         } else {
           log.info(
@@ -186,6 +228,7 @@ public class UserStateConsumer {
       for (UserCalendar existingCalendar : existingCalendars) {
         if (!calendarIds.contains(existingCalendar.getCalendarId())) {
           userCalendarRepository.delete(existingCalendar);
+          AfterCommit.run(() -> membershipIndex.remove(existingCalendar, offset));
           log.info("User calendar removed: {}", existingCalendar);
         }
       }
@@ -0,0 +1,136 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import com.example.svcuser.avro.UserState;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Key-ordered parallel Kafka consumer for user state events, used instead of {@link
+ * UserStateConsumer} when {@code kafka.user-state.mode} is {@code parallel}. The events of each
+ * poll are grouped by record key, which is the user ID, and the users are processed in parallel on
+ * the user state executor. The events of one user are applied one after the other, each in its own
+ * transaction, so per-user ordering is kept while throughput scales with the number of users rather
+ * than with the number of partitions.
+ *
+ * <p>The offsets of a poll are committed once all its events are applied. When an event fails, the
+ * later events of its user are not applied, and the error handler commits the offsets before the
+ * earliest failed event and retries from there. Events of other users after that point are then
+ * skipped as duplicates. Each poll is timed as {@code user-state.batch}, and its number of events
+ * and users are recorded as {@code user-state.batch.records} and {@code user-state.batch.users}.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.user-state.mode", havingValue = "parallel")
+@Slf4j
+public class UserStateParallelConsumer {
+
+  private final UserStateConsumer userStateConsumer;
+  private final Executor userStateExecutor;
+  private final Timer batchTimer;
+  private final DistributionSummary batchRecords;
+  private final DistributionSummary batchUsers;
+
+  public UserStateParallelConsumer(
+      UserStateConsumer userStateConsumer,
+      @Qualifier("userStateExecutor") Executor userStateExecutor,
+      MeterRegistry meterRegistry) {
+    this.userStateConsumer = userStateConsumer;
+    this.userStateExecutor = userStateExecutor;
+    this.batchTimer = meterRegistry.timer("user-state.batch");
+    this.batchRecords = meterRegistry.summary("user-state.batch.records");
+    this.batchUsers = meterRegistry.summary("user-state.batch.users");
+  }
+
+  /**
+   * Processes a batch of user state events from the user-state topic, users in parallel.
+   *
+   * @param records the user state records, in partition order
+   * @param acknowledgment the acknowledgment to acknowledge the whole batch
+   * @throws BatchListenerFailedException if an event could not be applied
+   */
+  @KafkaListener(
+      topics = "${kafka.topics.user-state}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      containerFactory = "batchKafkaListenerContainerFactory")
+  public void processUserStates(
+      List<ConsumerRecord<String, UserState>> records, Acknowledgment acknowledgment) {
+    Timer.Sample sample = Timer.start();
+    ConcurrentSkipListMap<Integer, RuntimeException> failures = new ConcurrentSkipListMap<>();
+    Map<String, List<Integer>> indexesByUser = new LinkedHashMap<>();
+    for (int index = 0; index < records.size(); index++) {
+      ConsumerRecord<String, UserState> record = records.get(index);
+      String key = record.key() != null ? record.key() : userIdOf(record.value());
+      if (key == null) {
+        // Without a key, an unreadable event cannot be ordered with the events of its user
+        failures.put(
+            index, new IllegalStateException("User state event could not be deserialized"));
+        continue;
+      }
+      indexesByUser.computeIfAbsent(key, k -> new ArrayList<>()).add(index);
+    }
+
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (List<Integer> indexes : indexesByUser.values()) {
+      tasks.add(
+          CompletableFuture.runAsync(
+              () -> applyInOrder(records, indexes, failures), userStateExecutor));
+    }
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+    sample.stop(batchTimer);
+    batchRecords.record(records.size());
+    batchUsers.record(indexesByUser.size());
+
+    if (!failures.isEmpty()) {
+      Map.Entry<Integer, RuntimeException> earliest = failures.firstEntry();
+      log.error(
+          "Error processing user state event {} of a batch of {}",
+          earliest.getKey(),
+          records.size(),
+          earliest.getValue());
+      throw new BatchListenerFailedException(
+          "Error applying user state event", earliest.getValue(), earliest.getKey());
+    }
+
+    acknowledgment.acknowledge();
+    log.info("Processed {} user state events for {} users", records.size(), indexesByUser.size());
+  }
+
+  private static String userIdOf(UserState userState) {
+    return userState != null ? userState.getId() : null;
+  }
+
+  /** Apply the events of one user in order, stopping at the first that fails. */
+  private void applyInOrder(
+      List<ConsumerRecord<String, UserState>> records,
+      List<Integer> indexes,
+      Map<Integer, RuntimeException> failures) {
+    for (int index : indexes) {
+      try {
+        ConsumerRecord<String, UserState> record = records.get(index);
+        if (record.value() == null) {
+          // Handed over as null by the error handling deserializer
+          throw new IllegalStateException("User state event could not be deserialized");
+        }
+        userStateConsumer.applyUserState(record.value(), record.offset());
+      } catch (RuntimeException e) {
+        failures.put(index, e);
+        return;
+      }
+    }
+  }
+}
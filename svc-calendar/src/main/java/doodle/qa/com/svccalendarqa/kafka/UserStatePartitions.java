@@ -0,0 +1,66 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks the partitions of the user state topic that the consumers of this instance are assigned,
+ * and starts the {@link MembershipIndex} while they are assigned all of them. Only then does the
+ * index see every change to the user calendars. It is stopped as soon as a partition is revoked or
+ * lost, before its offsets are committed.
+ */
+@Component
+@Slf4j
+public class UserStatePartitions implements ConsumerAwareRebalanceListener {
+
+  private final MembershipIndex membershipIndex;
+  private final String userStateTopic;
+
+  /** Partitions of the user state topic assigned to any consumer of this instance. */
+  private final Set<TopicPartition> assigned = ConcurrentHashMap.newKeySet();
+
+  public UserStatePartitions(
+      MembershipIndex membershipIndex, @Value("${kafka.topics.user-state}") String userStateTopic) {
+    this.membershipIndex = membershipIndex;
+    this.userStateTopic = userStateTopic;
+  }
+
+  @Override
+  public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    for (TopicPartition partition : partitions) {
+      if (partition.topic().equals(userStateTopic)) {
+        assigned.add(partition);
+      }
+    }
+    int partitionCount = consumer.partitionsFor(userStateTopic).size();
+    log.info("Assigned {} of {} user state partitions", assigned.size(), partitionCount);
+    if (assigned.size() == partitionCount && !membershipIndex.isServing()) {
+      membershipIndex.start();
+    }
+  }
+
+  @Override
+  public void onPartitionsRevokedBeforeCommit(
+      Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    release(partitions);
+  }
+
+  @Override
+  public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    release(partitions);
+  }
+
+  private void release(Collection<TopicPartition> partitions) {
+    if (assigned.removeAll(partitions)) {
+      membershipIndex.stop();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package doodle.qa.com.svccalendarqa.kafka;
+
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.entity.UserStateVersion;
+import doodle.qa.com.svccalendarqa.repository.UserStateVersionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tracks the last user state event applied per user, so that redelivered events and events older
+ * than the last applied one are dropped before they touch the user calendars. Events are ordered by
+ * their timestamp, and events with the same timestamp by their offset in the user state topic. All
+ * events of a user share a partition, as they are keyed by user ID, so the offset orders them the
+ * way they were produced. Skipped events are counted as {@code user-state.events.skipped}, tagged
+ * with the reason.
+ */
+@Component
+@Slf4j
+public class UserStateVersionTracker {
+
+  private final UserStateVersionRepository userStateVersionRepository;
+  private final Counter staleEvents;
+  private final Counter duplicateEvents;
+
+  public UserStateVersionTracker(
+      UserStateVersionRepository userStateVersionRepository, MeterRegistry meterRegistry) {
+    this.userStateVersionRepository = userStateVersionRepository;
+    this.staleEvents = meterRegistry.counter("user-state.events.skipped", "reason", "stale");
+    this.duplicateEvents =
+        meterRegistry.counter("user-state.events.skipped", "reason", "duplicate");
+  }
+
+  /**
+   * Check whether a user state event is newer than the last applied one, and if so record it as the
+   * last applied one, within the current transaction.
+   *
+   * @param userState the user state event
+   * @param offset the offset of the event in the user state topic, or -1 if it is unknown
+   * @return true if the event is to be applied, false if it is skipped
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public boolean accept(UserState userState, long offset) {
+    return !acceptAll(List.of(userState), List.of(offset)).isEmpty();
+  }
+
+  /**
+   * Keep the user state events that are newer than the last applied one of their user, or than the
+   * previous event of the user in the list, and record the last of them per user, within the
+   * current transaction.
+   *
+   * @param userStates the user state events, in partition order
+   * @param offsets the offsets of the events in the user state topic, in the same order
+   * @return the events to be applied, in the same order
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<UserState> acceptAll(List<UserState> userStates, List<Long> offsets) {
+    Set<UUID> userIds =
+        userStates.stream()
+            .map(userState -> UUID.fromString(userState.getId()))
+            .collect(Collectors.toSet());
+    Map<UUID, UserStateVersion> versions = new HashMap<>();
+    for (UserStateVersion version : userStateVersionRepository.findAllByUserIdIn(userIds)) {
+      versions.put(version.getUserId(), version);
+    }
+
+    List<UserState> accepted = new ArrayList<>();
+    List<UserStateVersion> created = new ArrayList<>();
+    for (int index = 0; index < userStates.size(); index++) {
+      UserState userState = userStates.get(index);
+      UUID userId = UUID.fromString(userState.getId());
+      long timestamp = userState.getTimestamp();
+      long offset = offsets.get(index);
+      UserStateVersion version = versions.get(userId);
+
+      int order = version == null ? 1 : compare(timestamp, offset, version);
+      if (order < 0) {
+        staleEvents.increment();
+        log.info("Skipping stale user state event for user ID: {}: {}", userId, userState);
+        continue;
+      }
+      if (order == 0) {
+        duplicateEvents.increment();
+        log.info("Skipping duplicate user state event for user ID: {}: {}", userId, userState);
+        continue;
+      }
+
+      if (version == null) {
+        version = UserStateVersion.builder().userId(userId).build();
+        versions.put(userId, version);
+        created.add(version);
+      }
+      version.setEventTimestamp(timestamp);
+      version.setEventOffset(offset);
+      accepted.add(userState);
+    }
+
+    // Versions that were loaded are managed, so only new ones need saving
+    userStateVersionRepository.saveAll(created);
+    return accepted;
+  }
+
+  /** Order of an event relative to the last applied one, by timestamp and then by offset. */
+  private static int compare(long timestamp, long offset, UserStateVersion version) {
+    int order = Long.compare(timestamp, version.getEventTimestamp());
+    return order != 0 ? order : Long.compare(offset, version.getEventOffset());
+  }
+}
@@ -0,0 +1,105 @@
+package doodle.qa.com.svccalendarqa.repository;
+
+import doodle.qa.com.svccalendarqa.entity.ArchivedMeeting;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Repository for ArchivedMeeting entity. */
+@Repository
+public interface ArchivedMeetingRepository extends JpaRepository<ArchivedMeeting, UUID> {
+
+  /** Meetings of a user calendar and time range, from the meetings table and the archive. */
+  String MEETINGS_WITH_ARCHIVE =
+      " FROM (SELECT id, title, description, start_time, end_time, location, calendar_id"
+          + " FROM meetings WHERE user_calendar_id = :userCalendarId"
+          + " AND start_time >= :from AND end_time <= :to"
+          + " UNION ALL SELECT id, title, description, start_time, end_time, location, calendar_id"
+          + " FROM meetings_archive WHERE user_calendar_id = :userCalendarId"
+          + " AND start_time >= :from AND end_time <= :to) m";
+
+  /**
+   * One page of {@link #MEETINGS_WITH_ARCHIVE}, ordered by start time and ID. Meetings are moved
+   * into the archive by a single statement, so the one statement reading both tables sees each
+   * meeting exactly once, and the total is counted over the same rows before the page is cut.
+   */
+  String FIND_MEETING_PAGE_WITH_ARCHIVE =
+      "SELECT CAST(m.id AS VARCHAR(36)) AS \"id\", m.title AS \"title\","
+          + " m.description AS \"description\", m.start_time AS \"startTime\","
+          + " m.end_time AS \"endTime\", m.location AS \"location\","
+          + " CAST(m.calendar_id AS VARCHAR(36)) AS \"calendarId\", COUNT(*) OVER () AS \"total\""
+          + MEETINGS_WITH_ARCHIVE
+          + " ORDER BY m.start_time, m.id LIMIT :limit OFFSET :offset";
+
+  /**
+   * Moves one batch of meetings out of the meetings table. The rows are deleted and inserted into
+   * the archive by a single statement, oldest first. Rows locked by concurrent writers are skipped
+   * and picked up by a later batch.
+   */
+  String ARCHIVE_MEETINGS =
+      "WITH moved AS ("
+          + " DELETE FROM meetings WHERE (id, start_time) IN ("
+          + " SELECT id, start_time FROM meetings"
+          + " WHERE start_time < :cutoff AND end_time < :cutoff"
+          + " ORDER BY start_time LIMIT :batchSize FOR UPDATE SKIP LOCKED)"
+          + " RETURNING id, title, description, start_time, end_time, location, calendar_id,"
+          + " user_calendar_id, version, created_at, updated_at)"
+          + " INSERT INTO meetings_archive (id, title, description, start_time, end_time, location,"
+          + " calendar_id, user_calendar_id, version, created_at, updated_at)"
+          + " SELECT * FROM moved";
+
+  /**
+   * Find a page of the meetings of a user calendar and time range across the meetings table and the
+   * archive, ordered by start time and ID. Each row carries the total number of meetings of the
+   * range.
+   *
+   * @param userCalendarId the user calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @param limit the page size
+   * @param offset the number of meetings before the page
+   * @return the meetings of the page
+   */
+  @Query(value = FIND_MEETING_PAGE_WITH_ARCHIVE, nativeQuery = true)
+  List<MeetingPageRow> findMeetingPageWithArchive(
+      @Param("userCalendarId") UUID userCalendarId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("limit") int limit,
+      @Param("offset") long offset);
+
+  /**
+   * Count the meetings of a user calendar and time range across the meetings table and the archive,
+   * for pages past the last one, which carry no total.
+   *
+   * @param userCalendarId the user calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @return the number of meetings
+   */
+  @Query(value = "SELECT COUNT(*)" + MEETINGS_WITH_ARCHIVE, nativeQuery = true)
+  long countMeetingsWithArchive(
+      @Param("userCalendarId") UUID userCalendarId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  /**
+   * Move up to a batch of meetings that ended before the cutoff into the archive, in a transaction
+   * of its own.
+   *
+   * @param cutoff the time before which archived meetings ended
+   * @param batchSize the maximum number of meetings to move
+   * @return the number of meetings moved
+   */
+  @Modifying
+  @Transactional
+  @Query(value = ARCHIVE_MEETINGS, nativeQuery = true)
+  int archiveMeetingsEndedBefore(
+      @Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
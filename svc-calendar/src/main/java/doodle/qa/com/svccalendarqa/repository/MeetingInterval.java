@@ -0,0 +1,22 @@
+package doodle.qa.com.svccalendarqa.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a meeting onto the columns kept by the busy interval index. Reading it skips the
+ * title, description, audit and version columns and the user calendar proxy, and returns rows that
+ * are not managed by the persistence context.
+ */
+public interface MeetingInterval {
+
+  UUID getId();
+
+  UUID getUserCalendarId();
+
+  UUID getCalendarId();
+
+  LocalDateTime getStartTime();
+
+  LocalDateTime getEndTime();
+}
@@ -0,0 +1,27 @@
+package doodle.qa.com.svccalendarqa.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a meeting listed across the meetings table and the archive, together with the
+ * number of meetings listed in total, which the statement reads in the same snapshot as the page.
+ * IDs are read as text, as not every database reports the type of a UUID column of a native query.
+ */
+public interface MeetingPageRow {
+
+  String getId();
+
+  String getTitle();
+
+  String getDescription();
+
+  LocalDateTime getStartTime();
+
+  LocalDateTime getEndTime();
+
+  String getLocation();
+
+  String getCalendarId();
+
+  long getTotal();
+}
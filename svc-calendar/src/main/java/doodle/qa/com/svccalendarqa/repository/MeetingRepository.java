@@ -1,23 +1,52 @@
 package doodle.qa.com.svccalendarqa.repository;
 
+import doodle.qa.com.svccalendarqa.dto.MeetingDto;
 import doodle.qa.com.svccalendarqa.entity.Meeting;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
 
+  String SELECT_MEETING_DTO =
+      "SELECT new doodle.qa.com.svccalendarqa.dto.MeetingDto(m.id, m.title, m.description,"
+          + " m.startTime, m.endTime, m.location, m.calendarId) FROM Meeting m";
+
+  /**
+   * Filter on a user calendar and a time range. Meetings are partitioned by start time, so the
+   * start time is bounded on both sides for reads to visit only the partitions of the range.
+   */
+  String BY_USER_CALENDAR_AND_RANGE =
+      " WHERE m.userCalendar = :userCalendar AND m.startTime >= :from AND m.startTime <= :to"
+          + " AND m.endTime <= :to";
+
+  String ORDER_BY_START_TIME_AND_ID = " ORDER BY m.startTime ASC, m.id ASC";
+
+  /** Number of rows fetched per round trip when meetings are streamed. */
+  String STREAM_FETCH_SIZE = "500";
+
+  String SELECT_MEETING_INTERVAL =
+      "SELECT m.id AS id, m.userCalendar.id AS userCalendarId, m.calendarId AS calendarId,"
+          + " m.startTime AS startTime, m.endTime AS endTime FROM Meeting m";
+
   /**
-   * Find meetings by user calendar and time range.
+   * Find meetings by user calendar and time range, ordered by start time and ID. Rows are read
+   * straight into DTOs, so no entities are loaded into the persistence context.
    *
    * @param userCalendar the user calendar
    * @param from the start time
@@ -25,9 +54,77 @@ public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
    * @param pageable the pagination information
    * @return a page of meetings
    */
-  Page<Meeting>
-      findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-          UserCalendar userCalendar, LocalDateTime from, LocalDateTime to, Pageable pageable);
+  @Query(
+      value = SELECT_MEETING_DTO + BY_USER_CALENDAR_AND_RANGE + ORDER_BY_START_TIME_AND_ID,
+      countQuery = "SELECT COUNT(m) FROM Meeting m" + BY_USER_CALENDAR_AND_RANGE)
+  Page<MeetingDto> findMeetingPageByUserCalendar(
+      @Param("userCalendar") UserCalendar userCalendar,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      Pageable pageable);
+
+  /**
+   * Find a slice of the meetings of a user calendar within a time range, ordered by start time and
+   * ID. One extra meeting is read to tell whether a next slice exists, and no count query is run.
+   * Rows are read straight into DTOs.
+   *
+   * @param userCalendar the user calendar
+   * @param from the start time
+   * @param to the end time
+   * @param pageable the pagination information
+   * @return a slice of meetings
+   */
+  @Query(SELECT_MEETING_DTO + BY_USER_CALENDAR_AND_RANGE + ORDER_BY_START_TIME_AND_ID)
+  Slice<MeetingDto> findMeetingsByUserCalendar(
+      @Param("userCalendar") UserCalendar userCalendar,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      Pageable pageable);
+
+  /**
+   * Find the meetings of a user calendar within a time range that come after the given start time
+   * and ID, ordered by start time and ID. The query seeks on the {@code (user_calendar_id,
+   * start_time, id)} index and runs no count query. Rows are read straight into DTOs.
+   *
+   * @param userCalendar the user calendar
+   * @param from the start time
+   * @param to the end time
+   * @param afterStartTime the start time of the last meeting already returned
+   * @param afterId the ID of the last meeting already returned
+   * @param pageable the number of meetings to return, from the first page
+   * @return a slice of meetings
+   */
+  @Query(
+      SELECT_MEETING_DTO
+          + BY_USER_CALENDAR_AND_RANGE
+          + " AND m.startTime >= :afterStartTime"
+          + " AND (m.startTime > :afterStartTime OR m.id > :afterId)"
+          + ORDER_BY_START_TIME_AND_ID)
+  Slice<MeetingDto> findMeetingsByUserCalendarAfter(
+      @Param("userCalendar") UserCalendar userCalendar,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("afterStartTime") LocalDateTime afterStartTime,
+      @Param("afterId") UUID afterId,
+      Pageable pageable);
+
+  /**
+   * Stream the meetings of a user calendar within a time range, ordered by start time and ID. Rows
+   * are read from a database cursor {@link #STREAM_FETCH_SIZE} at a time and straight into DTOs, so
+   * memory does not grow with the number of meetings. The stream must be consumed and closed within
+   * a transaction.
+   *
+   * @param userCalendar the user calendar
+   * @param from the start time
+   * @param to the end time
+   * @return a stream of meetings
+   */
+  @Query(SELECT_MEETING_DTO + BY_USER_CALENDAR_AND_RANGE + ORDER_BY_START_TIME_AND_ID)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+  Stream<MeetingDto> streamMeetingsByUserCalendar(
+      @Param("userCalendar") UserCalendar userCalendar,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
 
   /**
    * Find meetings by user calendar and meeting ID.
@@ -39,18 +136,50 @@ public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
   Optional<Meeting> findByUserCalendarAndId(UserCalendar userCalendar, UUID id);
 
   /**
-   * Find all meetings that overlap with the given time range for a specific user calendar.
+   * Find the intervals of the meetings of a calendar, across all of its user calendars, that
+   * overlap with the given time range. Meetings are partitioned by start time, so the earliest
+   * start time an overlapping meeting can have bounds the partitions that are read.
    *
-   * @param userCalendar the user calendar
+   * <p>The read filters on start and end time rather than on the {@code time_range} column of the
+   * overlap constraint: partitions are only pruned by predicates on {@code start_time}, and the
+   * bounded start time makes it a range scan of {@code idx_meeting_calendar_time}. As meetings last
+   * at most as long as the gap between {@code earliestStart} and {@code from}, that scan only
+   * visits meetings that start up to that long before the range.
+   *
+   * @param calendarId the calendar ID
    * @param from the start time
    * @param to the end time
-   * @return a list of meetings
+   * @param earliestStart the earliest start time of a meeting overlapping the range
+   * @return a list of meeting intervals
    */
   @Query(
-      "SELECT m FROM Meeting m WHERE m.userCalendar = :userCalendar AND "
-          + "((m.startTime < :to AND m.endTime > :from))")
-  List<Meeting> findOverlappingMeetingsByUserCalendar(
-      @Param("userCalendar") UserCalendar userCalendar,
+      SELECT_MEETING_INTERVAL
+          + " WHERE m.calendarId = :calendarId AND m.startTime >= :earliestStart"
+          + " AND m.startTime < :to AND m.endTime > :from")
+  List<MeetingInterval> findIntervalsOverlapping(
+      @Param("calendarId") UUID calendarId,
       @Param("from") LocalDateTime from,
-      @Param("to") LocalDateTime to);
+      @Param("to") LocalDateTime to,
+      @Param("earliestStart") LocalDateTime earliestStart);
+
+  /**
+   * Find the intervals of the meetings of the given calendars, across all of their user calendars,
+   * that overlap with the given time range. The start time is bounded as for {@link
+   * #findIntervalsOverlapping}, so only the partitions of the range are read.
+   *
+   * @param calendarIds the calendar IDs
+   * @param from the start time
+   * @param to the end time
+   * @param earliestStart the earliest start time of a meeting overlapping the range
+   * @return a list of meeting intervals
+   */
+  @Query(
+      SELECT_MEETING_INTERVAL
+          + " WHERE m.calendarId IN :calendarIds AND m.startTime >= :earliestStart"
+          + " AND m.startTime < :to AND m.endTime > :from")
+  List<MeetingInterval> findIntervalsByCalendarIdInOverlapping(
+      @Param("calendarIds") Collection<UUID> calendarIds,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("earliestStart") LocalDateTime earliestStart);
 }
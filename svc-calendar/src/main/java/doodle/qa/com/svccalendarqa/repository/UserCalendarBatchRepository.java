@@ -0,0 +1,111 @@
+package doodle.qa.com.svccalendarqa.repository;
+
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based writes of user calendars, used to apply a batch of user state events with one statement
+ * per kind of change instead of one per user calendar. The statements return the rows they changed,
+ * so that in-memory state can follow.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCalendarBatchRepository {
+
+  /** Inserts the user calendars that do not exist yet. */
+  private static final String INSERT_MISSING =
+      "INSERT INTO user_calendars (id, calendar_id, user_id)"
+          + " SELECT * FROM unnest(?, ?, ?)"
+          + " ON CONFLICT (calendar_id, user_id) DO NOTHING"
+          + " RETURNING id, calendar_id, user_id";
+
+  /** Deletes the user calendars of the given users that are not among the pairs to keep. */
+  private static final String DELETE_OTHERS =
+      "DELETE FROM user_calendars WHERE user_id = ANY(?)"
+          + " AND (user_id, calendar_id) NOT IN (SELECT * FROM unnest(?, ?))"
+          + " RETURNING id, calendar_id, user_id";
+
+  private static final RowMapper<UserCalendar> USER_CALENDAR =
+      (rs, rowNum) ->
+          UserCalendar.builder()
+              .id(rs.getObject("id", UUID.class))
+              .calendarId(rs.getObject("calendar_id", UUID.class))
+              .userId(rs.getObject("user_id", UUID.class))
+              .build();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Insert the user calendars that do not exist yet, in a single statement.
+   *
+   * @param userCalendars the user calendars, by calendar ID and user ID
+   * @return the user calendars that were inserted
+   */
+  public List<UserCalendar> insertAllMissing(Collection<UserCalendar> userCalendars) {
+    List<UUID> ids = new ArrayList<>();
+    List<UUID> calendarIds = new ArrayList<>();
+    List<UUID> userIds = new ArrayList<>();
+    for (UserCalendar userCalendar : userCalendars) {
+      ids.add(UUID.randomUUID());
+      calendarIds.add(userCalendar.getCalendarId());
+      userIds.add(userCalendar.getUserId());
+    }
+
+    return jdbcTemplate.query(
+        INSERT_MISSING,
+        ps -> {
+          Connection connection = ps.getConnection();
+          ps.setArray(1, uuidArray(connection, ids));
+          ps.setArray(2, uuidArray(connection, calendarIds));
+          ps.setArray(3, uuidArray(connection, userIds));
+        },
+        USER_CALENDAR);
+  }
+
+  /**
+   * Delete the user calendars of the given users whose calendars are not to be kept, in a single
+   * statement.
+   *
+   * @param calendarIdsToKeep the calendar IDs to keep by user ID, empty to delete all calendars of
+   *     the user
+   * @return the user calendars that were deleted
+   */
+  public List<UserCalendar> deleteAllExcept(Map<UUID, Set<UUID>> calendarIdsToKeep) {
+    List<UUID> keptUserIds = new ArrayList<>();
+    List<UUID> keptCalendarIds = new ArrayList<>();
+    calendarIdsToKeep.forEach(
+        (userId, calendarIds) ->
+            calendarIds.forEach(
+                calendarId -> {
+                  keptUserIds.add(userId);
+                  keptCalendarIds.add(calendarId);
+                }));
+
+    return jdbcTemplate.query(
+        DELETE_OTHERS,
+        ps -> {
+          Connection connection = ps.getConnection();
+          ps.setArray(1, uuidArray(connection, calendarIdsToKeep.keySet()));
+          ps.setArray(2, uuidArray(connection, keptUserIds));
+          ps.setArray(3, uuidArray(connection, keptCalendarIds));
+        },
+        USER_CALENDAR);
+  }
+
+  private static Array uuidArray(Connection connection, Collection<UUID> uuids)
+      throws SQLException {
+    return connection.createArrayOf("uuid", uuids.toArray());
+  }
+}
@@ -1,6 +1,7 @@
 package doodle.qa.com.svccalendarqa.repository;
 
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -54,4 +55,14 @@ public interface UserCalendarRepository extends JpaRepository<UserCalendar, UUID
    * @return a list of user calendars
    */
   List<UserCalendar> findAllByCalendarId(UUID calendarId);
+
+  /**
+   * Find all calendars of the given users that are among the given calendars.
+   *
+   * @param userIds the user IDs
+   * @param calendarIds the calendar IDs
+   * @return a list of user calendars
+   */
+  List<UserCalendar> findAllByUserIdInAndCalendarIdIn(
+      Collection<UUID> userIds, Collection<UUID> calendarIds);
 }
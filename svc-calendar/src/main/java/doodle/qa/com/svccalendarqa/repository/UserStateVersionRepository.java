@@ -0,0 +1,25 @@
+package doodle.qa.com.svccalendarqa.repository;
+
+import doodle.qa.com.svccalendarqa.entity.UserStateVersion;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+/** Repository for UserStateVersion entity. */
+@Repository
+public interface UserStateVersionRepository extends JpaRepository<UserStateVersion, UUID> {
+
+  /**
+   * Find the versions of the given users, locked until the end of the transaction so that events of
+   * a user are checked one after the other.
+   *
+   * @param userIds the user IDs
+   * @return the versions of the users that have one
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<UserStateVersion> findAllByUserIdIn(Collection<UUID> userIds);
+}
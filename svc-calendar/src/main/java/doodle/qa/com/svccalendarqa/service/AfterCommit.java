@@ -0,0 +1,33 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Deferral of actions until the current transaction has committed, so that in-memory indexes such
+ * as {@link BusyIntervalIndex} and {@link MembershipIndex} never hold changes that were rolled back
+ * and stay in line with what other transactions can see.
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  /**
+   * Run an action once the current transaction has committed, or immediately if there is none.
+   *
+   * @param action the action to run
+   */
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
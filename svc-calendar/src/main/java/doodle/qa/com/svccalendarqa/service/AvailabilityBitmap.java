@@ -0,0 +1,94 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Minute-granular occupancy of a time range, one bit per minute counted from the start of the
+ * range. Busy intervals are OR'd in as bit ranges, and free runs are found with word-level scans,
+ * so a 7-day range is 158 longs regardless of how many intervals it holds.
+ *
+ * <p>Rounding is conservative: a busy interval marks every minute it touches, and a trailing
+ * partial minute of the range is not part of it, so a free run never includes busy time.
+ */
+public final class AvailabilityBitmap {
+
+  private final LocalDateTime from;
+  private final int minutes;
+  private final BitSet busy;
+
+  /**
+   * Create an empty bitmap for a time range.
+   *
+   * @param from the start of the range
+   * @param to the end of the range
+   */
+  public AvailabilityBitmap(LocalDateTime from, LocalDateTime to) {
+    this.from = from;
+    this.minutes = (int) Math.max(0, ChronoUnit.MINUTES.between(from, to));
+    this.busy = new BitSet(minutes);
+  }
+
+  /**
+   * Mark an interval as busy. Parts outside the range are ignored.
+   *
+   * @param start the start time
+   * @param end the end time
+   */
+  public void markBusy(LocalDateTime start, LocalDateTime end) {
+    int first = clamp(ChronoUnit.MINUTES.between(from, start));
+    long endMinute = ChronoUnit.MINUTES.between(from, end);
+    if (from.plusMinutes(endMinute).isBefore(end)) {
+      endMinute++;
+    }
+    int last = clamp(endMinute);
+    if (first < last) {
+      busy.set(first, last);
+    }
+  }
+
+  /**
+   * Get the number of minutes in the range.
+   *
+   * @return the number of minutes
+   */
+  public int minutes() {
+    return minutes;
+  }
+
+  /**
+   * Find the first free minute at or after the given minute.
+   *
+   * @param minute the minute to start from
+   * @return the first free minute, or {@link #minutes()} if there is none
+   */
+  public int nextFree(int minute) {
+    return Math.min(busy.nextClearBit(minute), minutes);
+  }
+
+  /**
+   * Find the first busy minute at or after the given minute.
+   *
+   * @param minute the minute to start from
+   * @return the first busy minute, or {@link #minutes()} if there is none
+   */
+  public int nextBusy(int minute) {
+    int next = busy.nextSetBit(minute);
+    return next < 0 ? minutes : Math.min(next, minutes);
+  }
+
+  /**
+   * Get the time at which a minute starts.
+   *
+   * @param minute the minute
+   * @return the start time of the minute
+   */
+  public LocalDateTime timeOf(int minute) {
+    return from.plusMinutes(minute);
+  }
+
+  private int clamp(long minute) {
+    return (int) Math.max(0, Math.min(minute, minutes));
+  }
+}
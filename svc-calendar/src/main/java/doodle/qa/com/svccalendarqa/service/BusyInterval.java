@@ -0,0 +1,11 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A busy interval on a calendar, half-open as {@code [start, end)}.
+ *
+ * @param start the start time
+ * @param end the end time
+ */
+public record BusyInterval(LocalDateTime start, LocalDateTime end) {}
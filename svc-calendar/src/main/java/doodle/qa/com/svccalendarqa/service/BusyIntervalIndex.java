@@ -0,0 +1,519 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import doodle.qa.com.svccalendarqa.entity.Meeting;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingInterval;
+import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of meeting intervals per calendar. A calendar is loaded from the database on
+ * first access and is then kept up to date by {@link MeetingService} after every committed create,
+ * update and delete, so slot lookups on warm calendars need no database round trip.
+ *
+ * <p>Loaded calendars expire after a configurable TTL so that writes made by other service
+ * instances become visible within a bounded delay. Only the meetings of a window around the load,
+ * from a configurable lookback before it to a configurable horizon after it, are kept; ranges
+ * outside of it are read from the database on every lookup. Meetings are partitioned by start time,
+ * and the window bounds it on both sides, so a load only reads the partitions of the window.
+ *
+ * <p>A calendar is loaded outside of the map, so that the query never blocks lookups and writes of
+ * other calendars. Writes committed while it loads are recorded and applied on top of the loaded
+ * snapshot, and concurrent lookups of the same calendar wait for that one load.
+ *
+ * <p>Calendars are loaded through the {@link MeetingInterval} projection, so only the columns kept
+ * in the index are read and no entities are attached to the persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusyIntervalIndex {
+
+  private final MeetingRepository meetingRepository;
+
+  private final Map<UUID, Slot> timelines = new ConcurrentHashMap<>();
+
+  /** Maximum number of calendars kept in memory. */
+  @Value("${calendar.busy-index.max-calendars:10000}")
+  private int maxCalendars = 10000;
+
+  /** Time after which a loaded calendar is reloaded from the database. */
+  @Value("${calendar.busy-index.ttl:PT1M}")
+  private Duration ttl = Duration.ofMinutes(1);
+
+  /** Time before the load from which meetings are kept in memory. */
+  @Value("${calendar.busy-index.lookback:P1D}")
+  private Duration lookback = Duration.ofDays(1);
+
+  /** Time after the load up to which meetings are kept in memory. */
+  @Value("${calendar.busy-index.horizon:P14D}")
+  private Duration horizon = Duration.ofDays(14);
+
+  /**
+   * Find the meetings of a user calendar that overlap with the given time range.
+   *
+   * @param calendarId the calendar ID
+   * @param userCalendarId the user calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @return the overlapping intervals, sorted by start time
+   */
+  public List<BusyInterval> findOverlapping(
+      UUID calendarId, UUID userCalendarId, LocalDateTime from, LocalDateTime to) {
+    Timeline timeline = timeline(calendarId);
+    if (!timeline.covers(from, to)) {
+      timeline = uncached(calendarId, from, to);
+    }
+    return timeline.overlapping(userCalendarId, from, to);
+  }
+
+  /**
+   * Find the meetings of several user calendars that overlap with the given time range. Calendars
+   * that are not loaded yet are loaded together in one query, and writes committed while it runs
+   * are applied on top of it as for a single calendar.
+   *
+   * @param userCalendars the user calendars
+   * @param from the start time
+   * @param to the end time
+   * @return the overlapping intervals of all user calendars, sorted by start time per user calendar
+   */
+  public List<BusyInterval> findOverlapping(
+      Collection<UserCalendar> userCalendars, LocalDateTime from, LocalDateTime to) {
+    Set<UUID> calendarIds = new LinkedHashSet<>();
+    for (UserCalendar userCalendar : userCalendars) {
+      calendarIds.add(userCalendar.getCalendarId());
+    }
+    Map<UUID, Timeline> loaded = timelines(calendarIds);
+    List<BusyInterval> result = new ArrayList<>();
+    for (UserCalendar userCalendar : userCalendars) {
+      Timeline timeline = loaded.get(userCalendar.getCalendarId());
+      if (!timeline.covers(from, to)) {
+        timeline = uncached(userCalendar.getCalendarId(), from, to);
+        loaded.put(userCalendar.getCalendarId(), timeline);
+      }
+      result.addAll(timeline.overlapping(userCalendar.getId(), from, to));
+    }
+    return result;
+  }
+
+  /**
+   * Add or replace a meeting in the index. Calendars that are not loaded are left untouched.
+   *
+   * @param meeting the committed meeting
+   */
+  public void put(Meeting meeting) {
+    Entry entry = Entry.of(meeting);
+    timelines.computeIfPresent(
+        meeting.getCalendarId(), (id, slot) -> slot.apply(timeline -> timeline.with(entry)));
+  }
+
+  /**
+   * Remove a meeting from the index. Calendars that are not loaded are left untouched.
+   *
+   * @param calendarId the calendar ID
+   * @param meetingId the meeting ID
+   */
+  public void remove(UUID calendarId, UUID meetingId) {
+    timelines.computeIfPresent(
+        calendarId, (id, slot) -> slot.apply(timeline -> timeline.without(meetingId)));
+  }
+
+  /**
+   * Drop a calendar from the index so that it is reloaded on next access.
+   *
+   * @param calendarId the calendar ID
+   */
+  public void invalidate(UUID calendarId) {
+    timelines.remove(calendarId);
+  }
+
+  /**
+   * Get the number of calendars currently loaded.
+   *
+   * @return the number of loaded calendars
+   */
+  public int size() {
+    return timelines.size();
+  }
+
+  private Timeline timeline(UUID calendarId) {
+    Slot loading = new Slot();
+    Slot slot = acquire(calendarId, loading);
+    if (slot != loading) {
+      return slot.get();
+    }
+    // Only the query runs outside of the map; writes committed meanwhile are replayed on it
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime windowStart = now.minus(lookback);
+    LocalDateTime windowEnd = now.plus(horizon);
+    try {
+      return install(
+          calendarId,
+          loading,
+          timelineOf(
+              calendarId,
+              meetingRepository.findIntervalsOverlapping(
+                  calendarId, windowStart, windowEnd, earliestStart(windowStart)),
+              windowStart,
+              windowEnd));
+    } catch (RuntimeException e) {
+      fail(calendarId, loading, e);
+      throw e;
+    }
+  }
+
+  private Map<UUID, Timeline> timelines(Set<UUID> calendarIds) {
+    Map<UUID, Timeline> result = new HashMap<>();
+    Map<UUID, Slot> loading = new HashMap<>();
+    Map<UUID, Slot> waiting = new HashMap<>();
+    for (UUID calendarId : calendarIds) {
+      Slot claimed = new Slot();
+      Slot slot = acquire(calendarId, claimed);
+      if (slot == claimed) {
+        loading.put(calendarId, claimed);
+      } else {
+        waiting.put(calendarId, slot);
+      }
+    }
+
+    if (!loading.isEmpty()) {
+      LocalDateTime now = LocalDateTime.now();
+      LocalDateTime windowStart = now.minus(lookback);
+      LocalDateTime windowEnd = now.plus(horizon);
+      Map<UUID, List<MeetingInterval>> meetings = new HashMap<>();
+      for (UUID calendarId : loading.keySet()) {
+        meetings.put(calendarId, new ArrayList<>());
+      }
+      try {
+        for (MeetingInterval meeting :
+            meetingRepository.findIntervalsByCalendarIdInOverlapping(
+                loading.keySet(), windowStart, windowEnd, earliestStart(windowStart))) {
+          meetings.get(meeting.getCalendarId()).add(meeting);
+        }
+      } catch (RuntimeException e) {
+        loading.forEach((calendarId, slot) -> fail(calendarId, slot, e));
+        throw e;
+      }
+      loading.forEach(
+          (calendarId, slot) ->
+              result.put(
+                  calendarId,
+                  install(
+                      calendarId,
+                      slot,
+                      timelineOf(calendarId, meetings.get(calendarId), windowStart, windowEnd))));
+    }
+    waiting.forEach((calendarId, slot) -> result.put(calendarId, slot.get()));
+    return result;
+  }
+
+  /**
+   * Get the usable slot of a calendar, or put the given loading slot in place of a missing or
+   * expired one. The caller then owns the load if the given slot is returned.
+   */
+  private Slot acquire(UUID calendarId, Slot loading) {
+    while (true) {
+      Slot slot = timelines.get(calendarId);
+      if (slot != null && slot.isUsable()) {
+        return slot;
+      }
+      if (slot == null && timelines.size() >= maxCalendars) {
+        evict();
+      }
+      if (slot == null
+          ? timelines.putIfAbsent(calendarId, loading) == null
+          : timelines.replace(calendarId, slot, loading)) {
+        return loading;
+      }
+    }
+  }
+
+  /**
+   * Replace a loading slot with the loaded snapshot, with the writes committed during the load
+   * applied on top of it. A slot that was invalidated or evicted meanwhile is left out of the map,
+   * and the snapshot is then only used by the waiting lookups.
+   */
+  private Timeline install(UUID calendarId, Slot loading, Timeline loaded) {
+    Timeline[] installed = new Timeline[1];
+    timelines.computeIfPresent(
+        calendarId,
+        (id, current) -> {
+          if (current != loading) {
+            return current;
+          }
+          installed[0] = loading.replay(loaded);
+          return new Slot(installed[0]);
+        });
+    Timeline timeline = installed[0] != null ? installed[0] : loading.replay(loaded);
+    loading.loaded.complete(timeline);
+    return timeline;
+  }
+
+  private void fail(UUID calendarId, Slot loading, RuntimeException e) {
+    timelines.remove(calendarId, loading);
+    loading.loaded.completeExceptionally(e);
+  }
+
+  /** Read the meetings of a range outside of the loaded window, without keeping them. */
+  private Timeline uncached(UUID calendarId, LocalDateTime from, LocalDateTime to) {
+    return timelineOf(
+        calendarId,
+        meetingRepository.findIntervalsOverlapping(calendarId, from, to, earliestStart(from)),
+        from,
+        to);
+  }
+
+  /** The earliest start time of a meeting that can still be running at the given time. */
+  private static LocalDateTime earliestStart(LocalDateTime from) {
+    return from.minusHours(MeetingService.MAX_SLOT_DURATION_HOURS);
+  }
+
+  private Timeline timelineOf(
+      UUID calendarId,
+      List<MeetingInterval> meetings,
+      LocalDateTime windowStart,
+      LocalDateTime windowEnd) {
+    Entry[] entries = new Entry[meetings.size()];
+    Duration maxDuration = Duration.ZERO;
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = Entry.of(meetings.get(i));
+      maxDuration = max(maxDuration, entries[i].duration());
+    }
+    Arrays.sort(entries, Comparator.comparing(Entry::start));
+    log.debug("Loaded {} meetings into busy index for calendar {}", entries.length, calendarId);
+    return new Timeline(
+        entries, maxDuration, windowStart, windowEnd, System.nanoTime() + ttl.toNanos());
+  }
+
+  /** Drop expired calendars, or the one closest to expiry if none has expired yet. */
+  private void evict() {
+    UUID oldest = null;
+    long oldestExpiry = 0;
+    for (Map.Entry<UUID, Slot> entry : timelines.entrySet()) {
+      Timeline timeline = entry.getValue().timeline;
+      if (timeline == null) {
+        continue;
+      }
+      if (timeline.isExpired()) {
+        timelines.remove(entry.getKey(), entry.getValue());
+      } else if (oldest == null || timeline.expiresAt - oldestExpiry < 0) {
+        oldest = entry.getKey();
+        oldestExpiry = timeline.expiresAt;
+      }
+    }
+    if (oldest != null && timelines.size() >= maxCalendars) {
+      timelines.remove(oldest);
+    }
+  }
+
+  private static Duration max(Duration a, Duration b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+
+  /**
+   * A calendar in the index: either its loaded timeline, or a load in progress together with the
+   * writes committed since it started. Loading slots are only changed inside the map's {@code
+   * compute} methods, so the pending writes need no further locking.
+   */
+  private static final class Slot {
+
+    private final Timeline timeline;
+    private final CompletableFuture<Timeline> loaded;
+    private final List<UnaryOperator<Timeline>> pending;
+
+    /** Create a loading slot. */
+    Slot() {
+      this.timeline = null;
+      this.loaded = new CompletableFuture<>();
+      this.pending = new ArrayList<>();
+    }
+
+    /** Create a slot holding a loaded timeline. */
+    Slot(Timeline timeline) {
+      this.timeline = timeline;
+      this.loaded = CompletableFuture.completedFuture(timeline);
+      this.pending = List.of();
+    }
+
+    /** Whether lookups can use this slot, that is it is loading or holds an unexpired timeline. */
+    boolean isUsable() {
+      return timeline == null || !timeline.isExpired();
+    }
+
+    /** Get the timeline, waiting for the load to finish if it is still in progress. */
+    Timeline get() {
+      if (timeline != null) {
+        return timeline;
+      }
+      try {
+        return loaded.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+
+    Slot apply(UnaryOperator<Timeline> write) {
+      if (timeline != null) {
+        return new Slot(write.apply(timeline));
+      }
+      pending.add(write);
+      return this;
+    }
+
+    Timeline replay(Timeline snapshot) {
+      Timeline result = snapshot;
+      for (UnaryOperator<Timeline> write : pending) {
+        result = write.apply(result);
+      }
+      return result;
+    }
+  }
+
+  /** A single meeting in a timeline. */
+  private record Entry(
+      UUID meetingId, UUID userCalendarId, LocalDateTime start, LocalDateTime end) {
+
+    static Entry of(MeetingInterval meeting) {
+      return new Entry(
+          meeting.getId(),
+          meeting.getUserCalendarId(),
+          meeting.getStartTime(),
+          meeting.getEndTime());
+    }
+
+    static Entry of(Meeting meeting) {
+      UUID userCalendarId =
+          meeting.getUserCalendar() != null ? meeting.getUserCalendar().getId() : null;
+      return new Entry(
+          meeting.getId(), userCalendarId, meeting.getStartTime(), meeting.getEndTime());
+    }
+
+    Duration duration() {
+      return Duration.between(start, end);
+    }
+
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+      return start.isBefore(to) && end.isAfter(from);
+    }
+  }
+
+  /**
+   * Immutable, start-sorted snapshot of the meetings of one calendar. Writers replace the snapshot
+   * with a copy, so readers never need a lock.
+   *
+   * <p>Because no meeting is longer than {@code maxDuration}, every meeting that ends after {@code
+   * from} starts after {@code from - maxDuration}. An overlap query is therefore a binary search
+   * for that bound followed by a scan that stops at the first meeting starting at or after {@code
+   * to}, which is O(log n + k) for meetings of bounded length.
+   */
+  private static final class Timeline {
+
+    private final Entry[] entries;
+    private final Duration maxDuration;
+    private final LocalDateTime windowStart;
+    private final LocalDateTime windowEnd;
+    private final long expiresAt;
+
+    Timeline(
+        Entry[] entries,
+        Duration maxDuration,
+        LocalDateTime windowStart,
+        LocalDateTime windowEnd,
+        long expiresAt) {
+      this.entries = entries;
+      this.maxDuration = maxDuration;
+      this.windowStart = windowStart;
+      this.windowEnd = windowEnd;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+
+    /** Whether every meeting overlapping the range was loaded. */
+    boolean covers(LocalDateTime from, LocalDateTime to) {
+      return !from.isBefore(windowStart) && !to.isAfter(windowEnd);
+    }
+
+    List<BusyInterval> overlapping(UUID userCalendarId, LocalDateTime from, LocalDateTime to) {
+      List<BusyInterval> result = new ArrayList<>();
+      for (int i = firstCandidate(from); i < entries.length; i++) {
+        Entry entry = entries[i];
+        if (!entry.start().isBefore(to)) {
+          break;
+        }
+        if (entry.overlaps(from, to) && userCalendarId.equals(entry.userCalendarId())) {
+          result.add(new BusyInterval(entry.start(), entry.end()));
+        }
+      }
+      return result;
+    }
+
+    Timeline with(Entry entry) {
+      Entry[] kept = withoutEntry(entry.meetingId());
+      int index = upperBound(kept, entry.start());
+      Entry[] updated = new Entry[kept.length + 1];
+      System.arraycopy(kept, 0, updated, 0, index);
+      updated[index] = entry;
+      System.arraycopy(kept, index, updated, index + 1, kept.length - index);
+      return new Timeline(
+          updated, max(maxDuration, entry.duration()), windowStart, windowEnd, expiresAt);
+    }
+
+    Timeline without(UUID meetingId) {
+      return new Timeline(withoutEntry(meetingId), maxDuration, windowStart, windowEnd, expiresAt);
+    }
+
+    private Entry[] withoutEntry(UUID meetingId) {
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].meetingId().equals(meetingId)) {
+          Entry[] kept = new Entry[entries.length - 1];
+          System.arraycopy(entries, 0, kept, 0, i);
+          System.arraycopy(entries, i + 1, kept, i, entries.length - i - 1);
+          return kept;
+        }
+      }
+      return entries;
+    }
+
+    /** Index of the first entry that may still be running at {@code from}. */
+    private int firstCandidate(LocalDateTime from) {
+      return upperBound(entries, from.minus(maxDuration));
+    }
+
+    /** Index of the first entry starting strictly after {@code time}. */
+    private static int upperBound(Entry[] entries, LocalDateTime time) {
+      int low = 0;
+      int high = entries.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (entries[mid].start().isAfter(time)) {
+          high = mid;
+        } else {
+          low = mid + 1;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Free slots of a fixed duration within a time range, generated lazily from the free runs of an
+ * {@link AvailabilityBitmap}. Only the runs are kept: the number of slots is computed from their
+ * lengths, and a page is produced by locating the run that holds the first requested slot and
+ * generating slots from there, so the cost of a page does not depend on its offset or on the total
+ * number of slots.
+ *
+ * <p>Slots are laid out back to back from the start of every free run, in time order. Busy
+ * intervals are normalized with {@link IntervalNormalizer} before they are marked, so heavily
+ * overlapping calendars mark each busy minute once.
+ */
+public final class FreeSlots {
+
+  private final Duration slotDuration;
+  private final int slotDurationMinutes;
+  private final LocalDateTime[] runStarts;
+
+  /** Number of slots in free runs {@code 0..i}, inclusive. */
+  private final long[] cumulativeCounts;
+
+  private FreeSlots(Duration slotDuration, LocalDateTime[] runStarts, long[] cumulativeCounts) {
+    this.slotDuration = slotDuration;
+    this.slotDurationMinutes = (int) slotDuration.toMinutes();
+    this.runStarts = runStarts;
+    this.cumulativeCounts = cumulativeCounts;
+  }
+
+  /**
+   * Compute the free slots of a time range.
+   *
+   * @param from the start of the range
+   * @param to the end of the range
+   * @param slotDuration the slot duration, in whole minutes
+   * @param busyIntervals the busy intervals, in any order
+   * @return the free slots
+   */
+  public static FreeSlots between(
+      LocalDateTime from,
+      LocalDateTime to,
+      Duration slotDuration,
+      List<BusyInterval> busyIntervals) {
+    AvailabilityBitmap bitmap = new AvailabilityBitmap(from, to);
+    for (BusyInterval busy : IntervalNormalizer.normalize(busyIntervals)) {
+      bitmap.markBusy(busy.start(), busy.end());
+    }
+    return of(bitmap, slotDuration);
+  }
+
+  /**
+   * Compute the free slots of a bitmap.
+   *
+   * @param bitmap the bitmap with all busy intervals marked
+   * @param slotDuration the slot duration, in whole minutes
+   * @return the free slots
+   */
+  public static FreeSlots of(AvailabilityBitmap bitmap, Duration slotDuration) {
+    long slotMinutes = slotDuration.toMinutes();
+    List<LocalDateTime> starts = new ArrayList<>();
+    List<Long> counts = new ArrayList<>();
+    long total = 0;
+
+    for (int start = bitmap.nextFree(0); start < bitmap.minutes(); ) {
+      int end = bitmap.nextBusy(start);
+      long slots = (end - start) / slotMinutes;
+      if (slots > 0) {
+        total += slots;
+        starts.add(bitmap.timeOf(start));
+        counts.add(total);
+      }
+      start = bitmap.nextFree(end);
+    }
+
+    return new FreeSlots(
+        slotDuration,
+        starts.toArray(new LocalDateTime[0]),
+        counts.stream().mapToLong(Long::longValue).toArray());
+  }
+
+  /**
+   * Get the number of free slots.
+   *
+   * @return the number of free slots
+   */
+  public long count() {
+    return cumulativeCounts.length == 0 ? 0 : cumulativeCounts[cumulativeCounts.length - 1];
+  }
+
+  /**
+   * Get a page of free slots.
+   *
+   * @param offset the index of the first slot
+   * @param size the maximum number of slots
+   * @return the slots of the page
+   */
+  public List<TimeSlotDto> page(long offset, int size) {
+    return stream(offset).limit(size).toList();
+  }
+
+  /**
+   * Stream the free slots starting at the given index.
+   *
+   * @param offset the index of the first slot
+   * @return a lazily generated stream of slots
+   */
+  public Stream<TimeSlotDto> stream(long offset) {
+    return StreamSupport.stream(new SlotSpliterator(offset), false);
+  }
+
+  /** Index of the free run holding the slot with the given index. */
+  private int runOf(long index) {
+    int found = Arrays.binarySearch(cumulativeCounts, index);
+    // An exact match is the last slot boundary of that run, so the slot is in the next one
+    return found >= 0 ? found + 1 : -found - 1;
+  }
+
+  private final class SlotSpliterator extends Spliterators.AbstractSpliterator<TimeSlotDto> {
+
+    private long index;
+    private int run;
+
+    SlotSpliterator(long offset) {
+      super(
+          Math.max(0, count() - offset),
+          Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+      this.index = offset;
+      this.run = runOf(offset);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TimeSlotDto> action) {
+      if (index < 0 || index >= count()) {
+        return false;
+      }
+      while (index >= cumulativeCounts[run]) {
+        run++;
+      }
+      long first = run == 0 ? 0 : cumulativeCounts[run - 1];
+      LocalDateTime start = runStarts[run].plus(slotDuration.multipliedBy(index - first));
+      action.accept(
+          TimeSlotDto.builder()
+              .startTime(start)
+              .endTime(start.plus(slotDuration))
+              .durationMinutes(slotDurationMinutes)
+              .build());
+      index++;
+      return true;
+    }
+  }
+}
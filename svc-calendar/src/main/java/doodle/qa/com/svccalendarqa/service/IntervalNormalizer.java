@@ -0,0 +1,80 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Normalization of busy intervals into a sorted list of disjoint intervals. Intervals are sorted by
+ * start and swept once, extending the current interval while the next one starts at or before its
+ * end, so overlapping, nested and touching intervals collapse into one.
+ *
+ * <p>Because normalized intervals are disjoint, their ends are sorted as well, which lets {@link
+ * #firstEndingAtOrAfter} find the only interval that can overlap a given time by binary search.
+ */
+public final class IntervalNormalizer {
+
+  private static final Comparator<BusyInterval> BY_START =
+      Comparator.comparing(BusyInterval::start);
+
+  private IntervalNormalizer() {}
+
+  /**
+   * Sort busy intervals by start and coalesce the ones that overlap or touch. Intervals that end
+   * before they start are dropped.
+   *
+   * @param intervals the busy intervals, in any order
+   * @return the normalized intervals, sorted by start and separated by free time
+   */
+  public static List<BusyInterval> normalize(Collection<BusyInterval> intervals) {
+    List<BusyInterval> sorted = new ArrayList<>(intervals);
+    sorted.sort(BY_START);
+
+    List<BusyInterval> normalized = new ArrayList<>();
+    LocalDateTime start = null;
+    LocalDateTime end = null;
+    for (BusyInterval interval : sorted) {
+      if (interval.end().isBefore(interval.start())) {
+        continue;
+      }
+      if (start != null && !interval.start().isAfter(end)) {
+        if (interval.end().isAfter(end)) {
+          end = interval.end();
+        }
+        continue;
+      }
+      if (start != null) {
+        normalized.add(new BusyInterval(start, end));
+      }
+      start = interval.start();
+      end = interval.end();
+    }
+    if (start != null) {
+      normalized.add(new BusyInterval(start, end));
+    }
+    return normalized;
+  }
+
+  /**
+   * Find the first normalized interval that ends at or after the given time.
+   *
+   * @param normalized intervals returned by {@link #normalize}
+   * @param time the time
+   * @return the index of the interval, or the number of intervals if there is none
+   */
+  public static int firstEndingAtOrAfter(List<BusyInterval> normalized, LocalDateTime time) {
+    int low = 0;
+    int high = normalized.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (normalized.get(mid).end().isBefore(time)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
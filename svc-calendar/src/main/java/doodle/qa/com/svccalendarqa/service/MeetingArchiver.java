@@ -0,0 +1,71 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import doodle.qa.com.svccalendarqa.repository.ArchivedMeetingRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves meetings that ended more than a configurable number of days ago from the meetings table to
+ * the archive, daily. Meetings are moved in batches of one transaction each, with a pause between
+ * batches so that the job does not hold locks or saturate the database for long. Archived meetings
+ * are still listed by {@link MeetingService#findMeetings}.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "calendar.archive.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingArchiver {
+
+  private final ArchivedMeetingRepository archivedMeetingRepository;
+
+  /** Number of days after their end at which meetings are archived. */
+  @Value("${calendar.archive.retention-days:90}")
+  private int retentionDays = 90;
+
+  /** Maximum number of meetings moved per batch. */
+  @Value("${calendar.archive.batch-size:1000}")
+  private int batchSize = 1000;
+
+  /** Pause between two batches. */
+  @Value("${calendar.archive.batch-pause:PT0.2S}")
+  private Duration batchPause = Duration.ofMillis(200);
+
+  /**
+   * Archive all meetings that ended before the retention period, batch by batch, until a batch is
+   * not full. Failures are logged, and the remaining meetings are archived by the next run.
+   *
+   * @return the number of meetings archived
+   */
+  @Scheduled(cron = "${calendar.archive.cron:0 30 3 * * *}")
+  public long archiveMeetings() {
+    LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+    long archived = 0;
+    try {
+      int moved = archivedMeetingRepository.archiveMeetingsEndedBefore(cutoff, batchSize);
+      archived += moved;
+      while (moved == batchSize) {
+        Thread.sleep(batchPause.toMillis());
+        moved = archivedMeetingRepository.archiveMeetingsEndedBefore(cutoff, batchSize);
+        archived += moved;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Meeting archival interrupted after {} meetings", archived);
+    } catch (DataAccessException e) {
+      log.error("Error archiving meetings: {}", e.getMessage(), e);
+    }
+
+    log.info("Archived {} meetings that ended before {}", archived, cutoff);
+    return archived;
+  }
+}
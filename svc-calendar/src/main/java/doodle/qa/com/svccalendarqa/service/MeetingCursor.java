@@ -0,0 +1,65 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import doodle.qa.com.svccalendarqa.dto.MeetingDto;
+import doodle.qa.com.svccalendarqa.exception.IllegalArgumentException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after a meeting in a list ordered by start time and ID, used for keyset pagination.
+ * Clients receive it as an opaque URL-safe string and pass it back unchanged to get the next page.
+ *
+ * @param startTime the start time of the last meeting returned
+ * @param id the ID of the last meeting returned
+ */
+public record MeetingCursor(LocalDateTime startTime, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Create the cursor pointing after a meeting.
+   *
+   * @param meeting the last meeting returned
+   * @return the cursor
+   */
+  public static MeetingCursor after(MeetingDto meeting) {
+    return new MeetingCursor(meeting.getStartTime(), meeting.getId());
+  }
+
+  /**
+   * Decode a cursor received from a client.
+   *
+   * @param cursor the encoded cursor
+   * @return the cursor
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static MeetingCursor decode(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor {" + cursor + "}");
+      }
+      return new MeetingCursor(
+          LocalDateTime.parse(decoded.substring(0, separator)),
+          UUID.fromString(decoded.substring(separator + 1)));
+    } catch (java.lang.IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor {" + cursor + "}");
+    }
+  }
+
+  /**
+   * Encode the cursor for a client.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    String value = startTime + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
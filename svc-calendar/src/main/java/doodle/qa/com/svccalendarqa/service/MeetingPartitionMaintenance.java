@@ -0,0 +1,65 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the monthly partitions of the meetings table. Partitions are created ahead of time, so
+ * that new meetings do not land in the default partition, and partitions of old months are detached
+ * once the archiver has emptied them. Runs on startup and then daily, through database functions
+ * that serialize the runs of several service instances.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "calendar.meeting-partitions.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingPartitionMaintenance {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Number of months after the current one to create partitions for. */
+  @Value("${calendar.meeting-partitions.months-ahead:3}")
+  private int monthsAhead = 3;
+
+  /** Number of months before the current one to keep partitions for, or 0 to keep all. */
+  @Value("${calendar.meeting-partitions.retention-months:24}")
+  private int retentionMonths = 24;
+
+  /**
+   * Whether the archiver runs; without it, old partitions keep their meetings and stay attached.
+   */
+  @Value("${calendar.archive.enabled:true}")
+  private boolean archiveEnabled = true;
+
+  /** Create the missing partitions and detach the expired ones. Failures are logged. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${calendar.meeting-partitions.cron:0 0 3 * * *}")
+  public void maintainPartitions() {
+    try {
+      Integer created =
+          jdbcTemplate.queryForObject(
+              "SELECT create_meeting_partitions(?)", Integer.class, monthsAhead);
+      log.info("Created {} meeting partitions up to {} months ahead", created, monthsAhead);
+
+      if (retentionMonths > 0 && archiveEnabled) {
+        Integer detached =
+            jdbcTemplate.queryForObject(
+                "SELECT detach_meeting_partitions(?)", Integer.class, retentionMonths);
+        log.info("Detached {} meeting partitions older than {} months", detached, retentionMonths);
+      }
+    } catch (DataAccessException e) {
+      log.error("Error maintaining meeting partitions: {}", e.getMessage(), e);
+    }
+  }
+}
@@ -1,58 +1,123 @@
 package doodle.qa.com.svccalendarqa.service;
 
+import doodle.qa.com.svccalendarqa.client.ExternalEvent;
+import doodle.qa.com.svccalendarqa.client.ProviderEventCache;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingRequestDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResponseDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResultDto;
+import doodle.qa.com.svccalendarqa.dto.CursorPageDto;
 import doodle.qa.com.svccalendarqa.dto.MeetingDto;
+import doodle.qa.com.svccalendarqa.dto.ParticipantDto;
 import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
 import doodle.qa.com.svccalendarqa.entity.Meeting;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
 import doodle.qa.com.svccalendarqa.exception.CalendarNotFoundException;
 import doodle.qa.com.svccalendarqa.exception.IllegalArgumentException;
 import doodle.qa.com.svccalendarqa.exception.MeetingNotFoundException;
+import doodle.qa.com.svccalendarqa.exception.ProviderUnavailableException;
+import doodle.qa.com.svccalendarqa.repository.ArchivedMeetingRepository;
+import doodle.qa.com.svccalendarqa.repository.MeetingInterval;
+import doodle.qa.com.svccalendarqa.repository.MeetingPageRow;
 import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
 import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Slice;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.client.RestTemplate;
 
-/** Service for managing meetings. */
+/**
+ * Service for managing meetings.
+ *
+ * <p>Slot lookups and meeting writes fetch external events on the provider executor while the
+ * meetings are read or written on the calling thread. Each stage is timed as {@code meeting.stage},
+ * tagged with the operation and the stage.
+ */
 @Service
 @Validated
-@RequiredArgsConstructor
 @Slf4j
 public class MeetingService {
 
   private final MeetingRepository meetingRepository;
+  private final ArchivedMeetingRepository archivedMeetingRepository;
   private final UserCalendarRepository userCalendarRepository;
-  private final RestTemplate restTemplate;
-
-  @Value("${provider.service.url:http://localhost:8083}")
-  private String providerServiceUrl;
+  private final MembershipIndex membershipIndex;
+  private final BusyIntervalIndex busyIntervalIndex;
+  private final ProviderEventCache providerEventCache;
+  private final Executor providerExecutor;
+  private final MeterRegistry meterRegistry;
 
   /** Maximum allowed time range in days. */
   private static final int MAX_TIME_RANGE_DAYS = 7;
 
-  /** Maximum allowed slot duration in hours. */
-  private static final int MAX_SLOT_DURATION_HOURS = 8;
+  /** Maximum allowed slot duration in hours, which is also the maximum duration of a meeting. */
+  static final int MAX_SLOT_DURATION_HOURS = 8;
+
+  /**
+   * Exclusion constraint that keeps meetings of the same calendar from overlapping. Each partition
+   * of the meetings table has its own constraint, named with this prefix.
+   */
+  private static final String OVERLAP_CONSTRAINT = "meetings_no_overlap";
+
+  /** SQLSTATE reported by PostgreSQL for exclusion constraint violations. */
+  private static final String EXCLUSION_VIOLATION = "23P01";
+
+  /** Name of the timer recording the duration of each stage of an operation. */
+  private static final String STAGE_TIMER = "meeting.stage";
+
+  /** Number of days after their end at which meetings are moved to the archive. */
+  @Value("${calendar.archive.retention-days:90}")
+  private int archiveRetentionDays = 90;
+
+  public MeetingService(
+      MeetingRepository meetingRepository,
+      ArchivedMeetingRepository archivedMeetingRepository,
+      UserCalendarRepository userCalendarRepository,
+      MembershipIndex membershipIndex,
+      BusyIntervalIndex busyIntervalIndex,
+      ProviderEventCache providerEventCache,
+      @Qualifier("providerExecutor") Executor providerExecutor,
+      MeterRegistry meterRegistry) {
+    this.meetingRepository = meetingRepository;
+    this.archivedMeetingRepository = archivedMeetingRepository;
+    this.userCalendarRepository = userCalendarRepository;
+    this.membershipIndex = membershipIndex;
+    this.busyIntervalIndex = busyIntervalIndex;
+    this.providerEventCache = providerEventCache;
+    this.providerExecutor = providerExecutor;
+    this.meterRegistry = meterRegistry;
+  }
 
   /**
-   * Find meetings by user ID, calendar ID, and time range.
+   * Find meetings by user ID, calendar ID, and time range. Ranges that start before the archive
+   * retention period also list the archived meetings of the range.
    *
    * @param userId the user ID
    * @param calendarId the calendar ID
@@ -75,12 +140,172 @@ public class MeetingService {
     // Validate time range
     validateTimeRange(from, to);
 
+    // Find meetings, from the archive as well for historic ranges
+    if (!from.isBefore(LocalDateTime.now().minusDays(archiveRetentionDays))) {
+      return meetingRepository.findMeetingPageByUserCalendar(userCalendar, from, to, pageable);
+    }
+    return findMeetingsWithArchive(userCalendar, from, to, pageable);
+  }
+
+  /**
+   * Find a page of meetings by user calendar and time range across the meetings table and the
+   * archive, with one statement, so that an archive run cannot make the page skip or repeat a
+   * meeting. Only a page past the last one needs a second statement to count the meetings.
+   *
+   * @param userCalendar the user calendar
+   * @param from the start time
+   * @param to the end time
+   * @param pageable the pagination information
+   * @return a page of meetings
+   */
+  private Page<MeetingDto> findMeetingsWithArchive(
+      UserCalendar userCalendar, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+    List<MeetingPageRow> rows =
+        archivedMeetingRepository.findMeetingPageWithArchive(
+            userCalendar.getId(), from, to, pageable.getPageSize(), pageable.getOffset());
+
+    List<MeetingDto> meetings = new ArrayList<>(rows.size());
+    for (MeetingPageRow row : rows) {
+      meetings.add(
+          new MeetingDto(
+              UUID.fromString(row.getId()),
+              row.getTitle(),
+              row.getDescription(),
+              row.getStartTime(),
+              row.getEndTime(),
+              row.getLocation(),
+              UUID.fromString(row.getCalendarId())));
+    }
+    long total;
+    if (!rows.isEmpty()) {
+      total = rows.get(0).getTotal();
+    } else if (pageable.getOffset() == 0) {
+      total = 0;
+    } else {
+      total = archivedMeetingRepository.countMeetingsWithArchive(userCalendar.getId(), from, to);
+    }
+    return new PageImpl<>(meetings, pageable, total);
+  }
+
+  /**
+   * Find meetings by user ID, calendar ID, and time range with keyset pagination. Meetings are
+   * ordered by start time and ID, and each page continues after the meeting the cursor points at
+   * rather than skipping an offset, so deep pages cost the same as the first one. No count query is
+   * run; one extra meeting is read to tell whether there is a next page.
+   *
+   * @param userId the user ID
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+   * @param size the page size
+   * @return a page of meetings with the cursor of the next page
+   */
+  @Transactional(readOnly = true)
+  public CursorPageDto<MeetingDto> findMeetingsAfter(
+      @NotNull UUID userId,
+      @NotNull UUID calendarId,
+      @NotNull LocalDateTime from,
+      @NotNull LocalDateTime to,
+      String cursor,
+      @Min(1) int size) {
+
+    // Validate user and calendar
+    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+
+    // Validate time range
+    validateTimeRange(from, to);
+
+    // Find meetings after the cursor
+    Pageable pageable = PageRequest.of(0, size);
+    Slice<MeetingDto> meetings;
+    if (cursor == null || cursor.isEmpty()) {
+      meetings = meetingRepository.findMeetingsByUserCalendar(userCalendar, from, to, pageable);
+    } else {
+      MeetingCursor after = MeetingCursor.decode(cursor);
+      meetings =
+          meetingRepository.findMeetingsByUserCalendarAfter(
+              userCalendar, from, to, after.startTime(), after.id(), pageable);
+    }
+
+    List<MeetingDto> content = meetings.getContent();
+    String nextCursor =
+        meetings.hasNext() ? MeetingCursor.after(content.get(content.size() - 1)).encode() : null;
+    return CursorPageDto.<MeetingDto>builder().content(content).nextCursor(nextCursor).build();
+  }
+
+  /**
+   * Find a slice of meetings by user ID, calendar ID, and time range. Unlike {@link #findMeetings},
+   * no count query is run; one extra meeting is read to tell whether a next slice exists.
+   *
+   * @param userId the user ID
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @param pageable the pagination information
+   * @return a slice of meetings
+   */
+  @Transactional(readOnly = true)
+  public Slice<MeetingDto> findMeetingSlice(
+      @NotNull UUID userId,
+      @NotNull UUID calendarId,
+      @NotNull LocalDateTime from,
+      @NotNull LocalDateTime to,
+      Pageable pageable) {
+
+    // Validate user and calendar
+    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+
+    // Validate time range
+    validateTimeRange(from, to);
+
     // Find meetings
-    Page<Meeting> meetings =
-        meetingRepository
-            .findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-                userCalendar, from, to, pageable);
-    return meetings.map(this::mapToDto);
+    return meetingRepository.findMeetingsByUserCalendar(userCalendar, from, to, pageable);
+  }
+
+  /**
+   * Export the meetings of a user calendar within a time range, ordered by start time and ID, by
+   * passing each one to the consumer as it is read. Unlike the listings, the time range is not
+   * limited: meetings are streamed from a database cursor and not collected, so memory stays the
+   * same whatever the size of the calendar. The consumer is called within the transaction.
+   *
+   * @param userId the user ID
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @param consumer the consumer of the meetings
+   * @return the number of meetings exported
+   */
+  @Transactional(readOnly = true)
+  public long exportMeetings(
+      @NotNull UUID userId,
+      @NotNull UUID calendarId,
+      @NotNull LocalDateTime from,
+      @NotNull LocalDateTime to,
+      @NotNull Consumer<? super MeetingDto> consumer) {
+
+    // Validate user and calendar
+    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+
+    // Validate time range, without the maximum range of the listings
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException(
+          "Start time {" + from + "} must be before end time {" + to + "}");
+    }
+
+    // Stream meetings
+    long exported = 0;
+    try (Stream<MeetingDto> meetings =
+        meetingRepository.streamMeetingsByUserCalendar(userCalendar, from, to)) {
+      Iterator<MeetingDto> iterator = meetings.iterator();
+      while (iterator.hasNext()) {
+        consumer.accept(iterator.next());
+        exported++;
+      }
+    }
+
+    log.info("Exported {} meetings of calendar {} for user {}", exported, calendarId, userId);
+    return exported;
   }
 
   /**
@@ -102,6 +327,7 @@ public class MeetingService {
       @NotNull LocalDateTime to,
       @Min(15) @Max(MAX_SLOT_DURATION_HOURS * 60) int slotDurationMinutes,
       Pageable pageable) {
+    Timer.Sample total = Timer.start(meterRegistry);
 
     // Validate user and calendar
     UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
@@ -109,54 +335,92 @@ public class MeetingService {
     // Validate time range
     validateTimeRange(from, to);
 
+    // Get busy slots from provider service while the meetings are read
+    CompletableFuture<List<ExternalEvent>> externalEventsFuture =
+        fetchExternalEvents("slots", calendarId, from, to);
+
     // Get busy slots from meetings
-    List<Meeting> busyMeetings =
-        meetingRepository.findOverlappingMeetingsByUserCalendar(userCalendar, from, to);
+    List<BusyInterval> busyMeetings =
+        timed(
+            "slots",
+            "meetings",
+            () -> busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), from, to));
 
-    // Get busy slots from provider service
-    List<Map<String, Object>> externalEvents = getExternalEvents(calendarId, from, to);
+    List<ExternalEvent> externalEvents = awaitExternalEvents(externalEventsFuture);
 
     // Combine busy slots
-    List<TimeSlotDto> busySlots = new ArrayList<>();
-
-    // Add busy slots from meetings
-    for (Meeting meeting : busyMeetings) {
-      busySlots.add(
-          TimeSlotDto.builder()
-              .startTime(meeting.getStartTime())
-              .endTime(meeting.getEndTime())
-              .durationMinutes(
-                  (int) ChronoUnit.MINUTES.between(meeting.getStartTime(), meeting.getEndTime()))
-              .build());
+    List<BusyInterval> busySlots = new ArrayList<>(busyMeetings);
+    for (ExternalEvent event : externalEvents) {
+      busySlots.add(new BusyInterval(event.start(), event.end()));
     }
 
-    // Add busy slots from external events
-    for (Map<String, Object> event : externalEvents) {
-      LocalDateTime eventStart = LocalDateTime.parse((String) event.get("startTime"));
-      LocalDateTime eventEnd = LocalDateTime.parse((String) event.get("endTime"));
+    // Find the requested page of available slots on a minute bitmap of the range
+    Page<TimeSlotDto> page =
+        findFreeSlots("slots", from, to, slotDurationMinutes, busySlots, pageable);
+
+    total.stop(stageTimer("slots", "total"));
+    return page;
+  }
+
+  /**
+   * Find time slots in which every participant is available. The meetings of all participants are
+   * read together and the external events of their calendars are fetched in parallel; all busy
+   * intervals are then merged on one minute bitmap of the range, so the cost grows with the total
+   * number of intervals rather than with the number of participants.
+   *
+   * @param participants the users and calendars that must all be available
+   * @param from the start time
+   * @param to the end time
+   * @param slotDurationMinutes the slot duration in minutes
+   * @param pageable the pagination information
+   * @return a page of time slots in which every participant is available
+   */
+  @Transactional(readOnly = true)
+  public Page<TimeSlotDto> findGroupAvailableTimeSlots(
+      @NotEmpty List<@Valid @NotNull ParticipantDto> participants,
+      @NotNull LocalDateTime from,
+      @NotNull LocalDateTime to,
+      @Min(15) @Max(MAX_SLOT_DURATION_HOURS * 60) int slotDurationMinutes,
+      Pageable pageable) {
+    Timer.Sample total = Timer.start(meterRegistry);
+
+    // Validate users and calendars
+    List<UserCalendar> userCalendars = validateParticipants(participants);
 
-      busySlots.add(
-          TimeSlotDto.builder()
-              .startTime(eventStart)
-              .endTime(eventEnd)
-              .durationMinutes((int) ChronoUnit.MINUTES.between(eventStart, eventEnd))
-              .build());
+    // Validate time range
+    validateTimeRange(from, to);
+
+    // Get busy slots of every calendar from provider service while the meetings are read
+    Set<UUID> calendarIds = new LinkedHashSet<>();
+    for (UserCalendar userCalendar : userCalendars) {
+      calendarIds.add(userCalendar.getCalendarId());
+    }
+    List<CompletableFuture<List<ExternalEvent>>> externalEventsFutures = new ArrayList<>();
+    for (UUID calendarId : calendarIds) {
+      externalEventsFutures.add(fetchExternalEvents("group-slots", calendarId, from, to));
     }
 
-    // Sort busy slots by start time
-    busySlots.sort(Comparator.comparing(TimeSlotDto::getStartTime));
+    // Get busy slots from the meetings of all participants
+    List<BusyInterval> busySlots =
+        new ArrayList<>(
+            timed(
+                "group-slots",
+                "meetings",
+                () -> busyIntervalIndex.findOverlapping(userCalendars, from, to)));
 
-    // Find available slots
-    List<TimeSlotDto> availableSlots = findAvailableSlots(from, to, slotDurationMinutes, busySlots);
+    // Combine busy slots
+    for (CompletableFuture<List<ExternalEvent>> externalEventsFuture : externalEventsFutures) {
+      for (ExternalEvent event : awaitExternalEvents(externalEventsFuture)) {
+        busySlots.add(new BusyInterval(event.start(), event.end()));
+      }
+    }
 
-    // Apply pagination
-    int start = (int) pageable.getOffset();
-    int end = Math.min((start + pageable.getPageSize()), availableSlots.size());
-    List<TimeSlotDto> paginatedSlots = availableSlots.subList(start, end);
+    // Find the requested page of slots that are free in every calendar
+    Page<TimeSlotDto> page =
+        findFreeSlots("group-slots", from, to, slotDurationMinutes, busySlots, pageable);
 
-    // Create a Page object
-    return new org.springframework.data.domain.PageImpl<>(
-        paginatedSlots, pageable, availableSlots.size());
+    total.stop(stageTimer("group-slots", "total"));
+    return page;
   }
 
   /**
@@ -200,31 +464,84 @@ public class MeetingService {
     UUID calendarId = meetingDto.getCalendarId();
 
     // Validate user and calendar
-    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+    UserCalendar userCalendar = validateUserAndCalendarForWrite(userId, calendarId);
 
     // Validate meeting time
     validateMeetingTime(meetingDto.getStartTime(), meetingDto.getEndTime());
 
-    // Check for conflicts
-    checkForConflicts(calendarId, meetingDto.getStartTime(), meetingDto.getEndTime(), null);
+    // Fetch external events for the conflict check while the meeting is saved
+    CompletableFuture<List<ExternalEvent>> externalEvents =
+        fetchExternalEvents(
+            "conflicts", calendarId, meetingDto.getStartTime(), meetingDto.getEndTime());
 
     // Create meeting
-    Meeting meeting =
-        Meeting.builder()
-            .title(meetingDto.getTitle())
-            .description(meetingDto.getDescription())
-            .startTime(meetingDto.getStartTime())
-            .endTime(meetingDto.getEndTime())
-            .location(meetingDto.getLocation())
-            .userCalendar(userCalendar)
-            .calendarId(calendarId)
-            .build();
-
-    Meeting savedMeeting = meetingRepository.save(meeting);
+    Meeting meeting = newMeeting(meetingDto, userCalendar);
+
+    Meeting savedMeeting = timed("conflicts", "meetings", () -> saveMeeting(meeting));
+
+    // Check for conflicts, rolling back the save if there are any
+    checkForConflicts(
+        awaitExternalEvents(externalEvents), meetingDto.getStartTime(), meetingDto.getEndTime());
+
+    AfterCommit.run(() -> busyIntervalIndex.put(savedMeeting));
 
     return mapToDto(savedMeeting);
   }
 
+  /**
+   * Create many meetings of one calendar at once. Each meeting is validated in memory, and the
+   * stored meetings and external events of the batch are read once per window of at most the
+   * maximum time range, so a batch may span any range. The batch is then swept in start order, so
+   * conflicts with stored meetings, external events and earlier meetings of the batch are all found
+   * in one pass. The meetings without conflicts are inserted together, in JDBC batches.
+   *
+   * <p>A meeting that is invalid or conflicts is reported in its result and does not stop the
+   * others. Of two meetings of the batch that overlap, the one that starts first is created.
+   *
+   * @param request the calendar ID and the meetings
+   * @param userId the user ID
+   * @return the result of each meeting, in request order
+   * @throws IllegalArgumentException if the meetings overlap meetings saved concurrently
+   */
+  @Transactional
+  public BulkMeetingResponseDto createMeetings(
+      @Valid @NotNull BulkMeetingRequestDto request, @NotNull UUID userId) {
+
+    UUID calendarId = request.getCalendarId();
+    List<MeetingDto> meetings = request.getMeetings();
+
+    // Validate user and calendar
+    UserCalendar userCalendar = validateUserAndCalendarForWrite(userId, calendarId);
+
+    // Validate meetings in memory
+    BulkMeetingResultDto[] results = new BulkMeetingResultDto[meetings.size()];
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < meetings.size(); i++) {
+      String error = validateBulkMeeting(meetings.get(i), calendarId);
+      if (error == null) {
+        candidates.add(i);
+      } else {
+        results[i] = failedResult(i, BulkMeetingResultDto.Status.INVALID, error);
+      }
+    }
+
+    if (!candidates.isEmpty()) {
+      createBulkMeetings(meetings, candidates, userCalendar, results);
+    }
+
+    int created = 0;
+    for (BulkMeetingResultDto result : results) {
+      if (result.getStatus() == BulkMeetingResultDto.Status.CREATED) {
+        created++;
+      }
+    }
+    return BulkMeetingResponseDto.builder()
+        .created(created)
+        .failed(results.length - created)
+        .results(Arrays.asList(results))
+        .build();
+  }
+
   /**
    * Update a meeting.
    *
@@ -244,7 +561,7 @@ public class MeetingService {
     UUID calendarId = meetingDto.getCalendarId();
 
     // Validate user and calendar
-    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+    UserCalendar userCalendar = validateUserAndCalendarForWrite(userId, calendarId);
 
     // Find meeting
     Meeting meeting =
@@ -255,8 +572,10 @@ public class MeetingService {
     // Validate meeting time
     validateMeetingTime(meetingDto.getStartTime(), meetingDto.getEndTime());
 
-    // Check for conflicts (excluding this meeting)
-    checkForConflicts(calendarId, meetingDto.getStartTime(), meetingDto.getEndTime(), meetingId);
+    // Fetch external events for the conflict check while the meeting is saved
+    CompletableFuture<List<ExternalEvent>> externalEvents =
+        fetchExternalEvents(
+            "conflicts", calendarId, meetingDto.getStartTime(), meetingDto.getEndTime());
 
     // Update meeting
     meeting.setTitle(meetingDto.getTitle());
@@ -265,7 +584,13 @@ public class MeetingService {
     meeting.setEndTime(meetingDto.getEndTime());
     meeting.setLocation(meetingDto.getLocation());
 
-    Meeting savedMeeting = meetingRepository.save(meeting);
+    Meeting savedMeeting = timed("conflicts", "meetings", () -> saveMeeting(meeting));
+
+    // Check for conflicts, rolling back the save if there are any
+    checkForConflicts(
+        awaitExternalEvents(externalEvents), meetingDto.getStartTime(), meetingDto.getEndTime());
+
+    AfterCommit.run(() -> busyIntervalIndex.put(savedMeeting));
     return mapToDto(savedMeeting);
   }
 
@@ -281,7 +606,7 @@ public class MeetingService {
       @NotNull UUID meetingId, @NotNull UUID userId, @NotNull UUID calendarId) {
 
     // Validate user and calendar
-    UserCalendar userCalendar = validateUserAndCalendar(userId, calendarId);
+    UserCalendar userCalendar = validateUserAndCalendarForWrite(userId, calendarId);
 
     // Find meeting
     Meeting meeting =
@@ -291,21 +616,87 @@ public class MeetingService {
 
     // Delete meeting
     meetingRepository.delete(meeting);
+    AfterCommit.run(() -> busyIntervalIndex.remove(calendarId, meetingId));
   }
 
   /**
-   * Validate that the user calendar exists for the specified user.
+   * Validate that the user calendar exists for the specified user. The user calendar is looked up
+   * in the membership index first, and in the database if it is not indexed.
    *
    * @param userId the user ID
    * @param calendarId the calendar ID
    * @throws CalendarNotFoundException if the calendar is not found for the user
    */
   private UserCalendar validateUserAndCalendar(UUID userId, UUID calendarId) {
+    return membershipIndex
+        .find(calendarId, userId)
+        .or(() -> userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .orElseThrow(() -> new CalendarNotFoundException(calendarId, userId));
+  }
+
+  /**
+   * Validate that the user calendar exists for the specified user before a write. The membership
+   * index may still hold a user calendar whose removal is in flight during a rebalance, so writes
+   * always read it from the database, as a meeting saved for a removed user calendar would fail on
+   * its foreign key.
+   *
+   * @param userId the user ID
+   * @param calendarId the calendar ID
+   * @throws CalendarNotFoundException if the calendar is not found for the user
+   */
+  private UserCalendar validateUserAndCalendarForWrite(UUID userId, UUID calendarId) {
     return userCalendarRepository
         .findByCalendarIdAndUserId(calendarId, userId)
         .orElseThrow(() -> new CalendarNotFoundException(calendarId, userId));
   }
 
+  /**
+   * Validate that every participant's calendar exists for that participant. Participants that are
+   * not in the membership index are looked up with one query for all of them. Duplicate
+   * participants are ignored.
+   *
+   * @param participants the participants
+   * @return the user calendars of the participants
+   * @throws CalendarNotFoundException if a calendar is not found for its participant
+   */
+  private List<UserCalendar> validateParticipants(List<ParticipantDto> participants) {
+    Set<ParticipantDto> distinct = new LinkedHashSet<>(participants);
+    Map<ParticipantDto, UserCalendar> found = new HashMap<>();
+    Set<UUID> userIds = new HashSet<>();
+    Set<UUID> calendarIds = new HashSet<>();
+    for (ParticipantDto participant : distinct) {
+      Optional<UserCalendar> indexed =
+          membershipIndex.find(participant.getCalendarId(), participant.getUserId());
+      if (indexed.isPresent()) {
+        found.put(participant, indexed.get());
+      } else {
+        userIds.add(participant.getUserId());
+        calendarIds.add(participant.getCalendarId());
+      }
+    }
+
+    if (!userIds.isEmpty()) {
+      // Users and calendars are matched in pairs below, as the query also returns cross pairs
+      List<UserCalendar> candidates =
+          userCalendarRepository.findAllByUserIdInAndCalendarIdIn(userIds, calendarIds);
+      for (UserCalendar userCalendar : candidates) {
+        found.putIfAbsent(
+            new ParticipantDto(userCalendar.getUserId(), userCalendar.getCalendarId()),
+            userCalendar);
+      }
+    }
+
+    List<UserCalendar> userCalendars = new ArrayList<>();
+    for (ParticipantDto participant : distinct) {
+      UserCalendar userCalendar = found.get(participant);
+      if (userCalendar == null) {
+        throw new CalendarNotFoundException(participant.getCalendarId(), participant.getUserId());
+      }
+      userCalendars.add(userCalendar);
+    }
+    return userCalendars;
+  }
+
   /**
    * Validate that the time range is valid and does not exceed the maximum allowed range.
    *
@@ -335,7 +726,8 @@ public class MeetingService {
    * @throws IllegalArgumentException if the meeting time is invalid
    */
   private void validateMeetingTime(LocalDateTime startTime, LocalDateTime endTime) {
-    if (startTime.isAfter(endTime)) {
+    // A meeting without duration has an empty time range, which the overlap constraint ignores
+    if (!startTime.isBefore(endTime)) {
       throw new IllegalArgumentException(
           "Start time {" + startTime + "} must be before end time {" + endTime + "}");
     }
@@ -348,154 +740,384 @@ public class MeetingService {
   }
 
   /**
-   * Check for conflicts with existing meetings.
+   * Save a meeting and flush it, so that overlaps with other meetings of the same calendar are
+   * rejected by the {@code meetings_no_overlap} exclusion constraint within this call. This covers
+   * concurrent writers as well, which a read-then-write check cannot.
    *
-   * @param calendarId the calendar ID
-   * @param startTime the start time
-   * @param endTime the end time
-   * @param excludeMeetingId the meeting ID to exclude from the check (for updates)
-   * @throws IllegalArgumentException if there are conflicts
+   * @param meeting the meeting to save
+   * @return the saved meeting
+   * @throws IllegalArgumentException if the meeting conflicts with existing meetings
    */
-  private void checkForConflicts(
-      UUID calendarId, LocalDateTime startTime, LocalDateTime endTime, UUID excludeMeetingId) {
-    // Get all UserCalendars for this calendar ID
-    List<UserCalendar> userCalendars = userCalendarRepository.findAllByCalendarId(calendarId);
-
-    if (userCalendars.isEmpty()) {
-      throw new CalendarNotFoundException(calendarId);
+  private Meeting saveMeeting(Meeting meeting) {
+    try {
+      return meetingRepository.saveAndFlush(meeting);
+    } catch (DataIntegrityViolationException e) {
+      if (isOverlapViolation(e)) {
+        throw new IllegalArgumentException("The meeting conflicts with existing meetings");
+      }
+      throw e;
     }
+  }
 
-    List<Meeting> allOverlappingMeetings = new ArrayList<>();
-
-    // Check for conflicts in all user calendars with this calendar ID
-    for (UserCalendar userCalendar : userCalendars) {
-      List<Meeting> overlappingMeetings =
-          meetingRepository.findOverlappingMeetingsByUserCalendar(userCalendar, startTime, endTime);
-
-      // Filter out the meeting being updated
-      if (excludeMeetingId != null) {
-        overlappingMeetings =
-            overlappingMeetings.stream()
-                .filter(meeting -> !meeting.getId().equals(excludeMeetingId))
-                .toList();
+  private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException
+          && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+          && String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT)) {
+        return true;
       }
+    }
+    return false;
+  }
 
-      allOverlappingMeetings.addAll(overlappingMeetings);
+  /**
+   * Check the valid meetings of a bulk creation for conflicts and insert the ones without any.
+   *
+   * @param meetings the meetings of the request
+   * @param candidates the indexes of the valid meetings
+   * @param userCalendar the user calendar
+   * @param results the results by index, filled in for every candidate
+   */
+  private void createBulkMeetings(
+      List<MeetingDto> meetings,
+      List<Integer> candidates,
+      UserCalendar userCalendar,
+      BulkMeetingResultDto[] results) {
+    UUID calendarId = userCalendar.getCalendarId();
+
+    // Sort by start, so that every overlap inside the batch is with the meeting accepted last
+    candidates.sort(Comparator.comparing(index -> meetings.get(index).getStartTime()));
+    List<BulkWindow> windows = bulkWindows(meetings, candidates);
+
+    // Fetch the external events of all windows at once, while stored meetings are read
+    List<CompletableFuture<List<ExternalEvent>>> externalEvents = new ArrayList<>();
+    for (BulkWindow window : windows) {
+      externalEvents.add(fetchExternalEvents("bulk", calendarId, window.from(), window.to()));
     }
 
-    if (!allOverlappingMeetings.isEmpty()) {
-      throw new IllegalArgumentException("The meeting conflicts with existing meetings");
+    // Sweep the batch in start order, window by window
+    List<Integer> accepted = new ArrayList<>();
+    int lastAccepted = -1;
+    LocalDateTime acceptedEnd = null;
+    for (int w = 0; w < windows.size(); w++) {
+      BulkWindow window = windows.get(w);
+      List<BusyInterval> storedMeetings =
+          timed("bulk", "meetings", () -> storedMeetings(calendarId, window.from(), window.to()));
+      List<BusyInterval> eventSlots = new ArrayList<>();
+      for (ExternalEvent event : awaitExternalEvents(externalEvents.get(w))) {
+        eventSlots.add(new BusyInterval(event.start(), event.end()));
+      }
+      List<BusyInterval> events = IntervalNormalizer.normalize(eventSlots);
+
+      for (int index : window.candidates()) {
+        MeetingDto meeting = meetings.get(index);
+        LocalDateTime startTime = meeting.getStartTime();
+        LocalDateTime endTime = meeting.getEndTime();
+        String conflict = null;
+        if (acceptedEnd != null && startTime.isBefore(acceptedEnd)) {
+          conflict = "The meeting conflicts with meeting " + lastAccepted + " of the batch";
+        } else if (overlapsMeeting(storedMeetings, startTime, endTime)) {
+          conflict = "The meeting conflicts with existing meetings";
+        } else if (overlapsEvent(events, startTime, endTime)) {
+          conflict = "The meeting conflicts with external events";
+        }
+
+        if (conflict != null) {
+          results[index] = failedResult(index, BulkMeetingResultDto.Status.CONFLICT, conflict);
+          continue;
+        }
+        accepted.add(index);
+        if (acceptedEnd == null || endTime.isAfter(acceptedEnd)) {
+          acceptedEnd = endTime;
+          lastAccepted = index;
+        }
+      }
+    }
+    if (accepted.isEmpty()) {
+      return;
     }
 
-    // Check for conflicts with external events
-    List<Map<String, Object>> externalEvents = getExternalEvents(calendarId, startTime, endTime);
+    // Insert the meetings without conflicts
+    List<Meeting> newMeetings = new ArrayList<>(accepted.size());
+    for (int index : accepted) {
+      newMeetings.add(newMeeting(meetings.get(index), userCalendar));
+    }
+    List<Meeting> savedMeetings = timed("bulk", "insert", () -> saveMeetings(newMeetings));
+    for (int i = 0; i < accepted.size(); i++) {
+      int index = accepted.get(i);
+      results[index] =
+          BulkMeetingResultDto.builder()
+              .index(index)
+              .status(BulkMeetingResultDto.Status.CREATED)
+              .meeting(mapToDto(savedMeetings.get(i)))
+              .build();
+    }
 
-    for (Map<String, Object> event : externalEvents) {
-      LocalDateTime eventStart = LocalDateTime.parse((String) event.get("startTime"));
-      LocalDateTime eventEnd = LocalDateTime.parse((String) event.get("endTime"));
+    AfterCommit.run(() -> savedMeetings.forEach(busyIntervalIndex::put));
+    log.info(
+        "Created {} of {} meetings in bulk for calendar {}",
+        savedMeetings.size(),
+        meetings.size(),
+        calendarId);
+  }
 
-      if (!(endTime.isBefore(eventStart) || startTime.isAfter(eventEnd))) {
-        throw new IllegalArgumentException("The meeting conflicts with external events");
+  /**
+   * Split the candidates of a bulk creation, sorted by start time, into windows that each span at
+   * most the maximum time range. Each window starts with the earliest candidate that did not fit
+   * into the previous one.
+   *
+   * @param meetings the meetings of the request
+   * @param candidates the indexes of the valid meetings, sorted by start time
+   * @return the windows, in start order
+   */
+  private static List<BulkWindow> bulkWindows(List<MeetingDto> meetings, List<Integer> candidates) {
+    List<BulkWindow> windows = new ArrayList<>();
+    int first = 0;
+    while (first < candidates.size()) {
+      LocalDateTime from = meetings.get(candidates.get(first)).getStartTime();
+      LocalDateTime limit = from.plusDays(MAX_TIME_RANGE_DAYS);
+      LocalDateTime to = from;
+      int next = first;
+      while (next < candidates.size()) {
+        LocalDateTime endTime = meetings.get(candidates.get(next)).getEndTime();
+        if (endTime.isAfter(limit)) {
+          break;
+        }
+        if (endTime.isAfter(to)) {
+          to = endTime;
+        }
+        next++;
       }
+      windows.add(new BulkWindow(candidates.subList(first, next), from, to));
+      first = next;
     }
+    return windows;
   }
 
   /**
-   * Get external events from the provider service.
+   * Read the normalized intervals of the stored meetings of a calendar that overlap a range.
    *
    * @param calendarId the calendar ID
    * @param from the start time
    * @param to the end time
-   * @return a list of external events
+   * @return the normalized intervals
    */
-  @Retryable(
-      value = Exception.class,
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 500, multiplier = 2))
-  private List<Map<String, Object>> getExternalEvents(
-      UUID calendarId, LocalDateTime from, LocalDateTime to) {
+  private List<BusyInterval> storedMeetings(UUID calendarId, LocalDateTime from, LocalDateTime to) {
+    List<BusyInterval> busySlots = new ArrayList<>();
+    for (MeetingInterval meeting :
+        meetingRepository.findIntervalsOverlapping(
+            calendarId, from, to, from.minusHours(MAX_SLOT_DURATION_HOURS))) {
+      busySlots.add(new BusyInterval(meeting.getStartTime(), meeting.getEndTime()));
+    }
+    return IntervalNormalizer.normalize(busySlots);
+  }
+
+  /** Candidates of a bulk creation whose conflicts are read together, and the range they span. */
+  private record BulkWindow(List<Integer> candidates, LocalDateTime from, LocalDateTime to) {}
+
+  /**
+   * Validate one meeting of a bulk creation.
+   *
+   * @param meeting the meeting
+   * @param calendarId the calendar ID of the request
+   * @return why the meeting is invalid, or {@code null} if it is valid
+   */
+  private String validateBulkMeeting(MeetingDto meeting, UUID calendarId) {
+    if (meeting.getTitle() == null || meeting.getTitle().isBlank()) {
+      return "Title is required";
+    }
+    if (meeting.getStartTime() == null) {
+      return "Start time is required";
+    }
+    if (meeting.getEndTime() == null) {
+      return "End time is required";
+    }
+    if (meeting.getCalendarId() != null && !meeting.getCalendarId().equals(calendarId)) {
+      return "Calendar ID {" + meeting.getCalendarId() + "} does not match {" + calendarId + "}";
+    }
     try {
-      String url =
-          String.format(
-              "%s/api/events/calendar/%s/timerange?start=%s&end=%s",
-              providerServiceUrl, calendarId, from, to);
+      validateMeetingTime(meeting.getStartTime(), meeting.getEndTime());
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    return null;
+  }
 
-      ResponseEntity<List> response = restTemplate.getForEntity(url, List.class);
+  private static BulkMeetingResultDto failedResult(
+      int index, BulkMeetingResultDto.Status status, String error) {
+    return BulkMeetingResultDto.builder().index(index).status(status).error(error).build();
+  }
 
-      if (response.getBody() != null) {
-        return response.getBody();
+  /**
+   * Check whether a meeting overlaps one of the stored meetings. Like the {@code
+   * meetings_no_overlap} constraint, meetings that only touch do not conflict.
+   *
+   * @param storedMeetings the normalized intervals of the stored meetings
+   * @param startTime the start time
+   * @param endTime the end time
+   * @return whether the meeting overlaps a stored meeting
+   */
+  private static boolean overlapsMeeting(
+      List<BusyInterval> storedMeetings, LocalDateTime startTime, LocalDateTime endTime) {
+    int index = IntervalNormalizer.firstEndingAtOrAfter(storedMeetings, startTime);
+    if (index < storedMeetings.size() && storedMeetings.get(index).end().equals(startTime)) {
+      index++;
+    }
+    return index < storedMeetings.size() && storedMeetings.get(index).start().isBefore(endTime);
+  }
+
+  /**
+   * Check whether a meeting overlaps or touches one of the external events, as {@link
+   * #checkForConflicts} does for a single meeting.
+   *
+   * @param events the normalized intervals of the external events
+   * @param startTime the start time
+   * @param endTime the end time
+   * @return whether the meeting conflicts with an external event
+   */
+  private static boolean overlapsEvent(
+      List<BusyInterval> events, LocalDateTime startTime, LocalDateTime endTime) {
+    int index = IntervalNormalizer.firstEndingAtOrAfter(events, startTime);
+    return index < events.size() && !events.get(index).start().isAfter(endTime);
+  }
+
+  /**
+   * Insert meetings and flush them, so that Hibernate sends the inserts in JDBC batches and the
+   * {@code meetings_no_overlap} exclusion constraint checks them within this call.
+   *
+   * @param meetings the meetings to insert
+   * @return the saved meetings, in the same order
+   * @throws IllegalArgumentException if a meeting conflicts with a meeting saved concurrently
+   */
+  private List<Meeting> saveMeetings(List<Meeting> meetings) {
+    try {
+      List<Meeting> savedMeetings = meetingRepository.saveAll(meetings);
+      meetingRepository.flush();
+      return savedMeetings;
+    } catch (DataIntegrityViolationException e) {
+      if (isOverlapViolation(e)) {
+        throw new IllegalArgumentException(
+            "The meetings conflict with meetings saved at the same time");
       }
-    } catch (Exception e) {
-      log.error("Error getting external events", e);
+      throw e;
+    }
+  }
+
+  private static Meeting newMeeting(MeetingDto meetingDto, UserCalendar userCalendar) {
+    return Meeting.builder()
+        .title(meetingDto.getTitle())
+        .description(meetingDto.getDescription())
+        .startTime(meetingDto.getStartTime())
+        .endTime(meetingDto.getEndTime())
+        .location(meetingDto.getLocation())
+        .userCalendar(userCalendar)
+        .calendarId(userCalendar.getCalendarId())
+        .build();
+  }
+
+  /**
+   * Check for conflicts with external events. Conflicts with existing meetings are enforced by the
+   * database when the meeting is saved. Events are normalized first, so only the one busy interval
+   * that ends at or after the start of the meeting has to be compared; touching counts as a
+   * conflict.
+   *
+   * @param externalEvents the external events around the meeting
+   * @param startTime the start time
+   * @param endTime the end time
+   * @throws IllegalArgumentException if there are conflicts
+   */
+  private void checkForConflicts(
+      List<ExternalEvent> externalEvents, LocalDateTime startTime, LocalDateTime endTime) {
+    List<BusyInterval> busySlots = new ArrayList<>(externalEvents.size());
+    for (ExternalEvent event : externalEvents) {
+      busySlots.add(new BusyInterval(event.start(), event.end()));
     }
+    List<BusyInterval> normalized = IntervalNormalizer.normalize(busySlots);
 
-    return Collections.emptyList();
+    int index = IntervalNormalizer.firstEndingAtOrAfter(normalized, startTime);
+    if (index < normalized.size() && !normalized.get(index).start().isAfter(endTime)) {
+      throw new IllegalArgumentException("The meeting conflicts with external events");
+    }
   }
 
   /**
-   * Find available time slots given busy slots.
+   * Find one page of the time slots that do not overlap any of the busy intervals.
    *
+   * @param operation the operation the slots are found for, used to tag the timer
    * @param from the start time
    * @param to the end time
    * @param slotDurationMinutes the slot duration in minutes
-   * @param busySlots the busy slots
-   * @return a list of available time slots
+   * @param busySlots the busy intervals, in any order
+   * @param pageable the pagination information
+   * @return a page of free time slots
    */
-  private List<TimeSlotDto> findAvailableSlots(
-      LocalDateTime from, LocalDateTime to, int slotDurationMinutes, List<TimeSlotDto> busySlots) {
-
-    List<TimeSlotDto> availableSlots = new ArrayList<>();
-    LocalDateTime current = from;
-    Duration slotDuration = Duration.ofMinutes(slotDurationMinutes);
-
-    // If there are no busy slots, return the entire range as available
-    if (busySlots.isEmpty()) {
-      while (current.plus(slotDuration).isBefore(to) || current.plus(slotDuration).isEqual(to)) {
-        availableSlots.add(
-            TimeSlotDto.builder()
-                .startTime(current)
-                .endTime(current.plus(slotDuration))
-                .durationMinutes(slotDurationMinutes)
-                .build());
-
-        current = current.plus(slotDuration);
-      }
-
-      return availableSlots;
-    }
+  private Page<TimeSlotDto> findFreeSlots(
+      String operation,
+      LocalDateTime from,
+      LocalDateTime to,
+      int slotDurationMinutes,
+      List<BusyInterval> busySlots,
+      Pageable pageable) {
+    return timed(
+        operation,
+        "compute",
+        () -> {
+          FreeSlots freeSlots =
+              FreeSlots.between(from, to, Duration.ofMinutes(slotDurationMinutes), busySlots);
+          return new PageImpl<>(
+              freeSlots.page(pageable.getOffset(), pageable.getPageSize()),
+              pageable,
+              freeSlots.count());
+        });
+  }
 
-    // Find available slots between busy slots
-    for (TimeSlotDto busySlot : busySlots) {
-      // Add available slots before the busy slot
-      while (current.plus(slotDuration).isBefore(busySlot.getStartTime())
-          || current.plus(slotDuration).isEqual(busySlot.getStartTime())) {
-        availableSlots.add(
-            TimeSlotDto.builder()
-                .startTime(current)
-                .endTime(current.plus(slotDuration))
-                .durationMinutes(slotDurationMinutes)
-                .build());
+  /**
+   * Start fetching external events on the provider executor.
+   *
+   * @param operation the operation the events are fetched for, used to tag the timer
+   * @param calendarId the calendar ID
+   * @param from the start time
+   * @param to the end time
+   * @return a future completing with the external events
+   */
+  private CompletableFuture<List<ExternalEvent>> fetchExternalEvents(
+      String operation, UUID calendarId, LocalDateTime from, LocalDateTime to) {
+    return CompletableFuture.supplyAsync(
+        () ->
+            timed(operation, "provider", () -> providerEventCache.getEvents(calendarId, from, to)),
+        providerExecutor);
+  }
 
-        current = current.plus(slotDuration);
+  /**
+   * Wait for external events fetched by {@link #fetchExternalEvents}.
+   *
+   * @param future the future returned by {@link #fetchExternalEvents}
+   * @return the external events
+   * @throws ProviderUnavailableException if the external events are unavailable
+   */
+  private static List<ExternalEvent> awaitExternalEvents(
+      CompletableFuture<List<ExternalEvent>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
       }
-
-      // Move current to the end of the busy slot
-      current = busySlot.getEndTime();
+      throw e;
     }
+  }
 
-    // Add available slots after the last busy slot
-    while (current.plus(slotDuration).isBefore(to) || current.plus(slotDuration).isEqual(to)) {
-      availableSlots.add(
-          TimeSlotDto.builder()
-              .startTime(current)
-              .endTime(current.plus(slotDuration))
-              .durationMinutes(slotDurationMinutes)
-              .build());
-
-      current = current.plus(slotDuration);
+  private <T> T timed(String operation, String stage, Supplier<T> supplier) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      return supplier.get();
+    } finally {
+      sample.stop(stageTimer(operation, stage));
     }
+  }
 
-    return availableSlots;
+  private Timer stageTimer(String operation, String stage) {
+    return meterRegistry.timer(STAGE_TIMER, "operation", operation, "stage", stage);
   }
 
   private MeetingDto mapToDto(Meeting meeting) {
@@ -0,0 +1,261 @@
+package doodle.qa.com.svccalendarqa.service;
+
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.entity.UserStateVersion;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.repository.UserStateVersionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the user calendars, by calendar ID and user ID, so that requests can be
+ * validated without a database round trip. The index is kept up to date by {@link
+ * doodle.qa.com.svccalendarqa.kafka.UserStateConsumer} after every committed change.
+ *
+ * <p>Service instances share one consumer group and each applies only the changes it consumes, so
+ * the index can only be complete while this instance consumes every partition of the user state
+ * topic. It serves lookups only then: {@link doodle.qa.com.svccalendarqa.kafka.UserStatePartitions}
+ * starts it, reloaded, once the instance is assigned all partitions, and stops it as soon as one is
+ * revoked. While it is stopped, every lookup goes to the database. Meeting writes read the user
+ * calendar from the database either way, as a removal may still be in flight during a rebalance.
+ *
+ * <p>While the index serves lookups, a periodic consistency check reloads it and counts the user
+ * calendars that differed as {@code calendar.membership.drift}. Only users whose last applied event
+ * in the database was also applied to the index are compared, so changes that are committed but not
+ * yet applied are not counted. The number of user calendars is published as {@code
+ * calendar.membership.size}, and the time since the last load as {@code
+ * calendar.membership.staleness}.
+ */
+@Component
+@Slf4j
+public class MembershipIndex {
+
+  private final UserCalendarRepository userCalendarRepository;
+  private final UserStateVersionRepository userStateVersionRepository;
+  private final Counter drift;
+
+  /** User calendars by calendar ID and user ID. */
+  private volatile Map<UUID, Map<UUID, UserCalendar>> userCalendars = new ConcurrentHashMap<>();
+
+  /** Offset of the last user state event applied to the index, by user ID. */
+  private Map<UUID, Long> appliedOffsets = new HashMap<>();
+
+  private volatile boolean serving;
+  private volatile int size;
+  private volatile long loadedAt = System.nanoTime();
+
+  public MembershipIndex(
+      UserCalendarRepository userCalendarRepository,
+      UserStateVersionRepository userStateVersionRepository,
+      MeterRegistry meterRegistry) {
+    this.userCalendarRepository = userCalendarRepository;
+    this.userStateVersionRepository = userStateVersionRepository;
+    this.drift = meterRegistry.counter("calendar.membership.drift");
+    Gauge.builder("calendar.membership.size", this, MembershipIndex::size).register(meterRegistry);
+    Gauge.builder("calendar.membership.staleness", this, index -> index.staleness().toSeconds())
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Find the user calendar of a user and calendar in the index.
+   *
+   * @param calendarId the calendar ID
+   * @param userId the user ID
+   * @return the user calendar, or empty if it is not in the index or the index is stopped
+   */
+  public Optional<UserCalendar> find(UUID calendarId, UUID userId) {
+    if (!serving) {
+      return Optional.empty();
+    }
+    Map<UUID, UserCalendar> users = userCalendars.get(calendarId);
+    return Optional.ofNullable(users == null ? null : users.get(userId));
+  }
+
+  /**
+   * Add or replace a user calendar in the index.
+   *
+   * @param userCalendar the committed user calendar
+   * @param offset the offset of the user state event that added it, or -1 if it is unknown
+   */
+  public synchronized void put(UserCalendar userCalendar, long offset) {
+    appliedOffsets.put(userCalendar.getUserId(), offset);
+    UserCalendar previous =
+        userCalendars
+            .computeIfAbsent(userCalendar.getCalendarId(), id -> new ConcurrentHashMap<>())
+            .put(userCalendar.getUserId(), copyOf(userCalendar));
+    if (previous == null) {
+      size++;
+    }
+  }
+
+  /**
+   * Remove a user calendar from the index.
+   *
+   * @param userCalendar the deleted user calendar
+   * @param offset the offset of the user state event that removed it, or -1 if it is unknown
+   */
+  public synchronized void remove(UserCalendar userCalendar, long offset) {
+    appliedOffsets.put(userCalendar.getUserId(), offset);
+    Map<UUID, UserCalendar> users = userCalendars.get(userCalendar.getCalendarId());
+    if (users != null && users.remove(userCalendar.getUserId()) != null) {
+      size--;
+      if (users.isEmpty()) {
+        userCalendars.remove(userCalendar.getCalendarId());
+      }
+    }
+  }
+
+  /**
+   * Start serving lookups, once this instance consumes every partition of the user state topic.
+   * Changes consumed by other instances until then were not applied, so the index is loaded first.
+   * If it cannot be loaded, it stays stopped.
+   */
+  public synchronized void start() {
+    serving = load(false) >= 0;
+    log.info("Membership index {}", serving ? "started" : "could not be started");
+  }
+
+  /** Stop serving lookups, as another instance now consumes some of the changes. */
+  public void stop() {
+    if (serving) {
+      serving = false;
+      log.info("Membership index stopped");
+    }
+  }
+
+  /**
+   * Check whether the index serves lookups.
+   *
+   * @return whether the index serves lookups
+   */
+  public boolean isServing() {
+    return serving;
+  }
+
+  /**
+   * Reload the index from the database and count the user calendars that differed. Changes applied
+   * while the index is reloaded wait for it, so none of them is lost. Nothing is reloaded while the
+   * index is stopped.
+   *
+   * @return the number of user calendars that were missing, extra or changed
+   */
+  @Scheduled(
+      fixedDelayString = "${calendar.membership.check-interval:PT5M}",
+      initialDelayString = "${calendar.membership.check-interval:PT5M}")
+  public synchronized int reload() {
+    return serving ? Math.max(load(true), 0) : 0;
+  }
+
+  /**
+   * Load the index from the database.
+   *
+   * @param countDrift whether to count the user calendars that differed from the index
+   * @return the number of user calendars that differed, or -1 if the index could not be loaded
+   */
+  private int load(boolean countDrift) {
+    Map<UUID, Map<UUID, UserCalendar>> reloaded = new ConcurrentHashMap<>();
+    Map<UUID, Long> versionOffsets = new HashMap<>();
+    int count = 0;
+    try {
+      for (UserCalendar userCalendar : userCalendarRepository.findAll()) {
+        reloaded
+            .computeIfAbsent(userCalendar.getCalendarId(), id -> new ConcurrentHashMap<>())
+            .put(userCalendar.getUserId(), copyOf(userCalendar));
+        count++;
+      }
+      // Read after the user calendars, so that a change committed in between is never attributed
+      // to an older event
+      for (UserStateVersion version : userStateVersionRepository.findAll()) {
+        versionOffsets.put(version.getUserId(), version.getEventOffset());
+      }
+    } catch (DataAccessException e) {
+      log.error("Error loading user calendars into membership index: {}", e.getMessage(), e);
+      return -1;
+    }
+
+    int differences =
+        countDrift ? differences(userCalendars, reloaded, appliedOffsets, versionOffsets) : 0;
+    if (differences > 0) {
+      drift.increment(differences);
+      log.warn("Membership index differed from the database in {} user calendars", differences);
+    }
+    userCalendars = reloaded;
+    appliedOffsets = versionOffsets;
+    size = count;
+    loadedAt = System.nanoTime();
+    log.info("Loaded {} user calendars into membership index", count);
+    return differences;
+  }
+
+  /**
+   * Get the number of user calendars in the index.
+   *
+   * @return the number of user calendars
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the time since the index was last loaded from the database.
+   *
+   * @return the time since the last load
+   */
+  public Duration staleness() {
+    return Duration.ofNanos(System.nanoTime() - loadedAt);
+  }
+
+  /**
+   * Count the user calendars that differ, among the users whose last applied event in the database
+   * was applied to the index as well. The others have changes that are committed but not yet
+   * applied to the index.
+   */
+  private static int differences(
+      Map<UUID, Map<UUID, UserCalendar>> indexed,
+      Map<UUID, Map<UUID, UserCalendar>> reloaded,
+      Map<UUID, Long> appliedOffsets,
+      Map<UUID, Long> versionOffsets) {
+    int differences = 0;
+    Set<UUID> calendarIds = new HashSet<>(indexed.keySet());
+    calendarIds.addAll(reloaded.keySet());
+    for (UUID calendarId : calendarIds) {
+      Map<UUID, UserCalendar> before = indexed.getOrDefault(calendarId, Map.of());
+      Map<UUID, UserCalendar> after = reloaded.getOrDefault(calendarId, Map.of());
+      Set<UUID> userIds = new HashSet<>(before.keySet());
+      userIds.addAll(after.keySet());
+      for (UUID userId : userIds) {
+        Long versionOffset = versionOffsets.get(userId);
+        if (versionOffset != null && !versionOffset.equals(appliedOffsets.get(userId))) {
+          continue;
+        }
+        if (!before.containsKey(userId) || !before.get(userId).equals(after.get(userId))) {
+          differences++;
+        }
+      }
+    }
+    return differences;
+  }
+
+  /** Copy a user calendar, so that the index never holds an entity managed by a session. */
+  private static UserCalendar copyOf(UserCalendar userCalendar) {
+    return UserCalendar.builder()
+        .id(userCalendar.getId())
+        .calendarId(userCalendar.getCalendarId())
+        .userId(userCalendar.getUserId())
+        .build();
+  }
+}
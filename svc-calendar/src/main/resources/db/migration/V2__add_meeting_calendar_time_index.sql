@@ -0,0 +1,6 @@
+-- Composite index for conflict checks, which look up overlapping meetings by calendar_id
+-- across all user calendars of a calendar in a single query
+CREATE INDEX idx_meeting_calendar_time ON meetings(calendar_id, start_time, end_time);
+
+-- The composite index covers lookups by calendar_id alone
+DROP INDEX idx_meeting_calendar_id;
@@ -0,0 +1,30 @@
+-- btree_gist provides GiST operator classes for scalar types, needed for calendar_id WITH =
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Half-open time range of each meeting, kept in sync with start_time and end_time by the database
+ALTER TABLE meetings
+    ADD COLUMN time_range TSRANGE GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED;
+
+-- The constraint cannot be added while meetings of a calendar overlap, so fail with the number of
+-- overlapping pairs instead of the first constraint violation. They have to be resolved by hand,
+-- as only their owners can tell which meeting to move.
+DO $$
+DECLARE
+    overlapping BIGINT;
+BEGIN
+    SELECT count(*) INTO overlapping
+    FROM meetings a
+    JOIN meetings b ON a.calendar_id = b.calendar_id AND a.id < b.id
+    WHERE a.time_range && b.time_range;
+    IF overlapping > 0 THEN
+        RAISE EXCEPTION '% pairs of meetings of the same calendar overlap', overlapping
+            USING HINT = 'Resolve the overlapping meetings before adding meetings_no_overlap';
+    END IF;
+END $$;
+
+-- No two meetings of the same calendar may overlap. Meetings that only touch do not conflict.
+ALTER TABLE meetings
+    ADD CONSTRAINT meetings_no_overlap EXCLUDE USING gist (calendar_id WITH =, time_range WITH &&);
+
+-- Overlap reads filter on calendar_id, so idx_meeting_calendar_time serves them
+DROP INDEX idx_meeting_time_range;
@@ -0,0 +1,7 @@
+-- Composite index for listing the meetings of a user calendar page by page. Keyset pagination
+-- seeks to the (start_time, id) of the last meeting of the previous page instead of skipping rows
+-- with OFFSET, so every page is an index range scan of the page size.
+CREATE INDEX idx_meeting_user_calendar_start_id ON meetings(user_calendar_id, start_time, id);
+
+-- The composite index covers lookups by user_calendar_id alone
+DROP INDEX idx_meeting_user_calendar_id;
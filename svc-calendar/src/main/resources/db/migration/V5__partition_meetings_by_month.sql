@@ -0,0 +1,183 @@
+-- Partition meetings by month on start_time, so that reads bounded by start_time only visit the
+-- partitions of their range, and old months can be detached instead of deleted row by row.
+--
+-- Partitions are named meetings_pYYYY_MM. Rows outside the created partitions go to
+-- meetings_default until the partition of their month is created.
+
+-- Keep the old table aside until its rows are copied
+ALTER TABLE meetings RENAME TO meetings_unpartitioned;
+ALTER TABLE meetings_unpartitioned DROP CONSTRAINT meetings_no_overlap;
+DROP INDEX idx_meeting_calendar_time;
+DROP INDEX idx_meeting_user_calendar_start_id;
+ALTER INDEX meetings_pkey RENAME TO meetings_unpartitioned_pkey;
+
+-- The primary key of a partitioned table must include the partition key
+CREATE TABLE meetings (
+    id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    location VARCHAR(255),
+    calendar_id UUID NOT NULL,
+    user_calendar_id UUID NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    time_range TSRANGE GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED,
+    CONSTRAINT meetings_pkey PRIMARY KEY (id, start_time),
+    FOREIGN KEY (user_calendar_id) REFERENCES user_calendars(id) ON DELETE CASCADE
+) PARTITION BY RANGE (start_time);
+
+-- Indexes of the partitioned table are created on every partition
+CREATE INDEX idx_meeting_calendar_time ON meetings(calendar_id, start_time, end_time);
+CREATE INDEX idx_meeting_user_calendar_start_id ON meetings(user_calendar_id, start_time, id);
+
+-- PostgreSQL does not allow an exclusion constraint on a partitioned table unless it compares the
+-- partition key with =, so every partition gets its own meetings_no_overlap_* constraint. Names
+-- keep the meetings_no_overlap prefix, which MeetingService looks for in constraint violations.
+CREATE TABLE meetings_default PARTITION OF meetings DEFAULT;
+ALTER TABLE meetings_default
+    ADD CONSTRAINT meetings_no_overlap_default
+        EXCLUDE USING gist (calendar_id WITH =, time_range WITH &&);
+
+-- Create the partition of the month starting at month_start, unless it exists. Rows of that month
+-- that went to the default partition are moved into it. Returns whether the partition was created.
+CREATE FUNCTION create_meeting_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound TIMESTAMP := date_trunc('month', month_start);
+    upper_bound TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    suffix TEXT := to_char(date_trunc('month', month_start), 'YYYY_MM');
+    moved BOOLEAN;
+BEGIN
+    IF to_regclass('meetings_p' || suffix) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- A partition cannot be created while the default partition holds rows of its range
+    moved := EXISTS (
+        SELECT 1 FROM meetings_default
+        WHERE start_time >= lower_bound AND start_time < upper_bound);
+    IF moved THEN
+        CREATE TEMP TABLE meetings_moved ON COMMIT DROP AS
+            SELECT id, title, description, start_time, end_time, location, calendar_id,
+                   user_calendar_id, version, created_at, updated_at
+            FROM meetings_default
+            WHERE start_time >= lower_bound AND start_time < upper_bound;
+        DELETE FROM meetings_default WHERE start_time >= lower_bound AND start_time < upper_bound;
+    END IF;
+
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF meetings FOR VALUES FROM (%L) TO (%L)',
+        'meetings_p' || suffix, lower_bound, upper_bound);
+    EXECUTE format(
+        'ALTER TABLE %I ADD CONSTRAINT %I'
+            ' EXCLUDE USING gist (calendar_id WITH =, time_range WITH &&)',
+        'meetings_p' || suffix, 'meetings_no_overlap_p' || suffix);
+
+    IF moved THEN
+        INSERT INTO meetings (id, title, description, start_time, end_time, location, calendar_id,
+                              user_calendar_id, version, created_at, updated_at)
+            SELECT * FROM meetings_moved;
+        DROP TABLE meetings_moved;
+    END IF;
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Create the partitions of the current month and of the next months_ahead months. Returns the
+-- number of partitions created. Concurrent calls from several service instances are serialized.
+CREATE FUNCTION create_meeting_partitions(months_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    created INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('meeting_partitions'));
+    FOR month_start IN
+        SELECT generate_series(
+            date_trunc('month', LOCALTIMESTAMP),
+            date_trunc('month', LOCALTIMESTAMP) + make_interval(months => months_ahead),
+            INTERVAL '1 month')::DATE
+    LOOP
+        IF create_meeting_partition(month_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detach the partitions of months that start more than retention_months months before the
+-- current month. Detached partitions are kept as standalone tables with their rows and are no
+-- longer read by the service. Returns the number of partitions detached.
+CREATE FUNCTION detach_meeting_partitions(retention_months INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    detached INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('meeting_partitions'));
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'meetings'::regclass
+          AND child.relname ~ '^meetings_p\d{4}_\d{2}$'
+          AND to_date(substring(child.relname::TEXT FROM 11), 'YYYY_MM')
+              < date_trunc('month', LOCALTIMESTAMP) - make_interval(months => retention_months)
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE meetings DETACH PARTITION %I', partition_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A meeting that crosses the start of a month is stored in the partition of the month it starts
+-- in, so it can overlap meetings of the next partition without either constraint noticing. Only
+-- meetings that cross the start of a month or start within a day after it can take part in such
+-- an overlap, as meetings last at most 8 hours. Those meetings are checked against all partitions
+-- under a lock per calendar, so concurrent writers near the same boundary are serialized.
+CREATE FUNCTION check_meeting_overlap_across_partitions() RETURNS TRIGGER AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', NEW.start_time);
+BEGIN
+    IF NEW.end_time <= month_start + INTERVAL '1 month'
+       AND NEW.start_time >= month_start + INTERVAL '1 day' THEN
+        RETURN NEW;
+    END IF;
+
+    PERFORM pg_advisory_xact_lock(hashtext('meetings_no_overlap'), hashtext(NEW.calendar_id::TEXT));
+    IF EXISTS (
+        SELECT 1 FROM meetings
+        WHERE calendar_id = NEW.calendar_id
+          AND id <> NEW.id
+          AND start_time >= NEW.start_time - INTERVAL '1 day'
+          AND start_time < NEW.end_time
+          AND time_range && tsrange(NEW.start_time, NEW.end_time, '[)')) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "meetings_no_overlap"'
+            USING ERRCODE = 'exclusion_violation', CONSTRAINT = 'meetings_no_overlap';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER meetings_no_overlap_across_partitions
+    BEFORE INSERT OR UPDATE OF calendar_id, start_time, end_time ON meetings
+    FOR EACH ROW EXECUTE FUNCTION check_meeting_overlap_across_partitions();
+
+-- Create the partitions of every month from the oldest meeting to three months ahead
+SELECT create_meeting_partition(month_start::DATE)
+FROM generate_series(
+    date_trunc('month', LEAST(
+        (SELECT min(start_time) FROM meetings_unpartitioned), LOCALTIMESTAMP)),
+    date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months',
+    INTERVAL '1 month') AS month_start;
+
+INSERT INTO meetings (id, title, description, start_time, end_time, location, calendar_id,
+                      user_calendar_id, version, created_at, updated_at)
+    SELECT id, title, description, start_time, end_time, location, calendar_id,
+           user_calendar_id, version, created_at, updated_at
+    FROM meetings_unpartitioned;
+
+DROP TABLE meetings_unpartitioned;
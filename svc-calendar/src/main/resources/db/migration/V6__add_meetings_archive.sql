@@ -0,0 +1,22 @@
+-- Archive of meetings that ended long ago, filled by the archival job from the meetings table.
+-- Rows are written once and never updated, so pages are packed full, and descriptions are
+-- compressed with lz4. Meetings and their archived rows are removed with their user calendar.
+CREATE TABLE meetings_archive (
+    id UUID PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT COMPRESSION lz4,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    location VARCHAR(255),
+    calendar_id UUID NOT NULL,
+    user_calendar_id UUID NOT NULL,
+    version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL,
+    FOREIGN KEY (user_calendar_id) REFERENCES user_calendars(id) ON DELETE CASCADE
+) WITH (fillfactor = 100);
+
+-- Historic listings read the archive by user calendar, ordered by start time and ID
+CREATE INDEX idx_meeting_archive_user_calendar_start_id
+    ON meetings_archive(user_calendar_id, start_time, id);
@@ -0,0 +1,8 @@
+-- Last user state event applied per user. Events that are older than it, or the same event
+-- delivered again, are dropped before they touch user_calendars. Rows outlive deleted users, so
+-- that late events cannot bring back the calendars of a deleted user.
+CREATE TABLE user_state_versions (
+    user_id UUID PRIMARY KEY,
+    event_timestamp BIGINT NOT NULL,
+    event_hash INTEGER NOT NULL
+);
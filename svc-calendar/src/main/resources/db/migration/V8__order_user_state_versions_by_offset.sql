@@ -0,0 +1,6 @@
+-- Events of a user with the same timestamp are ordered by their offset in the user state topic,
+-- instead of being told apart by a hash of their content, so that a redelivered older event with
+-- the same timestamp cannot replace a later one. Existing rows have no known offset, so any event
+-- with the same timestamp is applied once more after them.
+ALTER TABLE user_state_versions ADD COLUMN event_offset BIGINT NOT NULL DEFAULT -1;
+ALTER TABLE user_state_versions DROP COLUMN event_hash;
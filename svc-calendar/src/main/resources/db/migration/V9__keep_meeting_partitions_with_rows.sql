@@ -0,0 +1,31 @@
+-- Partitions of old months are only detached once they are empty, that is once their meetings
+-- have been moved to meetings_archive. A partition that still holds meetings, for instance because
+-- archiving is disabled or behind, stays attached, so its meetings remain visible to every read.
+CREATE OR REPLACE FUNCTION detach_meeting_partitions(retention_months INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    has_rows BOOLEAN;
+    detached INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('meeting_partitions'));
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'meetings'::regclass
+          AND child.relname ~ '^meetings_p\d{4}_\d{2}$'
+          AND to_date(substring(child.relname::TEXT FROM 11), 'YYYY_MM')
+              < date_trunc('month', LOCALTIMESTAMP) - make_interval(months => retention_months)
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+        IF has_rows THEN
+            RAISE NOTICE 'Keeping meeting partition % as it still holds meetings', partition_name;
+            CONTINUE;
+        END IF;
+        EXECUTE format('ALTER TABLE meetings DETACH PARTITION %I', partition_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
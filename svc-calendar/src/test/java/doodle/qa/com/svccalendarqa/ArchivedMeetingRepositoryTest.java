@@ -0,0 +1,106 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import doodle.qa.com.svccalendarqa.entity.ArchivedMeeting;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.ArchivedMeetingRepository;
+import doodle.qa.com.svccalendarqa.repository.MeetingPageRow;
+import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Unit tests for the ArchivedMeetingRepository. */
+@DataJpaTest
+@ActiveProfiles("test")
+class ArchivedMeetingRepositoryTest {
+
+  @Autowired private ArchivedMeetingRepository archivedMeetingRepository;
+  @Autowired private MeetingRepository meetingRepository;
+  @Autowired private UserCalendarRepository userCalendarRepository;
+
+  @Test
+  @DisplayName("Should page meetings of a user calendar and time range across meetings and archive")
+  void findMeetingPageWithArchive_ShouldPageBothTablesInStartOrder() {
+    // Given
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        userCalendarRepository.save(
+            TestDataFactory.createUserCalendar(null, calendarId, UUID.randomUUID()));
+    UUID userCalendarId = userCalendar.getId();
+    LocalDateTime from = LocalDateTime.now().minusYears(1).truncatedTo(ChronoUnit.MINUTES);
+    archivedMeetingRepository.save(
+        archivedMeeting("Third", from.plusHours(3), userCalendarId, calendarId));
+    archivedMeetingRepository.save(
+        archivedMeeting("First", from.plusHours(1), userCalendarId, calendarId));
+    archivedMeetingRepository.save(
+        archivedMeeting("Later", from.plusDays(8), userCalendarId, calendarId));
+    archivedMeetingRepository.save(
+        archivedMeeting("Other", from.plusHours(2), UUID.randomUUID(), calendarId));
+    meetingRepository.save(
+        TestDataFactory.createMeeting(
+            null,
+            "Second",
+            null,
+            from.plusHours(2),
+            from.plusHours(2).plusMinutes(30),
+            null,
+            userCalendar,
+            calendarId));
+    meetingRepository.saveAndFlush(
+        TestDataFactory.createMeeting(
+            null,
+            "Fourth",
+            null,
+            from.plusHours(4),
+            from.plusHours(4).plusMinutes(30),
+            null,
+            userCalendar,
+            calendarId));
+
+    // When
+    List<MeetingPageRow> first =
+        archivedMeetingRepository.findMeetingPageWithArchive(
+            userCalendarId, from, from.plusDays(7), 3, 0);
+    List<MeetingPageRow> second =
+        archivedMeetingRepository.findMeetingPageWithArchive(
+            userCalendarId, from, from.plusDays(7), 3, 3);
+
+    // Then
+    assertThat(first)
+        .extracting(MeetingPageRow::getTitle)
+        .containsExactly("First", "Second", "Third");
+    assertThat(second).extracting(MeetingPageRow::getTitle).containsExactly("Fourth");
+    assertThat(first).extracting(MeetingPageRow::getTotal).containsOnly(4L);
+    assertThat(first.get(0).getCalendarId()).isEqualTo(calendarId.toString());
+    assertThat(
+            archivedMeetingRepository.countMeetingsWithArchive(
+                userCalendarId, from, from.plusDays(7)))
+        .isEqualTo(4);
+  }
+
+  private static ArchivedMeeting archivedMeeting(
+      String title, LocalDateTime startTime, UUID userCalendarId, UUID calendarId) {
+    LocalDateTime now = LocalDateTime.now();
+    return ArchivedMeeting.builder()
+        .id(UUID.randomUUID())
+        .title(title)
+        .startTime(startTime)
+        .endTime(startTime.plusMinutes(30))
+        .userCalendarId(userCalendarId)
+        .calendarId(calendarId)
+        .version(0L)
+        .createdAt(now)
+        .updatedAt(now)
+        .archivedAt(now)
+        .build();
+  }
+}
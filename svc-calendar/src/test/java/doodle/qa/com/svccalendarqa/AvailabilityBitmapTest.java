@@ -0,0 +1,63 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import doodle.qa.com.svccalendarqa.service.AvailabilityBitmap;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the AvailabilityBitmap. These tests verify that busy intervals are rounded
+ * outwards to whole minutes and clipped to the range.
+ */
+class AvailabilityBitmapTest {
+
+  private LocalDateTime from;
+  private AvailabilityBitmap bitmap;
+
+  @BeforeEach
+  void setUp() {
+    from = LocalDateTime.of(2030, 1, 7, 9, 0);
+    bitmap = new AvailabilityBitmap(from, from.plusHours(1));
+  }
+
+  @Test
+  @DisplayName("Should mark every minute a busy interval touches")
+  void markBusy_WhenPartialMinutes_ShouldRoundOutwards() {
+    // When
+    bitmap.markBusy(from.plusMinutes(10).plusSeconds(30), from.plusMinutes(20).plusSeconds(1));
+
+    // Then
+    assertThat(bitmap.nextBusy(0)).isEqualTo(10);
+    assertThat(bitmap.nextFree(10)).isEqualTo(21);
+  }
+
+  @Test
+  @DisplayName("Should ignore the parts of an interval outside the range")
+  void markBusy_WhenOutsideRange_ShouldClipToRange() {
+    // When
+    bitmap.markBusy(from.minusHours(1), from.plusMinutes(5));
+    bitmap.markBusy(from.plusMinutes(50), from.plusHours(2));
+    bitmap.markBusy(from.plusHours(3), from.plusHours(4));
+
+    // Then
+    assertThat(bitmap.minutes()).isEqualTo(60);
+    assertThat(bitmap.nextFree(0)).isEqualTo(5);
+    assertThat(bitmap.nextBusy(5)).isEqualTo(50);
+    assertThat(bitmap.nextFree(50)).isEqualTo(60);
+  }
+
+  @Test
+  @DisplayName("Should not count a trailing partial minute as part of the range")
+  void minutes_WhenRangeEndsMidMinute_ShouldDropPartialMinute() {
+    // Given
+    AvailabilityBitmap partial = new AvailabilityBitmap(from, from.plusMinutes(30).plusSeconds(59));
+
+    // When/Then
+    assertThat(partial.minutes()).isEqualTo(30);
+    assertThat(partial.nextBusy(0)).isEqualTo(30);
+    assertThat(partial.timeOf(30)).isEqualTo(from.plusMinutes(30));
+  }
+}
@@ -0,0 +1,296 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.entity.Meeting;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
+import doodle.qa.com.svccalendarqa.service.BusyInterval;
+import doodle.qa.com.svccalendarqa.service.BusyIntervalIndex;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for the BusyIntervalIndex. These tests verify overlap lookups and that the index
+ * follows meeting writes without reloading from the repository.
+ */
+@ExtendWith(MockitoExtension.class)
+class BusyIntervalIndexTest {
+
+  @Mock private MeetingRepository meetingRepository;
+
+  private BusyIntervalIndex busyIntervalIndex;
+  private UUID calendarId;
+  private UserCalendar userCalendar;
+  private LocalDateTime now;
+
+  @BeforeEach
+  void setUp() {
+    busyIntervalIndex = new BusyIntervalIndex(meetingRepository);
+    calendarId = UUID.randomUUID();
+    userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, UUID.randomUUID());
+    now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+  }
+
+  @Test
+  @DisplayName("Should return only meetings that overlap the range, including long-running ones")
+  void findOverlapping_ShouldReturnOverlappingMeetings() {
+    // Given
+    Meeting before = meeting(now.minusHours(3), now.minusHours(2));
+    Meeting longRunning = meeting(now.minusHours(4), now.plusMinutes(30));
+    Meeting inside = meeting(now.plusMinutes(10), now.plusMinutes(20));
+    Meeting touchingEnd = meeting(now.plusHours(1), now.plusHours(2));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(
+            TestDataFactory.createMeetingIntervals(touchingEnd, inside, before, longRunning));
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), now, now.plusHours(1));
+
+    // Then
+    assertThat(result)
+        .containsExactly(
+            new BusyInterval(longRunning.getStartTime(), longRunning.getEndTime()),
+            new BusyInterval(inside.getStartTime(), inside.getEndTime()));
+  }
+
+  @Test
+  @DisplayName("Should only return meetings of the requested user calendar")
+  void findOverlapping_ShouldFilterByUserCalendar() {
+    // Given
+    UserCalendar otherUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, UUID.randomUUID());
+    Meeting own = meeting(now, now.plusMinutes(30));
+    Meeting other =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Other",
+            null,
+            now.plusMinutes(30),
+            now.plusHours(1),
+            null,
+            otherUserCalendar,
+            calendarId);
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(own, other));
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), now, now.plusHours(1));
+
+    // Then
+    assertThat(result).containsExactly(new BusyInterval(own.getStartTime(), own.getEndTime()));
+  }
+
+  @Test
+  @DisplayName("Should apply puts and removes to a loaded calendar without reloading it")
+  void putAndRemove_ShouldUpdateLoadedCalendar() {
+    // Given
+    Meeting meeting = meeting(now, now.plusHours(1));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(meeting));
+    assertThat(isBusy(now, now.plusHours(1))).isTrue();
+
+    // When
+    Meeting moved = meeting(now.plusHours(3), now.plusHours(4));
+    moved.setId(meeting.getId());
+    busyIntervalIndex.put(moved);
+
+    // Then
+    assertThat(isBusy(now, now.plusHours(1))).isFalse();
+    assertThat(isBusy(now.plusHours(3), now.plusHours(4))).isTrue();
+
+    // When
+    busyIntervalIndex.remove(calendarId, meeting.getId());
+
+    // Then
+    assertThat(isBusy(now.plusHours(3), now.plusHours(4))).isFalse();
+    verify(meetingRepository, times(1))
+        .findIntervalsOverlapping(eq(calendarId), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should reload a calendar after it has been invalidated")
+  void invalidate_ShouldReloadCalendar() {
+    // Given
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(List.of());
+    isBusy(now, now.plusHours(1));
+
+    // When
+    busyIntervalIndex.invalidate(calendarId);
+    isBusy(now, now.plusHours(1));
+
+    // Then
+    verify(meetingRepository, times(2))
+        .findIntervalsOverlapping(eq(calendarId), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should load missing calendars of several user calendars in one query")
+  void findOverlapping_WhenSeveralCalendars_ShouldLoadMissingOnesTogether() {
+    // Given
+    UUID otherCalendarId = UUID.randomUUID();
+    UserCalendar otherUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), otherCalendarId, UUID.randomUUID());
+    Meeting own = meeting(now, now.plusMinutes(30));
+    Meeting other =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Other",
+            null,
+            now.plusMinutes(30),
+            now.plusHours(1),
+            null,
+            otherUserCalendar,
+            otherCalendarId);
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(own));
+    when(meetingRepository.findIntervalsByCalendarIdInOverlapping(
+            eq(Set.of(otherCalendarId)), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(other));
+    assertThat(isBusy(now, now.plusHours(1))).isTrue();
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(
+            List.of(userCalendar, otherUserCalendar), now, now.plusHours(1));
+
+    // Then
+    assertThat(result)
+        .containsExactlyInAnyOrder(
+            new BusyInterval(own.getStartTime(), own.getEndTime()),
+            new BusyInterval(other.getStartTime(), other.getEndTime()));
+    assertThat(busyIntervalIndex.size()).isEqualTo(2);
+    verify(meetingRepository, times(1))
+        .findIntervalsOverlapping(eq(calendarId), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should apply writes committed while a calendar loads on top of the loaded snapshot")
+  void put_WhileCalendarLoads_ShouldBeAppliedToLoadedSnapshot() {
+    // Given
+    Meeting loaded = meeting(now, now.plusHours(1));
+    Meeting committedDuringLoad = meeting(now.plusHours(2), now.plusHours(3));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              busyIntervalIndex.put(committedDuringLoad);
+              return TestDataFactory.createMeetingIntervals(loaded);
+            });
+
+    // When
+    boolean busy = isBusy(now.plusHours(2), now.plusHours(3));
+
+    // Then
+    assertThat(busy).isTrue();
+    assertThat(isBusy(now, now.plusHours(1))).isTrue();
+    verify(meetingRepository, times(1))
+        .findIntervalsOverlapping(eq(calendarId), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should only load meetings of the window and read older ranges uncached")
+  void findOverlapping_WhenRangeStartsBeforeLookback_ShouldReadRangeFromRepository() {
+    // Given
+    LocalDateTime from = now.minusDays(2);
+    LocalDateTime to = from.plusHours(2);
+    Meeting old = meeting(from, from.plusHours(1));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(List.of());
+    when(meetingRepository.findIntervalsOverlapping(calendarId, from, to, from.minusHours(8)))
+        .thenReturn(TestDataFactory.createMeetingIntervals(old));
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), from, to);
+
+    // Then
+    assertThat(result).containsExactly(new BusyInterval(old.getStartTime(), old.getEndTime()));
+    ArgumentCaptor<LocalDateTime> windowStart = ArgumentCaptor.forClass(LocalDateTime.class);
+    ArgumentCaptor<LocalDateTime> windowEnd = ArgumentCaptor.forClass(LocalDateTime.class);
+    ArgumentCaptor<LocalDateTime> earliestStart = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(meetingRepository, times(2))
+        .findIntervalsOverlapping(
+            eq(calendarId), windowStart.capture(), windowEnd.capture(), earliestStart.capture());
+    assertThat(windowStart.getAllValues().get(0)).isAfter(from);
+    assertThat(windowEnd.getAllValues().get(0)).isAfter(now.plusDays(13));
+    assertThat(earliestStart.getAllValues().get(0))
+        .isEqualTo(windowStart.getAllValues().get(0).minusHours(8));
+    assertThat(busyIntervalIndex.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should read ranges that end after the horizon uncached")
+  void findOverlapping_WhenRangeEndsAfterHorizon_ShouldReadRangeFromRepository() {
+    // Given
+    LocalDateTime from = now.plusDays(20);
+    LocalDateTime to = from.plusDays(1);
+    Meeting later = meeting(from.plusHours(1), from.plusHours(2));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(List.of());
+    when(meetingRepository.findIntervalsOverlapping(calendarId, from, to, from.minusHours(8)))
+        .thenReturn(TestDataFactory.createMeetingIntervals(later));
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), from, to);
+
+    // Then
+    assertThat(result).containsExactly(new BusyInterval(later.getStartTime(), later.getEndTime()));
+    verify(meetingRepository).findIntervalsOverlapping(calendarId, from, to, from.minusHours(8));
+  }
+
+  @Test
+  @DisplayName("Should apply writes committed while several calendars load together")
+  void put_WhileSeveralCalendarsLoad_ShouldBeAppliedToLoadedSnapshots() {
+    // Given
+    UUID otherCalendarId = UUID.randomUUID();
+    UserCalendar otherUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), otherCalendarId, UUID.randomUUID());
+    Meeting committedDuringLoad = meeting(now, now.plusMinutes(30));
+    when(meetingRepository.findIntervalsByCalendarIdInOverlapping(
+            eq(Set.of(calendarId, otherCalendarId)), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              busyIntervalIndex.put(committedDuringLoad);
+              return List.of();
+            });
+
+    // When
+    List<BusyInterval> result =
+        busyIntervalIndex.findOverlapping(
+            List.of(userCalendar, otherUserCalendar), now, now.plusHours(1));
+
+    // Then
+    assertThat(result)
+        .containsExactly(
+            new BusyInterval(committedDuringLoad.getStartTime(), committedDuringLoad.getEndTime()));
+    assertThat(isBusy(now, now.plusHours(1))).isTrue();
+    verify(meetingRepository, never()).findIntervalsOverlapping(any(), any(), any(), any());
+  }
+
+  private boolean isBusy(LocalDateTime from, LocalDateTime to) {
+    return !busyIntervalIndex.findOverlapping(calendarId, userCalendar.getId(), from, to).isEmpty();
+  }
+
+  private Meeting meeting(LocalDateTime startTime, LocalDateTime endTime) {
+    return TestDataFactory.createMeeting(
+        UUID.randomUUID(), "Meeting", null, startTime, endTime, null, userCalendar, calendarId);
+  }
+}
@@ -0,0 +1,142 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import doodle.qa.com.svccalendarqa.entity.Meeting;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.service.BusyIntervalIndex;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Benchmark for the conflict checks. Verifies that writing a meeting costs a single statement, as
+ * the {@code meetings_no_overlap} constraint checks it on insert, and that busy lookups of a loaded
+ * calendar cost no statement, however many users share the calendar. The median latency per
+ * subscriber count is logged so that the numbers can be compared across runs.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Slf4j
+class ConflictQueryScalingTest {
+
+  private static final int MEETINGS_PER_SUBSCRIBER = 20;
+  private static final int ITERATIONS = 200;
+
+  @Autowired private MeetingRepository meetingRepository;
+  @Autowired private UserCalendarRepository userCalendarRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @ParameterizedTest(name = "{0} subscribers")
+  @ValueSource(ints = {1, 10, 100, 250})
+  @DisplayName("Should write a meeting with one statement regardless of subscriber count")
+  void saveAndFlush_ShouldUseOneStatementPerWrite(int subscribers) {
+    // Given
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    List<Meeting> meetings = subscriberMeetings(calendarId, subscribers, start);
+    UserCalendar userCalendar = meetings.get(0).getUserCalendar();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // When
+    long[] nanos = new long[ITERATIONS];
+    for (int i = 0; i < ITERATIONS; i++) {
+      LocalDateTime meetingStart = start.minusHours(i + 1L);
+      Meeting meeting =
+          TestDataFactory.createMeeting(
+              null,
+              "New Meeting",
+              null,
+              meetingStart,
+              meetingStart.plusMinutes(30),
+              null,
+              userCalendar,
+              calendarId);
+      long begin = System.nanoTime();
+      meetingRepository.saveAndFlush(meeting);
+      nanos[i] = System.nanoTime() - begin;
+    }
+
+    // Then
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(ITERATIONS);
+    Arrays.sort(nanos);
+    log.info(
+        "Meeting write with {} subscribers ({} meetings): median {} us",
+        subscribers,
+        meetings.size(),
+        nanos[ITERATIONS / 2] / 1_000);
+  }
+
+  @ParameterizedTest(name = "{0} subscribers")
+  @ValueSource(ints = {1, 10, 100, 250})
+  @DisplayName("Should serve busy lookups of a loaded calendar without a statement")
+  void findOverlapping_ShouldLoadCalendarOnce(int subscribers) {
+    // Given
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    List<Meeting> meetings = subscriberMeetings(calendarId, subscribers, start);
+    UUID userCalendarId = meetings.get(0).getUserCalendar().getId();
+    BusyIntervalIndex busyIntervalIndex = new BusyIntervalIndex(meetingRepository);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // When
+    long[] nanos = new long[ITERATIONS];
+    for (int i = 0; i < ITERATIONS; i++) {
+      long begin = System.nanoTime();
+      busyIntervalIndex.findOverlapping(calendarId, userCalendarId, start, start.plusHours(8));
+      nanos[i] = System.nanoTime() - begin;
+    }
+
+    // Then
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    Arrays.sort(nanos);
+    log.info(
+        "Busy lookup with {} subscribers ({} meetings): median {} us",
+        subscribers,
+        meetings.size(),
+        nanos[ITERATIONS / 2] / 1_000);
+  }
+
+  /** Save a calendar shared by the given number of users, each with back-to-back meetings. */
+  private List<Meeting> subscriberMeetings(UUID calendarId, int subscribers, LocalDateTime start) {
+    List<Meeting> meetings = new ArrayList<>();
+    for (int i = 0; i < subscribers; i++) {
+      UserCalendar userCalendar =
+          userCalendarRepository.save(
+              TestDataFactory.createUserCalendar(null, calendarId, UUID.randomUUID()));
+      for (int j = 0; j < MEETINGS_PER_SUBSCRIBER; j++) {
+        LocalDateTime meetingStart = start.plusHours((long) i * MEETINGS_PER_SUBSCRIBER + j);
+        meetings.add(
+            TestDataFactory.createMeeting(
+                null,
+                "Meeting",
+                null,
+                meetingStart,
+                meetingStart.plusMinutes(30),
+                null,
+                userCalendar,
+                calendarId));
+      }
+    }
+    return meetingRepository.saveAllAndFlush(meetings);
+  }
+}
@@ -0,0 +1,271 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import com.example.svcuser.avro.EventType;
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.dto.DeadLetterReplayDto;
+import doodle.qa.com.svccalendarqa.exception.IllegalArgumentException;
+import doodle.qa.com.svccalendarqa.kafka.DeadLetterReplayer;
+import doodle.qa.com.svccalendarqa.kafka.UserStateConsumer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+/**
+ * Unit tests for the DeadLetterReplayer. These tests verify that dead-lettered user state events
+ * are replayed in the background up to the end of the topic when the replay started, that their
+ * outcomes are counted, and that events failing again are dead-lettered again.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+  private static final String DLT = "user-state.calendar.DLT";
+  private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+  @Mock private ConsumerFactory<String, Object> consumerFactory;
+  @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+  @Mock private UserStateConsumer userStateConsumer;
+
+  private MockConsumer<String, Object> consumer;
+  private SimpleMeterRegistry meterRegistry;
+  private DeadLetterReplayer deadLetterReplayer;
+
+  @BeforeEach
+  void setUp() {
+    consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+    consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+    consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    meterRegistry = new SimpleMeterRegistry();
+    deadLetterReplayer =
+        new DeadLetterReplayer(
+            consumerFactory, kafkaTemplate, userStateConsumer, Runnable::run, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should replay the events dead-lettered before the replay and count their outcomes")
+  void replay_ShouldApplyEventsUpToEndOffset() {
+    // Given
+    UserState applied = userState(EventType.CREATED);
+    UserState skipped = userState(EventType.UPDATED);
+    UserState later = userState(EventType.DELETED);
+    givenDeadLetters(2L, applied, skipped, later);
+    when(userStateConsumer.applyUserState(eq(applied), anyLong())).thenReturn(true);
+    when(userStateConsumer.applyUserState(eq(skipped), anyLong())).thenReturn(false);
+
+    // When
+    deadLetterReplayer.start(100, 0);
+
+    // Then
+    DeadLetterReplayDto result = deadLetterReplayer.status();
+    assertThat(result.getApplied()).isEqualTo(1);
+    assertThat(result.getSkipped()).isEqualTo(1);
+    assertThat(result.getFailed()).isZero();
+    assertThat(result.isRunning()).isFalse();
+    assertThat(result.isCompleted()).isTrue();
+    verify(userStateConsumer, never()).applyUserState(eq(later), anyLong());
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2L)));
+    verifyNoInteractions(kafkaTemplate);
+    assertThat(replayedEvents("applied")).isEqualTo(1.0);
+    assertThat(replayedEvents("skipped")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should publish events that fail again back to the dead-letter topic")
+  void replay_WhenEventFailsAgain_ShouldDeadLetterItAgain() {
+    // Given
+    UserState userState = userState(EventType.CREATED);
+    givenDeadLetters(1L, userState);
+    when(userStateConsumer.applyUserState(eq(userState), anyLong()))
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+    when(kafkaTemplate.send(any(ProducerRecord.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // When
+    deadLetterReplayer.start(100, 0);
+
+    // Then
+    assertThat(deadLetterReplayer.status().getFailed()).isEqualTo(1);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<ProducerRecord<String, Object>> captor =
+        ArgumentCaptor.forClass(ProducerRecord.class);
+    verify(kafkaTemplate).send(captor.capture());
+    assertThat(captor.getValue().topic()).isEqualTo(DLT);
+    assertThat(captor.getValue().value()).isEqualTo(userState);
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1L)));
+    assertThat(replayedEvents("failed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should stop at the maximum number of events and leave the rest for the next replay")
+  void replay_WhenMaxRecordsReached_ShouldNotComplete() {
+    // Given
+    UserState first = userState(EventType.CREATED);
+    UserState second = userState(EventType.UPDATED);
+    UserState third = userState(EventType.DELETED);
+    givenDeadLetters(3L, first, second, third);
+    when(userStateConsumer.applyUserState(any(UserState.class), anyLong())).thenReturn(true);
+
+    // When
+    deadLetterReplayer.start(2, 0);
+
+    // Then
+    DeadLetterReplayDto result = deadLetterReplayer.status();
+    assertThat(result.getApplied()).isEqualTo(2);
+    assertThat(result.isCompleted()).isFalse();
+    verify(userStateConsumer, never()).applyUserState(eq(third), anyLong());
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2L)));
+  }
+
+  @Test
+  @DisplayName("Should count events that cannot be deserialized as failed without publishing them")
+  void replay_WhenEventUnreadable_ShouldCountItAsFailed() {
+    // Given
+    when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class)))
+        .thenReturn(consumer);
+    consumer.updateEndOffsets(Map.of(PARTITION, 1L));
+    RecordHeaders headers = new RecordHeaders();
+    headers.add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+    consumer.schedulePollTask(
+        () ->
+            consumer.addRecord(
+                new ConsumerRecord<>(
+                    DLT,
+                    0,
+                    0L,
+                    0L,
+                    TimestampType.CREATE_TIME,
+                    0,
+                    0,
+                    "user",
+                    null,
+                    headers,
+                    Optional.empty())));
+
+    // When
+    deadLetterReplayer.start(100, 0);
+
+    // Then
+    assertThat(deadLetterReplayer.status().getFailed()).isEqualTo(1);
+    verifyNoInteractions(userStateConsumer, kafkaTemplate);
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1L)));
+    assertThat(replayedEvents("failed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should run the replay in the background and reject another one meanwhile")
+  void start_WhenReplayRunning_ShouldThrowException() throws Exception {
+    // Given
+    UserState userState = userState(EventType.CREATED);
+    givenDeadLetters(1L, userState);
+    CountDownLatch applying = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(userStateConsumer.applyUserState(eq(userState), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              applying.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return true;
+            });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    deadLetterReplayer =
+        new DeadLetterReplayer(
+            consumerFactory, kafkaTemplate, userStateConsumer, executor, meterRegistry);
+
+    try {
+      assertThat(deadLetterReplayer.start(100, 0).isRunning()).isTrue();
+      assertThat(applying.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // When/Then
+      assertThrows(IllegalArgumentException.class, () -> deadLetterReplayer.start(100, 0));
+      assertThat(deadLetterReplayer.status().isRunning()).isTrue();
+      release.countDown();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+      DeadLetterReplayDto result = deadLetterReplayer.status();
+      assertThat(result.isRunning()).isFalse();
+      assertThat(result.getApplied()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Should report the error that stopped a replay")
+  void start_WhenReplayFails_ShouldReportError() {
+    // Given
+    when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class)))
+        .thenThrow(new IllegalStateException("Broker unavailable"));
+
+    // When
+    deadLetterReplayer.start(100, 0);
+
+    // Then
+    DeadLetterReplayDto result = deadLetterReplayer.status();
+    assertThat(result.isRunning()).isFalse();
+    assertThat(result.isCompleted()).isFalse();
+    assertThat(result.getError()).isEqualTo("Broker unavailable");
+  }
+
+  private void givenDeadLetters(long endOffset, UserState... userStates) {
+    when(consumerFactory.createConsumer(anyString(), isNull(), isNull(), any(Properties.class)))
+        .thenReturn(consumer);
+    consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+    // Records can only be added once the replay has assigned the partition
+    consumer.schedulePollTask(
+        () -> {
+          for (int offset = 0; offset < userStates.length; offset++) {
+            UserState userState = userStates[offset];
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, offset, userState.getId(), userState));
+          }
+        });
+  }
+
+  private double replayedEvents(String outcome) {
+    return meterRegistry.get("user-state.dlt.replayed").tag("outcome", outcome).counter().count();
+  }
+
+  private static UserState userState(EventType eventType) {
+    return UserState.newBuilder()
+        .setId(UUID.randomUUID().toString())
+        .setName("Test User")
+        .setEmail("test@example.com")
+        .setCalendarIds(List.of(UUID.randomUUID().toString()))
+        .setEventType(eventType)
+        .setTimestamp(System.currentTimeMillis())
+        .build();
+  }
+}
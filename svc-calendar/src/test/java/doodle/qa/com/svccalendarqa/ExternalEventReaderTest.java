@@ -0,0 +1,79 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import doodle.qa.com.svccalendarqa.client.ExternalEvent;
+import doodle.qa.com.svccalendarqa.client.ExternalEventReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ExternalEventReader. These tests verify that provider events are decoded into
+ * intervals and that unknown fields are skipped.
+ */
+class ExternalEventReaderTest {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  @Test
+  @DisplayName("Should read start and end times and skip all other fields")
+  void read_ShouldReadIntervalsAndSkipOtherFields() throws IOException {
+    // Given
+    String json =
+        """
+        [
+          {"id": "1", "title": "Standup", "startTime": "2030-01-07T09:00:00",
+           "endTime": "2030-01-07T09:15:00", "tags": ["daily", {"nested": true}]},
+          {"endTime": "2030-01-07T11:00:00", "location": null,
+           "startTime": "2030-01-07T10:00:00", "attendees": {"count": 3}}
+        ]
+        """;
+
+    // When
+    List<ExternalEvent> events = read(json);
+
+    // Then
+    assertThat(events)
+        .containsExactly(
+            new ExternalEvent(
+                LocalDateTime.of(2030, 1, 7, 9, 0), LocalDateTime.of(2030, 1, 7, 9, 15)),
+            new ExternalEvent(
+                LocalDateTime.of(2030, 1, 7, 10, 0), LocalDateTime.of(2030, 1, 7, 11, 0)));
+  }
+
+  @Test
+  @DisplayName("Should return no events for an empty array")
+  void read_WhenEmptyArray_ShouldReturnNoEvents() throws IOException {
+    // When/Then
+    assertThat(read("[]")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should reject events without an end time")
+  void read_WhenEndTimeMissing_ShouldThrowJsonParseException() {
+    // When/Then
+    assertThatThrownBy(() -> read("[{\"startTime\": \"2030-01-07T09:00:00\"}]"))
+        .isInstanceOf(JsonParseException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject a response that is not an array")
+  void read_WhenNotAnArray_ShouldThrowJsonParseException() {
+    // When/Then
+    assertThatThrownBy(() -> read("{\"error\": \"Not found\"}"))
+        .isInstanceOf(JsonParseException.class);
+  }
+
+  private List<ExternalEvent> read(String json) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(json)) {
+      return ExternalEventReader.read(parser);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
+import doodle.qa.com.svccalendarqa.service.BusyInterval;
+import doodle.qa.com.svccalendarqa.service.FreeSlots;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for FreeSlots. These tests verify slot counts and that pages can start anywhere in the
+ * range, including in the middle of a gap.
+ */
+class FreeSlotsTest {
+
+  private static final Duration THIRTY_MINUTES = Duration.ofMinutes(30);
+
+  private LocalDateTime from;
+
+  @BeforeEach
+  void setUp() {
+    from = LocalDateTime.of(2030, 1, 7, 9, 0);
+  }
+
+  @Test
+  @DisplayName("Should split the whole range into slots when nothing is busy")
+  void between_WhenNothingBusy_ShouldCoverWholeRange() {
+    // When
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusHours(2), THIRTY_MINUTES, List.of());
+
+    // Then
+    assertThat(freeSlots.count()).isEqualTo(4);
+    assertThat(starts(freeSlots.page(0, 10)))
+        .containsExactly(from, from.plusMinutes(30), from.plusMinutes(60), from.plusMinutes(90));
+  }
+
+  @Test
+  @DisplayName("Should count only whole slots in the gaps between busy intervals")
+  void between_WhenBusyIntervals_ShouldCountWholeSlotsPerGap() {
+    // Given
+    List<BusyInterval> busy =
+        List.of(
+            new BusyInterval(from.plusMinutes(45), from.plusMinutes(60)),
+            new BusyInterval(from.plusMinutes(60), from.plusMinutes(100)));
+
+    // When
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusHours(3), THIRTY_MINUTES, busy);
+
+    // Then
+    assertThat(freeSlots.count()).isEqualTo(3);
+    assertThat(starts(freeSlots.page(0, 10)))
+        .containsExactly(from, from.plusMinutes(100), from.plusMinutes(130));
+  }
+
+  @Test
+  @DisplayName("Should not offer slots inside an interval nested in a longer one")
+  void between_WhenIntervalsNested_ShouldKeepOuterIntervalBusy() {
+    // Given
+    List<BusyInterval> busy =
+        List.of(
+            new BusyInterval(from, from.plusHours(3)),
+            new BusyInterval(from.plusMinutes(60), from.plusMinutes(90)),
+            new BusyInterval(from.plusMinutes(150), from.plusHours(4)));
+
+    // When
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusHours(5), THIRTY_MINUTES, busy);
+
+    // Then
+    assertThat(freeSlots.count()).isEqualTo(2);
+    assertThat(starts(freeSlots.page(0, 10)))
+        .containsExactly(from.plusHours(4), from.plusMinutes(270));
+  }
+
+  @Test
+  @DisplayName("Should start a page in the middle of a gap")
+  void page_WhenOffsetInsideGap_ShouldSkipToOffset() {
+    // Given
+    List<BusyInterval> busy = List.of(new BusyInterval(from.plusHours(2), from.plusHours(3)));
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusHours(5), THIRTY_MINUTES, busy);
+
+    // When
+    List<TimeSlotDto> page = freeSlots.page(3, 3);
+
+    // Then
+    assertThat(freeSlots.count()).isEqualTo(8);
+    assertThat(starts(page))
+        .containsExactly(from.plusMinutes(90), from.plusHours(3), from.plusMinutes(210));
+    assertThat(page)
+        .allSatisfy(
+            slot -> {
+              assertThat(slot.getEndTime()).isEqualTo(slot.getStartTime().plus(THIRTY_MINUTES));
+              assertThat(slot.getDurationMinutes()).isEqualTo(30);
+            });
+  }
+
+  @Test
+  @DisplayName("Should return the same slots whether paged or streamed in one go")
+  void page_ShouldMatchFullStream() {
+    // Given
+    List<BusyInterval> busy =
+        List.of(
+            new BusyInterval(from.plusMinutes(20), from.plusMinutes(50)),
+            new BusyInterval(from.plusHours(4), from.plusMinutes(275)),
+            new BusyInterval(from.plusHours(30), from.plusHours(31)));
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusDays(2), THIRTY_MINUTES, busy);
+    List<TimeSlotDto> all = freeSlots.stream(0).toList();
+
+    // When/Then
+    assertThat(all).hasSize((int) freeSlots.count());
+    for (int offset = 0; offset < all.size(); offset += 7) {
+      assertThat(freeSlots.page(offset, 7))
+          .isEqualTo(all.subList(offset, Math.min(offset + 7, all.size())));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return an empty page when the offset is past the last slot")
+  void page_WhenOffsetPastEnd_ShouldReturnEmptyPage() {
+    // Given
+    FreeSlots freeSlots = FreeSlots.between(from, from.plusHours(1), THIRTY_MINUTES, List.of());
+
+    // When/Then
+    assertThat(freeSlots.page(2, 10)).isEmpty();
+    assertThat(freeSlots.page(20, 10)).isEmpty();
+  }
+
+  private static List<LocalDateTime> starts(List<TimeSlotDto> slots) {
+    return slots.stream().map(TimeSlotDto::getStartTime).toList();
+  }
+}
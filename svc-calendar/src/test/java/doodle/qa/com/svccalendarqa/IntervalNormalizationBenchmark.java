@@ -0,0 +1,98 @@
+package doodle.qa.com.svccalendarqa;
+
+import doodle.qa.com.svccalendarqa.service.AvailabilityBitmap;
+import doodle.qa.com.svccalendarqa.service.BusyInterval;
+import doodle.qa.com.svccalendarqa.service.FreeSlots;
+import doodle.qa.com.svccalendarqa.service.IntervalNormalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of computing free slots over a 7-day range for heavily overlapping calendars, where
+ * every interval is nested in or overlaps several long blocks. Compares marking the raw intervals
+ * on the bitmap with normalizing them through {@link IntervalNormalizer} first, and reports the
+ * cost of normalization alone. Run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntervalNormalizationBenchmark {
+
+  private static final Duration SLOT_DURATION = Duration.ofMinutes(30);
+
+  /** Number of busy intervals in the range. */
+  @Param({"100", "1000", "10000"})
+  private int intervals;
+
+  private LocalDateTime from;
+  private LocalDateTime to;
+  private List<BusyInterval> busyIntervals;
+
+  @Setup
+  public void setUp() {
+    from = LocalDateTime.of(2030, 1, 7, 0, 0);
+    to = from.plusDays(7);
+    int rangeMinutes = (int) Duration.between(from, to).toMinutes();
+    Random random = new Random(42);
+    busyIntervals = new ArrayList<>();
+    for (int i = 0; i < intervals; i++) {
+      int start = random.nextInt(rangeMinutes);
+      // One in ten intervals is a block of up to a day that nests many of the others
+      int length = i % 10 == 0 ? random.nextInt(24 * 60) : 15 + random.nextInt(120);
+      LocalDateTime busyStart = from.plusMinutes(start);
+      busyIntervals.add(new BusyInterval(busyStart, busyStart.plusMinutes(length)));
+    }
+    Collections.shuffle(busyIntervals, random);
+  }
+
+  @Benchmark
+  public long raw() {
+    AvailabilityBitmap bitmap = new AvailabilityBitmap(from, to);
+    for (BusyInterval busy : busyIntervals) {
+      bitmap.markBusy(busy.start(), busy.end());
+    }
+    return FreeSlots.of(bitmap, SLOT_DURATION).count();
+  }
+
+  @Benchmark
+  public long normalized() {
+    return FreeSlots.between(from, to, SLOT_DURATION, busyIntervals).count();
+  }
+
+  @Benchmark
+  public List<BusyInterval> normalizeOnly() {
+    return IntervalNormalizer.normalize(busyIntervals);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(IntervalNormalizationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,153 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import doodle.qa.com.svccalendarqa.service.BusyInterval;
+import doodle.qa.com.svccalendarqa.service.IntervalNormalizer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the IntervalNormalizer. Besides fixed examples, these tests check properties of
+ * the normalized intervals against a brute-force model on many seeded random calendars, with
+ * intervals on a minute grid so that every minute can be compared.
+ */
+class IntervalNormalizerTest {
+
+  private static final int RUNS = 500;
+  private static final int RANGE_MINUTES = 24 * 60;
+
+  private LocalDateTime from;
+
+  @BeforeEach
+  void setUp() {
+    from = LocalDateTime.of(2030, 1, 7, 0, 0);
+  }
+
+  @Test
+  @DisplayName("Should merge nested, overlapping and touching intervals in any order")
+  void normalize_ShouldMergeNestedOverlappingAndTouchingIntervals() {
+    // Given
+    List<BusyInterval> intervals =
+        List.of(
+            interval(600, 630),
+            interval(540, 720),
+            interval(700, 760),
+            interval(760, 780),
+            interval(900, 960),
+            interval(840, 841));
+
+    // When
+    List<BusyInterval> normalized = IntervalNormalizer.normalize(intervals);
+
+    // Then
+    assertThat(normalized)
+        .containsExactly(interval(540, 780), interval(840, 841), interval(900, 960));
+  }
+
+  @Test
+  @DisplayName("Should drop intervals that end before they start")
+  void normalize_WhenIntervalReversed_ShouldDropIt() {
+    // When
+    List<BusyInterval> normalized =
+        IntervalNormalizer.normalize(List.of(interval(120, 60), interval(180, 240)));
+
+    // Then
+    assertThat(normalized).containsExactly(interval(180, 240));
+  }
+
+  @Test
+  @DisplayName("Should return sorted intervals separated by free time")
+  void normalize_ShouldReturnSortedDisjointIntervals() {
+    for (long seed = 0; seed < RUNS; seed++) {
+      // Given
+      List<BusyInterval> intervals = randomIntervals(new Random(seed));
+
+      // When
+      List<BusyInterval> normalized = IntervalNormalizer.normalize(intervals);
+
+      // Then
+      for (int i = 1; i < normalized.size(); i++) {
+        assertThat(normalized.get(i).start())
+            .as("seed %d", seed)
+            .isAfter(normalized.get(i - 1).end());
+      }
+      assertThat(IntervalNormalizer.normalize(normalized))
+          .as("seed %d", seed)
+          .isEqualTo(normalized);
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep exactly the busy minutes of the original intervals")
+  void normalize_ShouldPreserveBusyMinutes() {
+    for (long seed = 0; seed < RUNS; seed++) {
+      // Given
+      List<BusyInterval> intervals = randomIntervals(new Random(seed));
+
+      // When
+      List<BusyInterval> normalized = IntervalNormalizer.normalize(intervals);
+
+      // Then
+      assertThat(busyMinutes(normalized)).as("seed %d", seed).isEqualTo(busyMinutes(intervals));
+    }
+  }
+
+  @Test
+  @DisplayName("Should find a conflict exactly when an original interval overlaps or touches")
+  void firstEndingAtOrAfter_ShouldAgreeWithLinearScan() {
+    for (long seed = 0; seed < RUNS; seed++) {
+      // Given
+      Random random = new Random(seed);
+      List<BusyInterval> intervals = randomIntervals(random);
+      List<BusyInterval> normalized = IntervalNormalizer.normalize(intervals);
+      int startMinute = random.nextInt(RANGE_MINUTES);
+      LocalDateTime start = from.plusMinutes(startMinute);
+      LocalDateTime end = from.plusMinutes(startMinute + 1 + random.nextInt(120));
+
+      // When
+      int index = IntervalNormalizer.firstEndingAtOrAfter(normalized, start);
+      boolean conflict = index < normalized.size() && !normalized.get(index).start().isAfter(end);
+
+      // Then
+      boolean expected =
+          intervals.stream()
+              .anyMatch(busy -> !busy.end().isBefore(start) && !busy.start().isAfter(end));
+      assertThat(conflict).as("seed %d", seed).isEqualTo(expected);
+    }
+  }
+
+  /** Random calendar mixing short meetings with long blocks that nest and overlap them. */
+  private List<BusyInterval> randomIntervals(Random random) {
+    List<BusyInterval> intervals = new ArrayList<>();
+    int count = random.nextInt(40);
+    for (int i = 0; i < count; i++) {
+      int start = random.nextInt(RANGE_MINUTES);
+      int length = random.nextBoolean() ? random.nextInt(60) : random.nextInt(480);
+      intervals.add(interval(start, Math.min(start + length, RANGE_MINUTES)));
+    }
+    return intervals;
+  }
+
+  private boolean[] busyMinutes(List<BusyInterval> intervals) {
+    boolean[] busy = new boolean[RANGE_MINUTES];
+    for (BusyInterval interval : intervals) {
+      long start = ChronoUnit.MINUTES.between(from, interval.start());
+      long end = ChronoUnit.MINUTES.between(from, interval.end());
+      for (long minute = start; minute < end; minute++) {
+        busy[(int) minute] = true;
+      }
+    }
+    return busy;
+  }
+
+  private BusyInterval interval(int startMinute, int endMinute) {
+    return new BusyInterval(from.plusMinutes(startMinute), from.plusMinutes(endMinute));
+  }
+}
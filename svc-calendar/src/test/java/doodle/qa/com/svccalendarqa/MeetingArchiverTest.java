@@ -0,0 +1,70 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.repository.ArchivedMeetingRepository;
+import doodle.qa.com.svccalendarqa.service.MeetingArchiver;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for the MeetingArchiver. These tests verify that meetings are archived batch by batch
+ * with a fixed cutoff, and that failures do not escape the scheduled run.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeetingArchiverTest {
+
+  @Mock private ArchivedMeetingRepository archivedMeetingRepository;
+
+  private MeetingArchiver archiver;
+
+  @BeforeEach
+  void setUp() {
+    archiver = new MeetingArchiver(archivedMeetingRepository);
+  }
+
+  @Test
+  @DisplayName("Should archive batches until a batch is not full")
+  void archiveMeetings_ShouldArchiveUntilBatchNotFull() {
+    // Given
+    when(archivedMeetingRepository.archiveMeetingsEndedBefore(any(), eq(1000)))
+        .thenReturn(1000, 1000, 250);
+
+    // When
+    long archived = archiver.archiveMeetings();
+
+    // Then
+    ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(archivedMeetingRepository, times(3))
+        .archiveMeetingsEndedBefore(cutoffs.capture(), eq(1000));
+    assertThat(archived).isEqualTo(2250);
+    assertThat(cutoffs.getAllValues()).containsOnly(cutoffs.getValue());
+    assertThat(cutoffs.getValue()).isBefore(LocalDateTime.now().minusDays(89));
+  }
+
+  @Test
+  @DisplayName("Should log and stop when a batch fails")
+  void archiveMeetings_WhenBatchFails_ShouldStop() {
+    // Given
+    when(archivedMeetingRepository.archiveMeetingsEndedBefore(any(), eq(1000)))
+        .thenReturn(1000)
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+    // When
+    long archived = archiver.archiveMeetings();
+
+    // Then
+    assertThat(archived).isEqualTo(1000);
+    verify(archivedMeetingRepository, times(2)).archiveMeetingsEndedBefore(any(), eq(1000));
+  }
+}
@@ -1,5 +1,6 @@
 package doodle.qa.com.svccalendarqa;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -9,7 +10,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import doodle.qa.com.svccalendarqa.controller.MeetingController;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingRequestDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResponseDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResultDto;
+import doodle.qa.com.svccalendarqa.dto.CursorPageDto;
+import doodle.qa.com.svccalendarqa.dto.GroupSlotsRequestDto;
 import doodle.qa.com.svccalendarqa.dto.MeetingDto;
+import doodle.qa.com.svccalendarqa.dto.ParticipantDto;
 import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
 import doodle.qa.com.svccalendarqa.exception.CalendarNotFoundException;
 import doodle.qa.com.svccalendarqa.exception.MeetingNotFoundException;
@@ -19,6 +26,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +36,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -93,6 +103,88 @@ class MeetingControllerTest {
             any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("Should return meetings and the next cursor when getting meetings by cursor")
+  void getMeetings_WithCursor_ShouldReturnMeetingsAndNextCursor() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    List<MeetingDto> meetingDtos = TestDataFactory.createMeetingDtoList(2, calendarId);
+    CursorPageDto<MeetingDto> meetingPage =
+        CursorPageDto.<MeetingDto>builder().content(meetingDtos).nextCursor("next").build();
+
+    when(meetingService.findMeetingsAfter(
+            eq(userId),
+            eq(calendarId),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            eq(""),
+            eq(2)))
+        .thenReturn(meetingPage);
+
+    // When/Then
+    mockMvc
+        .perform(
+            get("/meeting")
+                .param("userId", userId.toString())
+                .param("calendarId", calendarId.toString())
+                .param("from", from.format(DATE_TIME_FORMATTER))
+                .param("to", to.format(DATE_TIME_FORMATTER))
+                .param("size", "2")
+                .param("cursor", ""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.meetings", hasSize(2)))
+        .andExpect(jsonPath("$.nextCursor", is("next")))
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+    verify(meetingService, never())
+        .findMeetings(any(UUID.class), any(UUID.class), any(), any(), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Should return meetings and hasNext without totals when getting a slice")
+  void getMeetings_WithSlice_ShouldReturnHasNextWithoutTotals() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    List<MeetingDto> meetingDtos = TestDataFactory.createMeetingDtoList(2, calendarId);
+    Slice<MeetingDto> meetingSlice = new SliceImpl<>(meetingDtos, PageRequest.of(1, 2), true);
+
+    when(meetingService.findMeetingSlice(
+            eq(userId),
+            eq(calendarId),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            any(Pageable.class)))
+        .thenReturn(meetingSlice);
+
+    // When/Then
+    mockMvc
+        .perform(
+            get("/meeting")
+                .param("userId", userId.toString())
+                .param("calendarId", calendarId.toString())
+                .param("from", from.format(DATE_TIME_FORMATTER))
+                .param("to", to.format(DATE_TIME_FORMATTER))
+                .param("page", "1")
+                .param("size", "2")
+                .param("slice", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.meetings", hasSize(2)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.currentPage", is(1)))
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+    verify(meetingService, never())
+        .findMeetings(any(UUID.class), any(UUID.class), any(), any(), any(Pageable.class));
+  }
+
   @Test
   @DisplayName("Should return paginated meetings when getting meetings with pagination parameters")
   void getMeetings_WithPagination_ShouldReturnPagedMeetings() throws Exception {
@@ -234,6 +326,75 @@ class MeetingControllerTest {
             any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("Should write one meeting per line when exporting meetings")
+  void exportMeetings_ShouldWriteNewlineDelimitedJson() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime from = LocalDateTime.now().minusYears(1);
+    LocalDateTime to = LocalDateTime.now().plusYears(1);
+
+    List<MeetingDto> meetingDtos = TestDataFactory.createMeetingDtoList(3, calendarId);
+
+    when(meetingService.exportMeetings(
+            eq(userId), eq(calendarId), any(LocalDateTime.class), any(LocalDateTime.class), any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<MeetingDto> consumer = invocation.getArgument(4);
+              meetingDtos.forEach(consumer);
+              return (long) meetingDtos.size();
+            });
+
+    // When
+    String content =
+        mockMvc
+            .perform(
+                get("/meeting/export")
+                    .param("userId", userId.toString())
+                    .param("calendarId", calendarId.toString())
+                    .param("from", from.format(DATE_TIME_FORMATTER))
+                    .param("to", to.format(DATE_TIME_FORMATTER)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    // Then
+    String[] lines = content.split("\n");
+    assertThat(content).endsWith("\n");
+    assertThat(lines).hasSize(3);
+    for (int i = 0; i < lines.length; i++) {
+      assertThat(objectMapper.readValue(lines[i], MeetingDto.class)).isEqualTo(meetingDtos.get(i));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return 404 as JSON when exporting meetings of a nonexistent calendar")
+  void exportMeetings_WhenCalendarNotFound_ShouldReturn404() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    when(meetingService.exportMeetings(
+            eq(userId), eq(calendarId), any(LocalDateTime.class), any(LocalDateTime.class), any()))
+        .thenThrow(new CalendarNotFoundException(calendarId, userId));
+
+    // When/Then
+    mockMvc
+        .perform(
+            get("/meeting/export")
+                .param("userId", userId.toString())
+                .param("calendarId", calendarId.toString())
+                .param("from", from.format(DATE_TIME_FORMATTER))
+                .param("to", to.format(DATE_TIME_FORMATTER)))
+        .andExpect(status().isNotFound())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
   @Test
   @DisplayName(
       "Should return available time slots when getting available time slots for a calendar")
@@ -283,6 +444,71 @@ class MeetingControllerTest {
             any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("Should return slots free for every participant when getting group time slots")
+  void getGroupAvailableTimeSlots_ShouldReturnTimeSlots() throws Exception {
+    // Given
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    List<ParticipantDto> participants =
+        List.of(
+            new ParticipantDto(UUID.randomUUID(), UUID.randomUUID()),
+            new ParticipantDto(UUID.randomUUID(), UUID.randomUUID()));
+    GroupSlotsRequestDto request =
+        GroupSlotsRequestDto.builder()
+            .participants(participants)
+            .from(from)
+            .to(from.plusHours(4))
+            .slotDuration(60)
+            .build();
+
+    List<TimeSlotDto> timeSlots = TestDataFactory.createTimeSlotDtoList(2, 60);
+    Page<TimeSlotDto> timeSlotsPage =
+        new PageImpl<>(timeSlots, PageRequest.of(0, 10), timeSlots.size());
+
+    when(meetingService.findGroupAvailableTimeSlots(
+            eq(participants),
+            any(LocalDateTime.class),
+            any(LocalDateTime.class),
+            eq(60),
+            any(Pageable.class)))
+        .thenReturn(timeSlotsPage);
+
+    // When/Then
+    mockMvc
+        .perform(
+            post("/meeting/slots/group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.slots", hasSize(2)))
+        .andExpect(jsonPath("$.totalPages", is(1)))
+        .andExpect(jsonPath("$.currentPage", is(0)));
+  }
+
+  @Test
+  @DisplayName("Should return 400 when getting group time slots without participants")
+  void getGroupAvailableTimeSlots_WithoutParticipants_ShouldReturn400() throws Exception {
+    // Given
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    GroupSlotsRequestDto request =
+        GroupSlotsRequestDto.builder()
+            .participants(List.of())
+            .from(from)
+            .to(from.plusHours(4))
+            .slotDuration(60)
+            .build();
+
+    // When/Then
+    mockMvc
+        .perform(
+            post("/meeting/slots/group")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(meetingService);
+  }
+
   @Test
   @DisplayName("Should return meeting when getting meeting by ID that exists")
   void getMeeting_WhenMeetingExists_ShouldReturnMeeting() throws Exception {
@@ -408,6 +634,73 @@ class MeetingControllerTest {
     verify(meetingService, never()).createMeeting(any(MeetingDto.class), any(UUID.class));
   }
 
+  @Test
+  @DisplayName("Should return a result per meeting when creating meetings in bulk")
+  void createMeetings_ShouldReturnResultPerMeeting() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(2, calendarId);
+    BulkMeetingRequestDto request =
+        BulkMeetingRequestDto.builder().calendarId(calendarId).meetings(meetings).build();
+    BulkMeetingResponseDto response =
+        BulkMeetingResponseDto.builder()
+            .created(1)
+            .failed(1)
+            .results(
+                List.of(
+                    BulkMeetingResultDto.builder()
+                        .index(0)
+                        .status(BulkMeetingResultDto.Status.CREATED)
+                        .meeting(meetings.get(0))
+                        .build(),
+                    BulkMeetingResultDto.builder()
+                        .index(1)
+                        .status(BulkMeetingResultDto.Status.CONFLICT)
+                        .error("The meeting conflicts with external events")
+                        .build()))
+            .build();
+
+    when(meetingService.createMeetings(any(BulkMeetingRequestDto.class), eq(userId)))
+        .thenReturn(response);
+
+    // When/Then
+    mockMvc
+        .perform(
+            post("/meeting/bulk")
+                .param("userId", userId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created", is(1)))
+        .andExpect(jsonPath("$.failed", is(1)))
+        .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+        .andExpect(jsonPath("$.results[0].meeting.id", is(meetings.get(0).getId().toString())))
+        .andExpect(jsonPath("$.results[1].status", is("CONFLICT")))
+        .andExpect(
+            jsonPath("$.results[1].error", is("The meeting conflicts with external events")));
+  }
+
+  @Test
+  @DisplayName("Should return 400 when creating meetings in bulk without meetings")
+  void createMeetings_WithoutMeetings_ShouldReturn400() throws Exception {
+    // Given
+    UUID userId = UUID.randomUUID();
+    BulkMeetingRequestDto request =
+        BulkMeetingRequestDto.builder().calendarId(UUID.randomUUID()).meetings(List.of()).build();
+
+    // When/Then
+    mockMvc
+        .perform(
+            post("/meeting/bulk")
+                .param("userId", userId.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+
+    verify(meetingService, never()).createMeetings(any(), any());
+  }
+
   @Test
   @DisplayName("Should update meeting when updating meeting that exists with valid data")
   void updateMeeting_WhenMeetingExistsWithValidData_ShouldUpdateMeeting() throws Exception {
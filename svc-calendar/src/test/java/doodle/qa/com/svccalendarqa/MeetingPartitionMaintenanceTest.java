@@ -0,0 +1,83 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.service.MeetingPartitionMaintenance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the MeetingPartitionMaintenance. These tests verify that the partition functions
+ * are called with the configured months, that partitions are not detached without the archiver, and
+ * that failures do not escape the scheduled run.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeetingPartitionMaintenanceTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private MeetingPartitionMaintenance maintenance;
+
+  @BeforeEach
+  void setUp() {
+    maintenance = new MeetingPartitionMaintenance(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("Should create future partitions and detach expired ones")
+  void maintainPartitions_ShouldCreateAndDetachPartitions() {
+    // Given
+    when(jdbcTemplate.queryForObject("SELECT create_meeting_partitions(?)", Integer.class, 3))
+        .thenReturn(1);
+    when(jdbcTemplate.queryForObject("SELECT detach_meeting_partitions(?)", Integer.class, 24))
+        .thenReturn(1);
+
+    // When
+    maintenance.maintainPartitions();
+
+    // Then
+    verify(jdbcTemplate).queryForObject("SELECT create_meeting_partitions(?)", Integer.class, 3);
+    verify(jdbcTemplate).queryForObject("SELECT detach_meeting_partitions(?)", Integer.class, 24);
+  }
+
+  @Test
+  @DisplayName("Should not detach partitions when archiving is disabled")
+  void maintainPartitions_WhenArchiveDisabled_ShouldNotDetachPartitions() {
+    // Given
+    ReflectionTestUtils.setField(maintenance, "archiveEnabled", false);
+    when(jdbcTemplate.queryForObject("SELECT create_meeting_partitions(?)", Integer.class, 3))
+        .thenReturn(1);
+
+    // When
+    maintenance.maintainPartitions();
+
+    // Then
+    verify(jdbcTemplate).queryForObject("SELECT create_meeting_partitions(?)", Integer.class, 3);
+    verify(jdbcTemplate, never())
+        .queryForObject(eq("SELECT detach_meeting_partitions(?)"), eq(Integer.class), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should log and skip detaching when creating partitions fails")
+  void maintainPartitions_WhenCreateFails_ShouldNotThrow() {
+    // Given
+    when(jdbcTemplate.queryForObject(
+            eq("SELECT create_meeting_partitions(?)"), eq(Integer.class), anyInt()))
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+    // When/Then
+    assertDoesNotThrow(() -> maintenance.maintainPartitions());
+    verify(jdbcTemplate, never())
+        .queryForObject(eq("SELECT detach_meeting_partitions(?)"), eq(Integer.class), anyInt());
+  }
+}
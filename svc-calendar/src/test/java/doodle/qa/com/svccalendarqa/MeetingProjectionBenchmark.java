@@ -0,0 +1,191 @@
+package doodle.qa.com.svccalendarqa;
+
+import doodle.qa.com.svccalendarqa.dto.MeetingDto;
+import doodle.qa.com.svccalendarqa.entity.Meeting;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingInterval;
+import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of reading meetings as managed entities compared with the projections used by the
+ * service, against the in-memory H2 database of the test profile. The entity variants run the
+ * queries the service used before, loading whole meetings and copying what is needed, while the
+ * projected variants read only the interval columns or construct DTOs directly. Run {@link #main}
+ * from the test classpath; the GC profiler reports the allocation rate as {@code
+ * gc.alloc.rate.norm} and the time spent in collections as {@code gc.time}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeetingProjectionBenchmark {
+
+  private static final String DESCRIPTION = "Agenda and notes for the meeting. ".repeat(30);
+
+  /** Number of meetings in the calendar. */
+  @Param({"1000", "10000"})
+  private int meetings;
+
+  /** Number of meetings per listing page. */
+  @Param({"100"})
+  private int pageSize;
+
+  private ConfigurableApplicationContext context;
+  private MeetingRepository meetingRepository;
+  private EntityManager entityManager;
+  private TransactionTemplate readOnly;
+  private UserCalendar userCalendar;
+  private UUID calendarId;
+  private LocalDateTime from;
+  private LocalDateTime to;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(SvcCalendarApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.kafka.listener.auto-startup=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.doodle.qa.com.svccalendarqa=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+            .run();
+    meetingRepository = context.getBean(MeetingRepository.class);
+    entityManager = context.getBean(EntityManager.class);
+    readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnly.setReadOnly(true);
+
+    calendarId = UUID.randomUUID();
+    userCalendar =
+        context
+            .getBean(UserCalendarRepository.class)
+            .save(TestDataFactory.createUserCalendar(null, calendarId, UUID.randomUUID()));
+    from = LocalDateTime.of(2030, 1, 7, 0, 0);
+    to = from.plusMinutes(30L * meetings);
+    List<Meeting> seed = new ArrayList<>(meetings);
+    for (int i = 0; i < meetings; i++) {
+      LocalDateTime start = from.plusMinutes(30L * i);
+      seed.add(
+          TestDataFactory.createMeeting(
+              null,
+              "Meeting " + i,
+              DESCRIPTION,
+              start,
+              start.plusMinutes(25),
+              "Room " + (i % 20),
+              userCalendar,
+              calendarId));
+    }
+    meetingRepository.saveAll(seed);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Meeting> entityIntervals() {
+    return readOnly.execute(
+        status ->
+            entityManager
+                .createQuery(
+                    "SELECT m FROM Meeting m WHERE m.calendarId = :calendarId"
+                        + " AND m.startTime >= :earliestStart AND m.startTime < :to"
+                        + " AND m.endTime > :from",
+                    Meeting.class)
+                .setParameter("calendarId", calendarId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("earliestStart", from.minusHours(8))
+                .getResultList());
+  }
+
+  @Benchmark
+  public List<MeetingInterval> projectedIntervals() {
+    return readOnly.execute(
+        status ->
+            meetingRepository.findIntervalsOverlapping(calendarId, from, to, from.minusHours(8)));
+  }
+
+  @Benchmark
+  public List<MeetingDto> entityListing() {
+    return readOnly.execute(
+        status ->
+            entityManager
+                .createQuery(
+                    "SELECT m FROM Meeting m WHERE m.userCalendar = :userCalendar"
+                        + " AND m.startTime >= :from AND m.endTime <= :to"
+                        + " ORDER BY m.startTime ASC, m.id ASC",
+                    Meeting.class)
+                .setParameter("userCalendar", userCalendar)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setMaxResults(pageSize)
+                .getResultStream()
+                .map(
+                    meeting ->
+                        MeetingDto.builder()
+                            .id(meeting.getId())
+                            .title(meeting.getTitle())
+                            .description(meeting.getDescription())
+                            .startTime(meeting.getStartTime())
+                            .endTime(meeting.getEndTime())
+                            .location(meeting.getLocation())
+                            .calendarId(meeting.getCalendarId())
+                            .build())
+                .toList());
+  }
+
+  @Benchmark
+  public List<MeetingDto> projectedListing() {
+    return readOnly.execute(
+        status ->
+            meetingRepository
+                .findMeetingsByUserCalendar(userCalendar, from, to, PageRequest.of(0, pageSize))
+                .getContent());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(MeetingProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
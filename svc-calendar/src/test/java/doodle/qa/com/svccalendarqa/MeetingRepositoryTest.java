@@ -1,16 +1,21 @@
 package doodle.qa.com.svccalendarqa;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import doodle.qa.com.svccalendarqa.dto.MeetingDto;
 import doodle.qa.com.svccalendarqa.entity.Meeting;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingInterval;
 import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
 import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 /**
@@ -45,8 +51,7 @@ class MeetingRepositoryTest {
 
   @Test
   @DisplayName("Should find meetings by user calendar and time range")
-  void
-      findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc_ShouldReturnMeetings() {
+  void findMeetingPageByUserCalendar_ShouldReturnMeetings() {
     // Given
     LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
     LocalDateTime from = now.minusDays(1);
@@ -88,154 +93,242 @@ class MeetingRepositoryTest {
     meetingRepository.save(meeting3);
 
     // When
-    Page<Meeting> meetings =
-        meetingRepository
-            .findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-                userCalendar, from, to, PageRequest.of(0, 10));
+    Page<MeetingDto> meetings =
+        meetingRepository.findMeetingPageByUserCalendar(
+            userCalendar, from, to, PageRequest.of(0, 10));
 
     // Then
+    assertThat(meetings.getTotalElements()).isEqualTo(3);
     assertThat(meetings.getContent()).hasSize(3);
     assertThat(meetings.getContent().get(0).getTitle()).isEqualTo("Meeting 1");
     assertThat(meetings.getContent().get(1).getTitle()).isEqualTo("Meeting 2");
     assertThat(meetings.getContent().get(2).getTitle()).isEqualTo("Meeting 3");
+    assertThat(meetings.getContent().get(0))
+        .usingRecursiveComparison()
+        .isEqualTo(
+            TestDataFactory.createMeetingDto(
+                meeting1.getId(),
+                "Meeting 1",
+                "Description 1",
+                now.minusHours(12),
+                now.minusHours(11),
+                "Location 1",
+                calendarId));
   }
 
   @Test
-  @DisplayName("Should find meeting by user calendar and ID")
-  void findByUserCalendarAndId_WhenMeetingExists_ShouldReturnMeeting() {
+  @DisplayName("Should page through meetings by start time and ID without skipping or repeating")
+  void findMeetingsByUserCalendarAfter_ShouldSeekPastPreviousPage() {
     // Given
-    Meeting meeting =
-        TestDataFactory.createMeeting(
-            null,
-            "Test Meeting",
-            "Test Description",
-            LocalDateTime.now(),
-            LocalDateTime.now().plusHours(1),
-            "Test Location",
-            userCalendar,
-            calendarId);
-    Meeting savedMeeting = meetingRepository.save(meeting);
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    for (int i = 0; i < 5; i++) {
+      // Meetings 0-2 share a start time, so the ID decides their order
+      LocalDateTime startTime = now.plusHours(Math.max(0, i - 2));
+      meetingRepository.save(
+          TestDataFactory.createMeeting(
+              null,
+              "Meeting " + i,
+              null,
+              startTime,
+              startTime.plusMinutes(30),
+              null,
+              userCalendar,
+              calendarId));
+    }
+    LocalDateTime from = now.minusDays(1);
+    LocalDateTime to = now.plusDays(1);
 
     // When
-    Optional<Meeting> foundMeeting =
-        meetingRepository.findByUserCalendarAndId(userCalendar, savedMeeting.getId());
+    List<MeetingDto> meetings = new ArrayList<>();
+    Slice<MeetingDto> page =
+        meetingRepository.findMeetingsByUserCalendar(userCalendar, from, to, PageRequest.of(0, 2));
+    int pages = 1;
+    meetings.addAll(page.getContent());
+    while (page.hasNext()) {
+      MeetingDto last = meetings.get(meetings.size() - 1);
+      page =
+          meetingRepository.findMeetingsByUserCalendarAfter(
+              userCalendar, from, to, last.getStartTime(), last.getId(), PageRequest.of(0, 2));
+      pages++;
+      meetings.addAll(page.getContent());
+    }
 
     // Then
-    assertThat(foundMeeting).isPresent();
-    assertThat(foundMeeting.get().getTitle()).isEqualTo("Test Meeting");
-    assertThat(foundMeeting.get().getDescription()).isEqualTo("Test Description");
+    assertThat(pages).isEqualTo(3);
+    assertThat(meetings).hasSize(5);
+    assertThat(meetings).extracting(MeetingDto::getId).doesNotHaveDuplicates();
+    assertThat(meetings)
+        .extracting(MeetingDto::getStartTime)
+        .containsExactly(now, now, now, now.plusHours(1), now.plusHours(2));
   }
 
   @Test
-  @DisplayName(
-      "Should return empty optional when finding meeting by user calendar and ID that doesn't exist")
-  void findByUserCalendarAndId_WhenMeetingDoesNotExist_ShouldReturnEmptyOptional() {
+  @DisplayName("Should stream meetings across a year by start time and ID")
+  void streamMeetingsByUserCalendar_ShouldStreamMeetingsInOrder() {
     // Given
-    UUID nonExistentMeetingId = UUID.randomUUID();
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    for (int i = 0; i < 5; i++) {
+      // Meetings three months apart, the last one ending after the range
+      LocalDateTime startTime = now.plusMonths(3L * i);
+      meetingRepository.save(
+          TestDataFactory.createMeeting(
+              null,
+              "Meeting " + i,
+              null,
+              startTime,
+              startTime.plusMinutes(30),
+              null,
+              userCalendar,
+              calendarId));
+    }
 
     // When
-    Optional<Meeting> foundMeeting =
-        meetingRepository.findByUserCalendarAndId(userCalendar, nonExistentMeetingId);
+    List<MeetingDto> meetings;
+    try (Stream<MeetingDto> stream =
+        meetingRepository.streamMeetingsByUserCalendar(userCalendar, now, now.plusYears(1))) {
+      meetings = stream.toList();
+    }
 
     // Then
-    assertThat(foundMeeting).isEmpty();
+    assertThat(meetings)
+        .extracting(MeetingDto::getTitle)
+        .containsExactly("Meeting 0", "Meeting 1", "Meeting 2", "Meeting 3");
   }
 
   @Test
-  @DisplayName("Should find overlapping meetings")
-  void findOverlappingMeetingsByUserCalendar_ShouldReturnOverlappingMeetings() {
+  @DisplayName("Should find the intervals of all user calendars of the given calendars")
+  void findIntervalsByCalendarIdInOverlapping_ShouldReturnIntervalsOfAllUserCalendars() {
     // Given
     LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
-
-    // Meeting that starts before and ends during the range
-    Meeting meeting1 =
+    UUID otherCalendarId = UUID.randomUUID();
+    UserCalendar otherUserCalendar =
+        userCalendarRepository.save(
+            TestDataFactory.createUserCalendar(null, otherCalendarId, UUID.randomUUID()));
+    Meeting own =
+        meetingRepository.save(
+            TestDataFactory.createMeeting(
+                null, "Own", "Description", now, now.plusHours(1), null, userCalendar, calendarId));
+    Meeting other =
+        meetingRepository.save(
+            TestDataFactory.createMeeting(
+                null,
+                "Other",
+                null,
+                now.plusHours(2),
+                now.plusHours(3),
+                null,
+                otherUserCalendar,
+                otherCalendarId));
+    UUID unrelatedCalendarId = UUID.randomUUID();
+    UserCalendar unrelatedUserCalendar =
+        userCalendarRepository.save(
+            TestDataFactory.createUserCalendar(null, unrelatedCalendarId, userId));
+    meetingRepository.save(
         TestDataFactory.createMeeting(
             null,
-            "Meeting 1",
-            "Description 1",
-            now.minusHours(1),
+            "Unrelated",
+            null,
+            now,
             now.plusHours(1),
-            "Location 1",
-            userCalendar,
-            calendarId);
-
-    // Meeting that starts and ends within the range
-    Meeting meeting2 =
-        TestDataFactory.createMeeting(
             null,
-            "Meeting 2",
-            "Description 2",
-            now.plusHours(2),
-            now.plusHours(3),
-            "Location 2",
-            userCalendar,
-            calendarId);
+            unrelatedUserCalendar,
+            unrelatedCalendarId));
 
-    // Meeting that starts during and ends after the range
-    Meeting meeting3 =
+    meetingRepository.save(
         TestDataFactory.createMeeting(
             null,
-            "Meeting 3",
-            "Description 3",
-            now.plusHours(4),
-            now.plusHours(6),
-            "Location 3",
-            userCalendar,
-            calendarId);
-
-    // Meeting that starts before and ends after the range (completely overlaps)
-    Meeting meeting4 =
-        TestDataFactory.createMeeting(
+            "Ended",
             null,
-            "Meeting 4",
-            "Description 4",
+            now.minusHours(2),
             now.minusHours(1),
-            now.plusHours(6),
-            "Location 4",
-            userCalendar,
-            calendarId);
-
-    // Meeting that is completely outside the range (before)
-    Meeting meeting5 =
-        TestDataFactory.createMeeting(
             null,
-            "Meeting 5",
-            "Description 5",
-            now.minusHours(3),
-            now.minusHours(2),
-            "Location 5",
             userCalendar,
-            calendarId);
+            calendarId));
+
+    // When
+    List<MeetingInterval> intervals =
+        meetingRepository.findIntervalsByCalendarIdInOverlapping(
+            List.of(calendarId, otherCalendarId),
+            now.minusHours(1),
+            now.plusDays(1),
+            now.minusHours(9));
+
+    // Then
+    assertThat(intervals)
+        .extracting(
+            MeetingInterval::getId,
+            MeetingInterval::getUserCalendarId,
+            MeetingInterval::getCalendarId,
+            MeetingInterval::getStartTime,
+            MeetingInterval::getEndTime)
+        .containsExactlyInAnyOrder(
+            tuple(own.getId(), userCalendar.getId(), calendarId, now, now.plusHours(1)),
+            tuple(
+                other.getId(),
+                otherUserCalendar.getId(),
+                otherCalendarId,
+                now.plusHours(2),
+                now.plusHours(3)));
+  }
+
+  @Test
+  @DisplayName("Should bound the start time of overlapping meetings on both sides")
+  void findIntervalsOverlapping_ShouldBoundStartTime() {
+    // Given
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime to = from.plusDays(7);
+    Meeting overlapping = saveMeeting("Overlapping", from.minusHours(1), from.plusHours(1));
+    saveMeeting("Before earliest start", from.minusHours(10), from.plusHours(1));
+    saveMeeting("At end", to, to.plusHours(1));
+    saveMeeting("Ended", from.minusHours(2), from);
+
+    // When
+    List<MeetingInterval> intervals =
+        meetingRepository.findIntervalsOverlapping(calendarId, from, to, from.minusHours(8));
 
-    // Meeting that is completely outside the range (after)
-    Meeting meeting6 =
+    // Then
+    assertThat(intervals).extracting(MeetingInterval::getId).containsExactly(overlapping.getId());
+  }
+
+  @Test
+  @DisplayName("Should find meeting by user calendar and ID")
+  void findByUserCalendarAndId_WhenMeetingExists_ShouldReturnMeeting() {
+    // Given
+    Meeting meeting =
         TestDataFactory.createMeeting(
             null,
-            "Meeting 6",
-            "Description 6",
-            now.plusHours(7),
-            now.plusHours(8),
-            "Location 6",
+            "Test Meeting",
+            "Test Description",
+            LocalDateTime.now(),
+            LocalDateTime.now().plusHours(1),
+            "Test Location",
             userCalendar,
             calendarId);
+    Meeting savedMeeting = meetingRepository.save(meeting);
 
-    meetingRepository.save(meeting1);
-    meetingRepository.save(meeting2);
-    meetingRepository.save(meeting3);
-    meetingRepository.save(meeting4);
-    meetingRepository.save(meeting5);
-    meetingRepository.save(meeting6);
+    // When
+    Optional<Meeting> foundMeeting =
+        meetingRepository.findByUserCalendarAndId(userCalendar, savedMeeting.getId());
+
+    // Then
+    assertThat(foundMeeting).isPresent();
+    assertThat(foundMeeting.get().getTitle()).isEqualTo("Test Meeting");
+    assertThat(foundMeeting.get().getDescription()).isEqualTo("Test Description");
+  }
+
+  @Test
+  @DisplayName(
+      "Should return empty optional when finding meeting by user calendar and ID that doesn't exist")
+  void findByUserCalendarAndId_WhenMeetingDoesNotExist_ShouldReturnEmptyOptional() {
+    // Given
+    UUID nonExistentMeetingId = UUID.randomUUID();
 
     // When
-    LocalDateTime to = now.plusHours(5);
-    List<Meeting> overlappingMeetings =
-        meetingRepository.findOverlappingMeetingsByUserCalendar(userCalendar, now, to);
+    Optional<Meeting> foundMeeting =
+        meetingRepository.findByUserCalendarAndId(userCalendar, nonExistentMeetingId);
 
     // Then
-    assertThat(overlappingMeetings).hasSize(4);
-    assertThat(overlappingMeetings)
-        .extracting(Meeting::getTitle)
-        .containsExactlyInAnyOrder("Meeting 1", "Meeting 2", "Meeting 3", "Meeting 4");
+    assertThat(foundMeeting).isEmpty();
   }
 
   @Test
@@ -322,4 +415,10 @@ class MeetingRepositoryTest {
     // Then
     assertThat(retrievedMeeting).isEmpty();
   }
+
+  private Meeting saveMeeting(String title, LocalDateTime startTime, LocalDateTime endTime) {
+    return meetingRepository.save(
+        TestDataFactory.createMeeting(
+            null, title, null, startTime, endTime, null, userCalendar, calendarId));
+  }
 }
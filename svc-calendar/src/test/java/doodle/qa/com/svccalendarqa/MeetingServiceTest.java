@@ -1,28 +1,49 @@
 package doodle.qa.com.svccalendarqa;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import doodle.qa.com.svccalendarqa.client.ExternalEvent;
+import doodle.qa.com.svccalendarqa.client.ProviderClient;
+import doodle.qa.com.svccalendarqa.client.ProviderEventCache;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingRequestDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResponseDto;
+import doodle.qa.com.svccalendarqa.dto.BulkMeetingResultDto;
+import doodle.qa.com.svccalendarqa.dto.CursorPageDto;
 import doodle.qa.com.svccalendarqa.dto.MeetingDto;
+import doodle.qa.com.svccalendarqa.dto.ParticipantDto;
 import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
 import doodle.qa.com.svccalendarqa.entity.Meeting;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
 import doodle.qa.com.svccalendarqa.exception.CalendarNotFoundException;
 import doodle.qa.com.svccalendarqa.exception.IllegalArgumentException;
 import doodle.qa.com.svccalendarqa.exception.MeetingNotFoundException;
+import doodle.qa.com.svccalendarqa.exception.ProviderUnavailableException;
+import doodle.qa.com.svccalendarqa.repository.ArchivedMeetingRepository;
 import doodle.qa.com.svccalendarqa.repository.MeetingRepository;
 import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.repository.UserStateVersionRepository;
+import doodle.qa.com.svccalendarqa.service.BusyIntervalIndex;
+import doodle.qa.com.svccalendarqa.service.MeetingCursor;
 import doodle.qa.com.svccalendarqa.service.MeetingService;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,13 +51,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.web.client.ResourceAccessException;
 
 /**
  * Unit tests for the MeetingService. These tests verify the business logic in the service layer
@@ -46,14 +68,40 @@ import org.springframework.web.client.RestTemplate;
 class MeetingServiceTest {
 
   @Mock private MeetingRepository meetingRepository;
+  @Mock private ArchivedMeetingRepository archivedMeetingRepository;
   @Mock private UserCalendarRepository userCalendarRepository;
-  @Mock private RestTemplate restTemplate;
+  @Mock private UserStateVersionRepository userStateVersionRepository;
+  @Mock private ProviderClient providerClient;
 
+  private BusyIntervalIndex busyIntervalIndex;
+  private MembershipIndex membershipIndex;
+  private SimpleMeterRegistry meterRegistry;
   private MeetingService meetingService;
 
   @BeforeEach
   void setUp() {
-    meetingService = new MeetingService(meetingRepository, userCalendarRepository, restTemplate);
+    busyIntervalIndex = new BusyIntervalIndex(meetingRepository);
+    meterRegistry = new SimpleMeterRegistry();
+    membershipIndex =
+        new MembershipIndex(userCalendarRepository, userStateVersionRepository, meterRegistry);
+    ProviderEventCache providerEventCache =
+        new ProviderEventCache(
+            providerClient,
+            TestDataFactory.createProviderResilience(meterRegistry),
+            meterRegistry,
+            100,
+            Duration.ofMinutes(1),
+            Duration.ofHours(1));
+    meetingService =
+        new MeetingService(
+            meetingRepository,
+            archivedMeetingRepository,
+            userCalendarRepository,
+            membershipIndex,
+            busyIntervalIndex,
+            providerEventCache,
+            Runnable::run,
+            meterRegistry);
   }
 
   @Test
@@ -64,17 +112,15 @@ class MeetingServiceTest {
     UUID calendarId = UUID.randomUUID();
     UserCalendar userCalendar =
         TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
-    List<Meeting> meetings = TestDataFactory.createMeetingList(3, userCalendar, calendarId);
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(3, calendarId);
     LocalDateTime from = LocalDateTime.now().minusDays(1);
     LocalDateTime to = LocalDateTime.now().plusDays(1);
     Pageable pageable = PageRequest.of(0, 10);
-    Page<Meeting> meetingsPage = new PageImpl<>(meetings, pageable, meetings.size());
+    Page<MeetingDto> meetingsPage = new PageImpl<>(meetings, pageable, meetings.size());
 
     when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
         .thenReturn(Optional.of(userCalendar));
-    when(meetingRepository
-            .findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-                userCalendar, from, to, pageable))
+    when(meetingRepository.findMeetingPageByUserCalendar(userCalendar, from, to, pageable))
         .thenReturn(meetingsPage);
 
     // When
@@ -83,9 +129,7 @@ class MeetingServiceTest {
     // Then
     assertThat(result.getContent()).hasSize(3);
     verify(userCalendarRepository).findByCalendarIdAndUserId(calendarId, userId);
-    verify(meetingRepository)
-        .findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-            userCalendar, from, to, pageable);
+    verify(meetingRepository).findMeetingPageByUserCalendar(userCalendar, from, to, pageable);
   }
 
   @Test
@@ -106,9 +150,118 @@ class MeetingServiceTest {
         CalendarNotFoundException.class,
         () -> meetingService.findMeetings(userId, calendarId, from, to, pageable));
     verify(userCalendarRepository).findByCalendarIdAndUserId(calendarId, userId);
-    verify(meetingRepository, never())
-        .findByUserCalendarAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(
-            any(), any(), any(), any());
+    verify(meetingRepository, never()).findMeetingPageByUserCalendar(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should validate the calendar from the membership index without querying it")
+  void findMeetings_WhenCalendarIndexed_ShouldNotQueryUserCalendars() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    Pageable pageable = PageRequest.of(0, 10);
+    membershipIndex.start();
+    membershipIndex.put(userCalendar, 0L);
+
+    when(meetingRepository.findMeetingPageByUserCalendar(userCalendar, from, to, pageable))
+        .thenReturn(Page.empty(pageable));
+
+    // When
+    Page<MeetingDto> result = meetingService.findMeetings(userId, calendarId, from, to, pageable);
+
+    // Then
+    assertThat(result.getContent()).isEmpty();
+    verify(userCalendarRepository, never()).findByCalendarIdAndUserId(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should list a historic range with one query over meetings and archive")
+  void findMeetings_WhenRangeIsHistoric_ShouldReadMeetingsWithArchive() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.HOURS);
+    LocalDateTime to = from.plusDays(7);
+    MeetingDto archived = historicMeeting("Archived", from.plusHours(3), calendarId);
+    MeetingDto hot = historicMeeting("Hot", from.plusHours(4), calendarId);
+    Pageable pageable = PageRequest.of(1, 2);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(archivedMeetingRepository.findMeetingPageWithArchive(
+            userCalendar.getId(), from, to, 2, 2L))
+        .thenReturn(
+            List.of(
+                TestDataFactory.createMeetingPageRow(archived, 4),
+                TestDataFactory.createMeetingPageRow(hot, 4)));
+
+    // When
+    Page<MeetingDto> result = meetingService.findMeetings(userId, calendarId, from, to, pageable);
+
+    // Then
+    assertThat(result.getContent()).containsExactly(archived, hot);
+    assertThat(result.getTotalElements()).isEqualTo(4);
+    assertThat(result.getNumber()).isEqualTo(1);
+    verify(archivedMeetingRepository, never()).countMeetingsWithArchive(any(), any(), any());
+    verifyNoInteractions(meetingRepository);
+  }
+
+  @Test
+  @DisplayName("Should count the meetings of a historic range when the page is past the last one")
+  void findMeetings_WhenHistoricPageIsPastLast_ShouldCountMeetingsWithArchive() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.HOURS);
+    LocalDateTime to = from.plusDays(7);
+    Pageable pageable = PageRequest.of(5, 2);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(archivedMeetingRepository.findMeetingPageWithArchive(
+            userCalendar.getId(), from, to, 2, 10L))
+        .thenReturn(List.of());
+    when(archivedMeetingRepository.countMeetingsWithArchive(userCalendar.getId(), from, to))
+        .thenReturn(4L);
+
+    // When
+    Page<MeetingDto> result = meetingService.findMeetings(userId, calendarId, from, to, pageable);
+
+    // Then
+    assertThat(result.getContent()).isEmpty();
+    assertThat(result.getTotalElements()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should not read the archive when listing a recent range")
+  void findMeetings_WhenRangeIsRecent_ShouldNotReadArchive() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(30);
+    LocalDateTime to = from.plusDays(7);
+    Pageable pageable = PageRequest.of(0, 10);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findMeetingPageByUserCalendar(userCalendar, from, to, pageable))
+        .thenReturn(Page.empty(pageable));
+
+    // When
+    meetingService.findMeetings(userId, calendarId, from, to, pageable);
+
+    // Then
+    verifyNoInteractions(archivedMeetingRepository);
   }
 
   @Test
@@ -198,18 +351,9 @@ class MeetingServiceTest {
 
     when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
         .thenReturn(Optional.of(userCalendar));
-    when(userCalendarRepository.findAllByCalendarId(calendarId))
-        .thenReturn(Collections.singletonList(userCalendar));
-    when(meetingRepository.findOverlappingMeetingsByUserCalendar(
-            eq(userCalendar), any(LocalDateTime.class), any(LocalDateTime.class)))
-        .thenReturn(Collections.emptyList());
-
-    @SuppressWarnings("rawtypes")
-    ResponseEntity<List> mockResponse =
-        new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
-    when(restTemplate.getForEntity(anyString(), eq(List.class))).thenReturn(mockResponse);
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
 
-    when(meetingRepository.save(any(Meeting.class))).thenReturn(savedMeeting);
+    when(meetingRepository.saveAndFlush(any(Meeting.class))).thenReturn(savedMeeting);
 
     // When
     MeetingDto result = meetingService.createMeeting(meetingDto, userId);
@@ -224,7 +368,7 @@ class MeetingServiceTest {
     assertThat(result.getCalendarId()).isEqualTo(calendarId);
 
     ArgumentCaptor<Meeting> meetingCaptor = ArgumentCaptor.forClass(Meeting.class);
-    verify(meetingRepository).save(meetingCaptor.capture());
+    verify(meetingRepository).saveAndFlush(meetingCaptor.capture());
     Meeting capturedMeeting = meetingCaptor.getValue();
     assertThat(capturedMeeting.getTitle()).isEqualTo("New Meeting");
     assertThat(capturedMeeting.getDescription()).isEqualTo("New Description");
@@ -235,6 +379,29 @@ class MeetingServiceTest {
     assertThat(capturedMeeting.getCalendarId()).isEqualTo(calendarId);
   }
 
+  @Test
+  @DisplayName("Should not create a meeting for a user calendar removed since it was indexed")
+  void createMeeting_WhenIndexedCalendarRemoved_ShouldThrowCalendarNotFoundException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    membershipIndex.start();
+    membershipIndex.put(
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId), 0L);
+    LocalDateTime startTime = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MINUTES);
+    MeetingDto meetingDto =
+        TestDataFactory.createMeetingDto(
+            null, "New Meeting", null, startTime, startTime.plusHours(1), null, calendarId);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.empty());
+
+    // When/Then
+    assertThrows(
+        CalendarNotFoundException.class, () -> meetingService.createMeeting(meetingDto, userId));
+    verify(meetingRepository, never()).saveAndFlush(any(Meeting.class));
+  }
+
   @Test
   @DisplayName("Should throw IllegalArgumentException when end time is before start time")
   void createMeeting_WhenEndTimeBeforeStartTime_ShouldThrowIllegalArgumentException() {
@@ -257,7 +424,36 @@ class MeetingServiceTest {
     assertThrows(
         IllegalArgumentException.class, () -> meetingService.createMeeting(meetingDto, userId));
     verify(userCalendarRepository).findByCalendarIdAndUserId(calendarId, userId);
-    verify(meetingRepository, never()).save(any(Meeting.class));
+    verify(meetingRepository, never()).saveAndFlush(any(Meeting.class));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgumentException when end time equals start time")
+  void createMeeting_WhenEndTimeEqualsStartTime_ShouldThrowIllegalArgumentException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime startTime = LocalDateTime.now().plusHours(1);
+
+    MeetingDto meetingDto =
+        TestDataFactory.createMeetingDto(
+            null,
+            "New Meeting",
+            "New Description",
+            startTime,
+            startTime,
+            "New Location",
+            calendarId);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    // When/Then
+    assertThrows(
+        IllegalArgumentException.class, () -> meetingService.createMeeting(meetingDto, userId));
+    verify(meetingRepository, never()).saveAndFlush(any(Meeting.class));
   }
 
   @Test
@@ -297,18 +493,9 @@ class MeetingServiceTest {
         .thenReturn(Optional.of(userCalendar));
     when(meetingRepository.findByUserCalendarAndId(userCalendar, meetingId))
         .thenReturn(Optional.of(existingMeeting));
-    when(userCalendarRepository.findAllByCalendarId(calendarId))
-        .thenReturn(Collections.singletonList(userCalendar));
-    when(meetingRepository.findOverlappingMeetingsByUserCalendar(
-            eq(userCalendar), any(LocalDateTime.class), any(LocalDateTime.class)))
-        .thenReturn(Collections.emptyList());
-
-    @SuppressWarnings("rawtypes")
-    ResponseEntity<List> mockResponse =
-        new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
-    when(restTemplate.getForEntity(anyString(), eq(List.class))).thenReturn(mockResponse);
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
 
-    when(meetingRepository.save(any(Meeting.class))).thenAnswer(i -> i.getArgument(0));
+    when(meetingRepository.saveAndFlush(any(Meeting.class))).thenAnswer(i -> i.getArgument(0));
 
     // When
     MeetingDto result = meetingService.updateMeeting(meetingId, meetingDto, userId);
@@ -323,7 +510,7 @@ class MeetingServiceTest {
     assertThat(result.getCalendarId()).isEqualTo(calendarId);
 
     ArgumentCaptor<Meeting> meetingCaptor = ArgumentCaptor.forClass(Meeting.class);
-    verify(meetingRepository).save(meetingCaptor.capture());
+    verify(meetingRepository).saveAndFlush(meetingCaptor.capture());
     Meeting capturedMeeting = meetingCaptor.getValue();
     assertThat(capturedMeeting.getTitle()).isEqualTo("Updated Meeting");
     assertThat(capturedMeeting.getDescription()).isEqualTo("Updated Description");
@@ -362,7 +549,7 @@ class MeetingServiceTest {
         () -> meetingService.updateMeeting(meetingId, meetingDto, userId));
     verify(userCalendarRepository).findByCalendarIdAndUserId(calendarId, userId);
     verify(meetingRepository).findByUserCalendarAndId(userCalendar, meetingId);
-    verify(meetingRepository, never()).save(any(Meeting.class));
+    verify(meetingRepository, never()).saveAndFlush(any(Meeting.class));
   }
 
   @Test
@@ -420,6 +607,193 @@ class MeetingServiceTest {
     verify(meetingRepository, never()).delete(any(Meeting.class));
   }
 
+  @Test
+  @DisplayName("Should return a cursor to the next page when more meetings follow")
+  void findMeetingsAfter_WhenMoreMeetings_ShouldReturnNextCursor() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(3, calendarId);
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findMeetingsByUserCalendar(userCalendar, from, to, PageRequest.of(0, 2)))
+        .thenReturn(new SliceImpl<>(meetings.subList(0, 2), PageRequest.of(0, 2), true));
+
+    // When
+    CursorPageDto<MeetingDto> result =
+        meetingService.findMeetingsAfter(userId, calendarId, from, to, "", 2);
+
+    // Then
+    assertThat(result.getContent()).containsExactly(meetings.get(0), meetings.get(1));
+    assertThat(MeetingCursor.decode(result.getNextCursor()))
+        .isEqualTo(MeetingCursor.after(meetings.get(1)));
+  }
+
+  @Test
+  @DisplayName("Should continue after the cursor and end with the last page")
+  void findMeetingsAfter_WhenCursorGiven_ShouldSeekPastCursor() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(3, calendarId);
+    MeetingCursor cursor = MeetingCursor.after(meetings.get(1));
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findMeetingsByUserCalendarAfter(
+            userCalendar, from, to, cursor.startTime(), cursor.id(), PageRequest.of(0, 2)))
+        .thenReturn(new SliceImpl<>(List.of(meetings.get(2)), PageRequest.of(0, 2), false));
+
+    // When
+    CursorPageDto<MeetingDto> result =
+        meetingService.findMeetingsAfter(userId, calendarId, from, to, cursor.encode(), 2);
+
+    // Then
+    assertThat(result.getContent()).containsExactly(meetings.get(2));
+    assertThat(result.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should throw exception when the cursor is malformed")
+  void findMeetingsAfter_WhenCursorMalformed_ShouldThrowException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    // When/Then
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> meetingService.findMeetingsAfter(userId, calendarId, from, to, "not-a-cursor", 2));
+    verifyNoInteractions(meetingRepository);
+  }
+
+  @Test
+  @DisplayName("Should return a slice of meetings without counting them")
+  void findMeetingSlice_ShouldReturnSliceWithoutCount() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(2, calendarId);
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    Pageable pageable = PageRequest.of(1, 2);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findMeetingsByUserCalendar(userCalendar, from, to, pageable))
+        .thenReturn(new SliceImpl<>(meetings, pageable, true));
+
+    // When
+    Slice<MeetingDto> result =
+        meetingService.findMeetingSlice(userId, calendarId, from, to, pageable);
+
+    // Then
+    assertThat(result.getContent()).hasSize(2);
+    assertThat(result.hasNext()).isTrue();
+    assertThat(result.getNumber()).isEqualTo(1);
+    verify(meetingRepository, never()).findMeetingPageByUserCalendar(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should pass every streamed meeting to the consumer when exporting beyond 7 days")
+  void exportMeetings_ShouldStreamMeetingsWithoutRangeLimit() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    List<MeetingDto> meetings = TestDataFactory.createMeetingDtoList(3, calendarId);
+    LocalDateTime from = LocalDateTime.now().minusYears(1);
+    LocalDateTime to = LocalDateTime.now().plusYears(1);
+    List<MeetingDto> exported = new ArrayList<>();
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.streamMeetingsByUserCalendar(userCalendar, from, to))
+        .thenReturn(meetings.stream());
+
+    // When
+    long result = meetingService.exportMeetings(userId, calendarId, from, to, exported::add);
+
+    // Then
+    assertThat(result).isEqualTo(3);
+    assertThat(exported).containsExactlyElementsOf(meetings);
+  }
+
+  @Test
+  @DisplayName("Should close the meeting stream when the consumer fails")
+  void exportMeetings_WhenConsumerFails_ShouldCloseStream() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    AtomicBoolean closed = new AtomicBoolean();
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.streamMeetingsByUserCalendar(userCalendar, from, to))
+        .thenReturn(
+            TestDataFactory.createMeetingDtoList(2, calendarId).stream()
+                .onClose(() -> closed.set(true)));
+
+    // When/Then
+    assertThrows(
+        UncheckedIOException.class,
+        () ->
+            meetingService.exportMeetings(
+                userId,
+                calendarId,
+                from,
+                to,
+                meeting -> {
+                  throw new UncheckedIOException(new IOException("Broken pipe"));
+                }));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should throw exception when exporting with start time after end time")
+  void exportMeetings_WhenRangeReversed_ShouldThrowException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now();
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    // When/Then
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            meetingService.exportMeetings(
+                userId, calendarId, from, from.minusDays(1), meeting -> {}));
+    verifyNoInteractions(meetingRepository);
+  }
+
   @Test
   @DisplayName("Should find available time slots when no conflicts exist")
   void findAvailableTimeSlots_WhenNoConflicts_ShouldReturnAvailableSlots() {
@@ -435,13 +809,10 @@ class MeetingServiceTest {
 
     when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
         .thenReturn(Optional.of(userCalendar));
-    when(meetingRepository.findOverlappingMeetingsByUserCalendar(userCalendar, from, to))
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
         .thenReturn(Collections.emptyList());
 
-    @SuppressWarnings("rawtypes")
-    ResponseEntity<List> mockResponse =
-        new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
-    when(restTemplate.getForEntity(anyString(), eq(List.class))).thenReturn(mockResponse);
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
 
     // When
     Page<TimeSlotDto> result =
@@ -458,5 +829,447 @@ class MeetingServiceTest {
     assertThat(result.getContent().get(2).getEndTime()).isEqualTo(from.plusMinutes(90));
     assertThat(result.getContent().get(3).getStartTime()).isEqualTo(from.plusMinutes(90));
     assertThat(result.getContent().get(3).getEndTime()).isEqualTo(from.plusMinutes(120));
+    for (String stage : List.of("meetings", "provider", "compute", "total")) {
+      assertThat(
+              meterRegistry
+                  .get("meeting.stage")
+                  .tags("operation", "slots", "stage", stage)
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw ProviderUnavailableException when external events are unavailable")
+  void findAvailableTimeSlots_WhenProviderUnavailable_ShouldThrowProviderUnavailableException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime to = from.plusHours(2);
+    Pageable pageable = PageRequest.of(0, 10);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(Collections.emptyList());
+    when(providerClient.getEvents(eq(calendarId), any(), any()))
+        .thenThrow(new ResourceAccessException("Read timed out"));
+
+    // When/Then
+    assertThrows(
+        ProviderUnavailableException.class,
+        () -> meetingService.findAvailableTimeSlots(userId, calendarId, from, to, 30, pageable));
+    verify(providerClient, times(3)).getEvents(eq(calendarId), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgumentException when the overlap constraint is violated")
+  void createMeeting_WhenOverlapConstraintViolated_ShouldThrowIllegalArgumentException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime startTime = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime endTime = startTime.plusHours(1);
+
+    MeetingDto meetingDto =
+        TestDataFactory.createMeetingDto(
+            null, "New Meeting", "New Description", startTime, endTime, "New Location", calendarId);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
+
+    SQLException cause =
+        new SQLException(
+            "ERROR: conflicting key value violates exclusion constraint \"meetings_no_overlap\"",
+            "23P01");
+    when(meetingRepository.saveAndFlush(any(Meeting.class)))
+        .thenThrow(new DataIntegrityViolationException("could not execute statement", cause));
+
+    // When/Then
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> meetingService.createMeeting(meetingDto, userId));
+    assertThat(exception.getMessage()).isEqualTo("The meeting conflicts with existing meetings");
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgumentException when the meeting overlaps an external event")
+  void createMeeting_WhenExternalEventConflicts_ShouldThrowIllegalArgumentException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime startTime = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime endTime = startTime.plusHours(1);
+
+    MeetingDto meetingDto =
+        TestDataFactory.createMeetingDto(
+            null, "New Meeting", "New Description", startTime, endTime, "New Location", calendarId);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    ExternalEvent externalEvent =
+        new ExternalEvent(startTime.plusMinutes(30), endTime.plusMinutes(30));
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of(externalEvent));
+
+    when(meetingRepository.saveAndFlush(any(Meeting.class))).thenAnswer(i -> i.getArgument(0));
+
+    // When/Then
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> meetingService.createMeeting(meetingDto, userId));
+    assertThat(exception.getMessage()).isEqualTo("The meeting conflicts with external events");
+    assertThat(
+            meterRegistry
+                .get("meeting.stage")
+                .tags("operation", "conflicts", "stage", "provider")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should create the meetings without conflicts in one batch and report the others")
+  void createMeetings_ShouldReportResultPerMeeting() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    Meeting storedMeeting =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Stored Meeting",
+            null,
+            from.plusMinutes(70),
+            from.plusMinutes(80),
+            null,
+            userCalendar,
+            calendarId);
+    BulkMeetingRequestDto request =
+        BulkMeetingRequestDto.builder()
+            .calendarId(calendarId)
+            .meetings(
+                List.of(
+                    bulkMeeting("Late", from.plusMinutes(180), from.plusMinutes(210)),
+                    bulkMeeting("Reversed", from.plusMinutes(30), from),
+                    bulkMeeting("First", from, from.plusMinutes(30)),
+                    bulkMeeting("Overlapping", from.plusMinutes(15), from.plusMinutes(45)),
+                    bulkMeeting("Touching", from.plusMinutes(30), from.plusMinutes(60)),
+                    bulkMeeting("Stored", from.plusMinutes(60), from.plusMinutes(90)),
+                    bulkMeeting("External", from.plusMinutes(120), from.plusMinutes(150))))
+            .build();
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findIntervalsOverlapping(
+            calendarId, from, from.plusMinutes(210), from.minusHours(8)))
+        .thenReturn(TestDataFactory.createMeetingIntervals(storedMeeting));
+    when(providerClient.getEvents(eq(calendarId), any(), any()))
+        .thenReturn(List.of(new ExternalEvent(from.plusMinutes(150), from.plusMinutes(160))));
+    when(meetingRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Meeting> meetings = invocation.getArgument(0);
+              meetings.forEach(meeting -> meeting.setId(UUID.randomUUID()));
+              return meetings;
+            });
+
+    // When
+    BulkMeetingResponseDto response = meetingService.createMeetings(request, userId);
+
+    // Then
+    assertThat(response.getCreated()).isEqualTo(3);
+    assertThat(response.getFailed()).isEqualTo(4);
+    assertThat(response.getResults())
+        .extracting(BulkMeetingResultDto::getIndex, BulkMeetingResultDto::getStatus)
+        .containsExactly(
+            tuple(0, BulkMeetingResultDto.Status.CREATED),
+            tuple(1, BulkMeetingResultDto.Status.INVALID),
+            tuple(2, BulkMeetingResultDto.Status.CREATED),
+            tuple(3, BulkMeetingResultDto.Status.CONFLICT),
+            tuple(4, BulkMeetingResultDto.Status.CREATED),
+            tuple(5, BulkMeetingResultDto.Status.CONFLICT),
+            tuple(6, BulkMeetingResultDto.Status.CONFLICT));
+    assertThat(response.getResults().get(3).getError())
+        .isEqualTo("The meeting conflicts with meeting 2 of the batch");
+    assertThat(response.getResults().get(5).getError())
+        .isEqualTo("The meeting conflicts with existing meetings");
+    assertThat(response.getResults().get(6).getError())
+        .isEqualTo("The meeting conflicts with external events");
+    assertThat(response.getResults().get(0).getMeeting().getId()).isNotNull();
+    assertThat(response.getResults().get(0).getMeeting().getTitle()).isEqualTo("Late");
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Meeting>> meetingsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(meetingRepository).saveAll(meetingsCaptor.capture());
+    assertThat(meetingsCaptor.getValue())
+        .extracting(Meeting::getTitle)
+        .containsExactly("First", "Touching", "Late");
+    verify(meetingRepository).flush();
+    verify(meetingRepository, never()).saveAndFlush(any(Meeting.class));
+    verify(providerClient, times(1)).getEvents(eq(calendarId), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should read a bulk creation spanning several weeks in windows of the maximum range")
+  void createMeetings_WhenRangeSpansWeeks_ShouldReadEachWindowOnce() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    LocalDateTime thirdWeek = from.plusDays(21);
+    Meeting storedMeeting =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Stored Meeting",
+            null,
+            thirdWeek,
+            thirdWeek.plusHours(1),
+            null,
+            userCalendar,
+            calendarId);
+    BulkMeetingRequestDto request =
+        BulkMeetingRequestDto.builder()
+            .calendarId(calendarId)
+            .meetings(
+                List.of(
+                    bulkMeeting("Stored", thirdWeek, thirdWeek.plusHours(1)),
+                    bulkMeeting("First", from, from.plusHours(1)),
+                    bulkMeeting("Same Week", from.plusDays(6), from.plusDays(6).plusHours(1)),
+                    bulkMeeting("Next Week", from.plusDays(8), from.plusDays(8).plusHours(1)),
+                    bulkMeeting("Third Week", thirdWeek.plusHours(2), thirdWeek.plusHours(3))))
+            .build();
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    lenient()
+        .when(
+            meetingRepository.findIntervalsOverlapping(
+                calendarId, thirdWeek, thirdWeek.plusHours(3), thirdWeek.minusHours(8)))
+        .thenReturn(TestDataFactory.createMeetingIntervals(storedMeeting));
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
+    when(meetingRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Meeting> meetings = invocation.getArgument(0);
+              meetings.forEach(meeting -> meeting.setId(UUID.randomUUID()));
+              return meetings;
+            });
+
+    // When
+    BulkMeetingResponseDto response = meetingService.createMeetings(request, userId);
+
+    // Then
+    assertThat(response.getCreated()).isEqualTo(4);
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(response.getResults().get(0).getError())
+        .isEqualTo("The meeting conflicts with existing meetings");
+    verify(meetingRepository)
+        .findIntervalsOverlapping(
+            calendarId, from, from.plusDays(6).plusHours(1), from.minusHours(8));
+    verify(meetingRepository)
+        .findIntervalsOverlapping(
+            calendarId,
+            from.plusDays(8),
+            from.plusDays(8).plusHours(1),
+            from.plusDays(8).minusHours(8));
+    verify(meetingRepository)
+        .findIntervalsOverlapping(
+            calendarId, thirdWeek, thirdWeek.plusHours(3), thirdWeek.minusHours(8));
+    verify(providerClient, times(3)).getEvents(eq(calendarId), any(), any());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Meeting>> meetingsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(meetingRepository).saveAll(meetingsCaptor.capture());
+    assertThat(meetingsCaptor.getValue())
+        .extracting(Meeting::getTitle)
+        .containsExactly("First", "Same Week", "Next Week", "Third Week");
+  }
+
+  @Test
+  @DisplayName("Should propagate integrity violations that are not meeting overlaps")
+  void createMeeting_WhenOtherConstraintViolated_ShouldPropagateException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime startTime = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime endTime = startTime.plusHours(1);
+
+    MeetingDto meetingDto =
+        TestDataFactory.createMeetingDto(
+            null, "New Meeting", "New Description", startTime, endTime, "New Location", calendarId);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
+
+    SQLException cause = new SQLException("ERROR: foreign key violation", "23503");
+    when(meetingRepository.saveAndFlush(any(Meeting.class)))
+        .thenThrow(new DataIntegrityViolationException("could not execute statement", cause));
+
+    // When/Then
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> meetingService.createMeeting(meetingDto, userId));
+  }
+
+  @Test
+  @DisplayName("Should serve busy meetings from the index without reloading the calendar")
+  void findAvailableTimeSlots_WhenCalendarIndexed_ShouldNotReloadMeetings() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime to = from.plusHours(2);
+    Meeting meeting =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Busy Meeting",
+            "Busy Description",
+            from.plusMinutes(30),
+            from.plusMinutes(60),
+            "Busy Location",
+            userCalendar,
+            calendarId);
+    Pageable pageable = PageRequest.of(0, 10);
+
+    when(userCalendarRepository.findByCalendarIdAndUserId(calendarId, userId))
+        .thenReturn(Optional.of(userCalendar));
+    when(meetingRepository.findIntervalsOverlapping(eq(calendarId), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(meeting));
+
+    when(providerClient.getEvents(eq(calendarId), any(), any())).thenReturn(List.of());
+
+    // When
+    meetingService.findAvailableTimeSlots(userId, calendarId, from, to, 30, pageable);
+    Page<TimeSlotDto> result =
+        meetingService.findAvailableTimeSlots(userId, calendarId, from, to, 30, pageable);
+
+    // Then
+    assertThat(result.getContent()).hasSize(3);
+    assertThat(result.getContent().get(0).getStartTime()).isEqualTo(from);
+    assertThat(result.getContent().get(1).getStartTime()).isEqualTo(from.plusMinutes(60));
+    assertThat(result.getContent().get(2).getStartTime()).isEqualTo(from.plusMinutes(90));
+    verify(meetingRepository, times(1))
+        .findIntervalsOverlapping(eq(calendarId), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should find slots in which every participant is free, loading calendars in batch")
+  void findGroupAvailableTimeSlots_ShouldIntersectParticipantCalendars() {
+    // Given
+    UUID firstUserId = UUID.randomUUID();
+    UUID secondUserId = UUID.randomUUID();
+    UUID firstCalendarId = UUID.randomUUID();
+    UUID secondCalendarId = UUID.randomUUID();
+    UserCalendar firstUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), firstCalendarId, firstUserId);
+    UserCalendar secondUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), secondCalendarId, secondUserId);
+    UserCalendar crossUserCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), secondCalendarId, firstUserId);
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime to = from.plusHours(3);
+    Meeting firstMeeting =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "First Meeting",
+            null,
+            from,
+            from.plusMinutes(30),
+            null,
+            firstUserCalendar,
+            firstCalendarId);
+    Meeting crossMeeting =
+        TestDataFactory.createMeeting(
+            UUID.randomUUID(),
+            "Cross Meeting",
+            null,
+            from.plusMinutes(30),
+            from.plusMinutes(90),
+            null,
+            crossUserCalendar,
+            secondCalendarId);
+    List<ParticipantDto> participants =
+        List.of(
+            new ParticipantDto(firstUserId, firstCalendarId),
+            new ParticipantDto(secondUserId, secondCalendarId));
+    Pageable pageable = PageRequest.of(0, 10);
+
+    when(userCalendarRepository.findAllByUserIdInAndCalendarIdIn(anyCollection(), anyCollection()))
+        .thenReturn(List.of(firstUserCalendar, secondUserCalendar, crossUserCalendar));
+    when(meetingRepository.findIntervalsByCalendarIdInOverlapping(
+            anyCollection(), any(), any(), any()))
+        .thenReturn(TestDataFactory.createMeetingIntervals(firstMeeting, crossMeeting));
+    when(providerClient.getEvents(eq(firstCalendarId), any(), any())).thenReturn(List.of());
+    when(providerClient.getEvents(eq(secondCalendarId), any(), any()))
+        .thenReturn(List.of(new ExternalEvent(from.plusMinutes(60), from.plusMinutes(120))));
+
+    // When
+    Page<TimeSlotDto> result =
+        meetingService.findGroupAvailableTimeSlots(participants, from, to, 30, pageable);
+
+    // Then
+    assertThat(result.getContent())
+        .extracting(TimeSlotDto::getStartTime)
+        .containsExactly(from.plusMinutes(30), from.plusMinutes(120), from.plusMinutes(150));
+    verify(meetingRepository, times(1))
+        .findIntervalsByCalendarIdInOverlapping(anyCollection(), any(), any(), any());
+    verify(meetingRepository, never()).findIntervalsOverlapping(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should throw exception when a participant's calendar is not found")
+  void findGroupAvailableTimeSlots_WhenParticipantCalendarNotFound_ShouldThrowException() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserCalendar userCalendar =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), calendarId, userId);
+    ParticipantDto missing = new ParticipantDto(UUID.randomUUID(), calendarId);
+    LocalDateTime from = LocalDateTime.now();
+    LocalDateTime to = from.plusHours(2);
+    Pageable pageable = PageRequest.of(0, 10);
+
+    when(userCalendarRepository.findAllByUserIdInAndCalendarIdIn(anyCollection(), anyCollection()))
+        .thenReturn(List.of(userCalendar));
+
+    // When/Then
+    assertThrows(
+        CalendarNotFoundException.class,
+        () ->
+            meetingService.findGroupAvailableTimeSlots(
+                List.of(new ParticipantDto(userId, calendarId), missing), from, to, 30, pageable));
+    verifyNoInteractions(meetingRepository, providerClient);
+  }
+
+  private static MeetingDto bulkMeeting(
+      String title, LocalDateTime startTime, LocalDateTime endTime) {
+    return TestDataFactory.createMeetingDto(null, title, null, startTime, endTime, null, null);
+  }
+
+  private static MeetingDto historicMeeting(
+      String title, LocalDateTime startTime, UUID calendarId) {
+    return TestDataFactory.createMeetingDto(
+        UUID.randomUUID(), title, null, startTime, startTime.plusMinutes(30), null, calendarId);
   }
 }
@@ -0,0 +1,209 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.entity.UserStateVersion;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.repository.UserStateVersionRepository;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for the MembershipIndex. These tests verify that user calendars are served from memory
+ * only while the index is started, that committed changes are applied, and that the consistency
+ * check counts the user calendars that differed from the database once their changes are applied.
+ */
+@ExtendWith(MockitoExtension.class)
+class MembershipIndexTest {
+
+  @Mock private UserCalendarRepository userCalendarRepository;
+  @Mock private UserStateVersionRepository userStateVersionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private MembershipIndex membershipIndex;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    membershipIndex =
+        new MembershipIndex(userCalendarRepository, userStateVersionRepository, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should find nothing before the index is started")
+  void find_WhenNotStarted_ShouldReturnEmpty() {
+    // Given
+    UserCalendar userCalendar = userCalendar();
+    membershipIndex.put(userCalendar, 0L);
+
+    // When/Then
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .isEmpty();
+    verifyNoInteractions(userCalendarRepository);
+  }
+
+  @Test
+  @DisplayName("Should serve loaded user calendars once started and publish the index size")
+  void start_ShouldIndexUserCalendars() {
+    // Given
+    UserCalendar userCalendar = userCalendar();
+    when(userCalendarRepository.findAll()).thenReturn(List.of(userCalendar));
+
+    // When
+    membershipIndex.start();
+
+    // Then
+    assertThat(membershipIndex.isServing()).isTrue();
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .contains(userCalendar);
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), UUID.randomUUID())).isEmpty();
+    assertThat(meterRegistry.get("calendar.membership.size").gauge().value()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("calendar.membership.staleness").gauge().value()).isLessThan(1.0);
+  }
+
+  @Test
+  @DisplayName("Should stay stopped when the index cannot be loaded")
+  void start_WhenDatabaseFails_ShouldStayStopped() {
+    // Given
+    when(userCalendarRepository.findAll())
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+    // When
+    membershipIndex.start();
+
+    // Then
+    assertThat(membershipIndex.isServing()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should send lookups to the database once stopped")
+  void stop_ShouldStopServingLookups() {
+    // Given
+    UserCalendar userCalendar = userCalendar();
+    when(userCalendarRepository.findAll()).thenReturn(List.of(userCalendar));
+    membershipIndex.start();
+
+    // When
+    membershipIndex.stop();
+
+    // Then
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .isEmpty();
+    assertThat(membershipIndex.reload()).isZero();
+    verify(userCalendarRepository, times(1)).findAll();
+  }
+
+  @Test
+  @DisplayName("Should apply added and removed user calendars")
+  void putAndRemove_ShouldUpdateIndex() {
+    // Given
+    UserCalendar userCalendar = userCalendar();
+    membershipIndex.start();
+
+    // When
+    membershipIndex.put(userCalendar, 0L);
+    membershipIndex.put(userCalendar, 0L);
+
+    // Then
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .contains(userCalendar);
+    assertThat(membershipIndex.size()).isEqualTo(1);
+
+    // When
+    membershipIndex.remove(userCalendar, 1L);
+
+    // Then
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .isEmpty();
+    assertThat(membershipIndex.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should count missing and extra user calendars as drift when reloading")
+  void reload_WhenIndexDiffers_ShouldCountDrift() {
+    // Given
+    UserCalendar kept = userCalendar();
+    UserCalendar missed = userCalendar();
+    UserCalendar extra = userCalendar();
+    when(userCalendarRepository.findAll())
+        .thenReturn(List.of(kept, extra))
+        .thenReturn(List.of(kept, missed));
+    membershipIndex.start();
+
+    // When
+    int differences = membershipIndex.reload();
+
+    // Then
+    assertThat(differences).isEqualTo(2);
+    assertThat(meterRegistry.get("calendar.membership.drift").counter().count()).isEqualTo(2.0);
+    assertThat(membershipIndex.find(missed.getCalendarId(), missed.getUserId())).contains(missed);
+    assertThat(membershipIndex.find(extra.getCalendarId(), extra.getUserId())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should not count changes that are committed but not yet applied as drift")
+  void reload_WhenChangeNotYetApplied_ShouldNotCountDrift() {
+    // Given
+    UserCalendar applied = userCalendar();
+    UserCalendar pending = userCalendar();
+    when(userCalendarRepository.findAll())
+        .thenReturn(List.of())
+        .thenReturn(List.of(applied, pending));
+    when(userStateVersionRepository.findAll())
+        .thenReturn(List.of())
+        .thenReturn(List.of(version(applied, 3L), version(pending, 4L)));
+    membershipIndex.start();
+    membershipIndex.put(applied, 3L);
+
+    // When
+    int differences = membershipIndex.reload();
+
+    // Then
+    assertThat(differences).isZero();
+    assertThat(membershipIndex.find(pending.getCalendarId(), pending.getUserId()))
+        .contains(pending);
+  }
+
+  @Test
+  @DisplayName("Should keep the indexed user calendars when reloading fails")
+  void reload_WhenDatabaseFails_ShouldKeepIndex() {
+    // Given
+    UserCalendar userCalendar = userCalendar();
+    when(userCalendarRepository.findAll())
+        .thenReturn(List.of(userCalendar))
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+    membershipIndex.start();
+
+    // When
+    int differences = membershipIndex.reload();
+
+    // Then
+    assertThat(differences).isZero();
+    assertThat(membershipIndex.find(userCalendar.getCalendarId(), userCalendar.getUserId()))
+        .contains(userCalendar);
+  }
+
+  private static UserStateVersion version(UserCalendar userCalendar, long offset) {
+    return UserStateVersion.builder()
+        .userId(userCalendar.getUserId())
+        .eventTimestamp(0L)
+        .eventOffset(offset)
+        .build();
+  }
+
+  private static UserCalendar userCalendar() {
+    return TestDataFactory.createUserCalendar(
+        UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+  }
+}
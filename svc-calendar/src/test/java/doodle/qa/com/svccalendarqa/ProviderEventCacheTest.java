@@ -0,0 +1,207 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.client.ExternalEvent;
+import doodle.qa.com.svccalendarqa.client.ProviderClient;
+import doodle.qa.com.svccalendarqa.client.ProviderEventCache;
+import doodle.qa.com.svccalendarqa.exception.ProviderUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for the ProviderEventCache. These tests verify that day buckets are reused across
+ * requests and that only missing days are fetched from the provider.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProviderEventCacheTest {
+
+  @Mock private ProviderClient providerClient;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ProviderEventCache providerEventCache;
+  private UUID calendarId;
+  private LocalDate day;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    providerEventCache = createCache(Duration.ofMinutes(1));
+    calendarId = UUID.randomUUID();
+    day = LocalDate.of(2030, 1, 7);
+  }
+
+  @Test
+  @DisplayName("Should serve a repeated request within the same day from the cache")
+  void getEvents_WhenDayCached_ShouldNotCallProvider() {
+    // Given
+    ExternalEvent event = event(day.atTime(10, 0), day.atTime(11, 0));
+    when(providerClient.getEvents(calendarId, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+        .thenReturn(List.of(event));
+
+    // When
+    List<ExternalEvent> first =
+        providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+    List<ExternalEvent> second =
+        providerEventCache.getEvents(calendarId, day.atTime(9, 30), day.atTime(12, 30));
+
+    // Then
+    assertThat(first).containsExactly(event);
+    assertThat(second).containsExactly(event);
+    verify(providerClient, times(1)).getEvents(any(), any(), any());
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should only return events that start within the requested range")
+  void getEvents_ShouldFilterEventsToRequestedRange() {
+    // Given
+    ExternalEvent early = event(day.atTime(8, 0), day.atTime(9, 0));
+    ExternalEvent inside = event(day.atTime(10, 0), day.atTime(11, 0));
+    ExternalEvent atEnd = event(day.atTime(12, 0), day.atTime(13, 0));
+    when(providerClient.getEvents(calendarId, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+        .thenReturn(List.of(early, inside, atEnd));
+
+    // When
+    List<ExternalEvent> result =
+        providerEventCache.getEvents(calendarId, day.atTime(9, 30), day.atTime(12, 0));
+
+    // Then
+    assertThat(result).containsExactly(inside, atEnd);
+  }
+
+  @Test
+  @DisplayName("Should fetch only the missing days when a wider range is requested")
+  void getEvents_WhenRangeWidens_ShouldFetchMissingDaysOnly() {
+    // Given
+    ExternalEvent firstDayEvent = event(day.atTime(10, 0), day.atTime(11, 0));
+    ExternalEvent nextDayEvent =
+        event(day.plusDays(1).atTime(10, 0), day.plusDays(1).atTime(11, 0));
+    ExternalEvent lastDayEvent =
+        event(day.plusDays(2).atTime(10, 0), day.plusDays(2).atTime(11, 0));
+    when(providerClient.getEvents(calendarId, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+        .thenReturn(List.of(firstDayEvent));
+    when(providerClient.getEvents(
+            calendarId, day.plusDays(1).atStartOfDay(), day.plusDays(3).atStartOfDay()))
+        .thenReturn(List.of(nextDayEvent, lastDayEvent));
+    providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+
+    // When
+    List<ExternalEvent> result =
+        providerEventCache.getEvents(calendarId, day.atStartOfDay(), day.plusDays(2).atTime(23, 0));
+
+    // Then
+    assertThat(result).containsExactly(firstDayEvent, nextDayEvent, lastDayEvent);
+    verify(providerClient, times(2)).getEvents(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should fetch events again after the calendar has been invalidated")
+  void invalidate_ShouldDropCachedDays() {
+    // Given
+    when(providerClient.getEvents(calendarId, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+        .thenReturn(List.of());
+    providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+
+    // When
+    providerEventCache.invalidate(calendarId);
+    providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+
+    // Then
+    verify(providerClient, times(2)).getEvents(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should serve last-known-good events when the provider fails")
+  void getEvents_WhenProviderFails_ShouldServeLastKnownGoodEvents() {
+    // Given
+    providerEventCache = createCache(Duration.ZERO);
+    ExternalEvent event = event(day.atTime(10, 0), day.atTime(11, 0));
+    when(providerClient.getEvents(calendarId, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+        .thenReturn(List.of(event))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+    providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+
+    // When
+    List<ExternalEvent> result =
+        providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0));
+
+    // Then
+    assertThat(result).containsExactly(event);
+    assertThat(meterRegistry.get("provider.events.stale").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should throw ProviderUnavailableException when there is no last-known-good data")
+  void getEvents_WhenProviderFailsWithoutLastKnownGood_ShouldThrowProviderUnavailable() {
+    // Given
+    when(providerClient.getEvents(any(), any(), any()))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+
+    // When/Then
+    assertThatThrownBy(
+            () -> providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0)))
+        .isInstanceOf(ProviderUnavailableException.class)
+        .hasCauseInstanceOf(ResourceAccessException.class);
+  }
+
+  @Test
+  @DisplayName("Should stop calling the provider once the circuit breaker has opened")
+  void getEvents_WhenCircuitOpen_ShouldNotCallProvider() {
+    // Given
+    when(providerClient.getEvents(any(), any(), any()))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+    for (int i = 0; i < 2; i++) {
+      LocalDate failingDay = day.plusDays(i);
+      assertThatThrownBy(
+              () ->
+                  providerEventCache.getEvents(
+                      calendarId, failingDay.atStartOfDay(), failingDay.atTime(12, 0)))
+          .isInstanceOf(ProviderUnavailableException.class);
+    }
+    clearInvocations(providerClient);
+
+    // When/Then
+    assertThatThrownBy(
+            () -> providerEventCache.getEvents(calendarId, day.atTime(9, 0), day.atTime(12, 0)))
+        .isInstanceOf(ProviderUnavailableException.class)
+        .hasCauseInstanceOf(CallNotPermittedException.class);
+    verifyNoInteractions(providerClient);
+    assertThat(
+            meterRegistry
+                .get("resilience4j.circuitbreaker.state")
+                .tags("name", "provider", "state", "open")
+                .gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  private ProviderEventCache createCache(Duration ttl) {
+    return new ProviderEventCache(
+        providerClient,
+        TestDataFactory.createProviderResilience(meterRegistry),
+        meterRegistry,
+        100,
+        ttl,
+        Duration.ofHours(1));
+  }
+
+  private static ExternalEvent event(LocalDateTime startTime, LocalDateTime endTime) {
+    return new ExternalEvent(startTime, endTime);
+  }
+}
@@ -0,0 +1,100 @@
+package doodle.qa.com.svccalendarqa;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import doodle.qa.com.svccalendarqa.client.ExternalEvent;
+import doodle.qa.com.svccalendarqa.client.ExternalEventReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of decoding a provider response into event intervals, comparing the previous {@code
+ * List<Map>} decode followed by parsing the start and end strings with the streaming {@link
+ * ExternalEventReader}. Run {@link #main} from the test classpath; the GC profiler reports the
+ * allocation rate as {@code gc.alloc.rate.norm}, in bytes per decoded response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderEventDecodeBenchmark {
+
+  @Param({"10000"})
+  private int events;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private byte[] response;
+
+  @Setup
+  public void setUp() throws IOException {
+    UUID calendarId = UUID.randomUUID();
+    LocalDateTime start = LocalDateTime.of(2030, 1, 7, 8, 0);
+    List<Map<String, Object>> body = new ArrayList<>();
+    for (int i = 0; i < events; i++) {
+      Map<String, Object> event = new LinkedHashMap<>();
+      event.put("id", UUID.randomUUID().toString());
+      event.put("title", "Event " + i);
+      event.put("description", "Imported from an external calendar");
+      event.put("startTime", start.plusMinutes(15L * i).toString());
+      event.put("endTime", start.plusMinutes(15L * i + 15).toString());
+      event.put("location", "Room " + (i % 20));
+      event.put("calendarId", calendarId.toString());
+      body.add(event);
+    }
+    response = objectMapper.writeValueAsBytes(body);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public List<ExternalEvent> mapBased() throws IOException {
+    List<Map<String, Object>> body = objectMapper.readValue(response, List.class);
+    List<ExternalEvent> result = new ArrayList<>(body.size());
+    for (Map<String, Object> event : body) {
+      result.add(
+          new ExternalEvent(
+              LocalDateTime.parse((String) event.get("startTime")),
+              LocalDateTime.parse((String) event.get("endTime"))));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<ExternalEvent> streaming() throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+      return ExternalEventReader.read(parser);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ProviderEventDecodeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,172 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import doodle.qa.com.svccalendarqa.config.RestTemplateConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for the pooled provider HTTP client against a local provider stub. The throughput
+ * comparison with the previous unpooled client only runs with {@code -Dload-tests=true}, e.g.
+ * {@code mvn test -Dtest=ProviderHttpClientLoadTest -Dload-tests=true}, and prints its results.
+ */
+class ProviderHttpClientLoadTest {
+
+  private static final int REQUESTS = 5000;
+  private static final int CONCURRENCY = 32;
+  private static final int STUB_LATENCY_MILLIS = 2;
+
+  private final RestTemplateConfig restTemplateConfig = new RestTemplateConfig();
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private String baseUrl;
+  private SimpleMeterRegistry meterRegistry;
+  private CloseableHttpClient httpClient;
+  private RestTemplate pooledRestTemplate;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverExecutor = Executors.newFixedThreadPool(CONCURRENCY * 2);
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/api/events", this::handle);
+    server.setExecutor(serverExecutor);
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api/events";
+
+    meterRegistry = new SimpleMeterRegistry();
+    PoolingHttpClientConnectionManager connectionManager =
+        restTemplateConfig.providerConnectionManager(
+            200, 50, Duration.ofSeconds(1), Duration.ofMillis(200), meterRegistry);
+    httpClient =
+        restTemplateConfig.providerHttpClient(
+            connectionManager,
+            Duration.ofMillis(500),
+            Duration.ofMillis(200),
+            Duration.ofSeconds(30));
+    pooledRestTemplate = restTemplateConfig.restTemplate(httpClient);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    httpClient.close();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should fail fast when the provider does not answer within the read timeout")
+  void pooledClient_WhenProviderIsSlow_ShouldTimeOut() {
+    // Given
+    long started = System.nanoTime();
+
+    // When/Then
+    assertThrows(
+        ResourceAccessException.class,
+        () -> pooledRestTemplate.getForEntity(baseUrl + "?delay=2000", List.class));
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+  }
+
+  @Test
+  @DisplayName("Should publish connection pool metrics")
+  void pooledClient_ShouldPublishPoolMetrics() {
+    // When
+    pooledRestTemplate.getForEntity(baseUrl, List.class);
+
+    // Then
+    assertThat(
+            meterRegistry
+                .get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "provider")
+                .gauge()
+                .value())
+        .isEqualTo(200);
+    assertThat(
+            meterRegistry
+                .get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "provider", "state", "available")
+                .gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "load-tests", matches = "true")
+  @DisplayName("Should sustain a higher throughput than the unpooled client")
+  void pooledClient_ShouldOutperformUnpooledClient() throws Exception {
+    // Given
+    RestTemplate unpooledRestTemplate = new RestTemplate();
+    run(unpooledRestTemplate, REQUESTS / 10);
+    run(pooledRestTemplate, REQUESTS / 10);
+
+    // When
+    double unpooled = run(unpooledRestTemplate, REQUESTS);
+    double pooled = run(pooledRestTemplate, REQUESTS);
+
+    // Then
+    assertThat(pooled)
+        .as(
+            "Pooled throughput with %d concurrent callers, unpooled %.0f req/s",
+            CONCURRENCY, unpooled)
+        .isGreaterThan(unpooled);
+  }
+
+  /** Run the given number of requests from concurrent callers and return requests per second. */
+  private double run(RestTemplate restTemplate, int requests) throws Exception {
+    ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+    try {
+      String url = baseUrl + "?delay=" + STUB_LATENCY_MILLIS;
+      long started = System.nanoTime();
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < requests; i++) {
+        results.add(callers.submit(() -> restTemplate.getForEntity(url, List.class)));
+      }
+      for (Future<?> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+      return requests / (Duration.ofNanos(System.nanoTime() - started).toMillis() / 1000.0);
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String query = exchange.getRequestURI().getQuery();
+    if (query != null && query.startsWith("delay=")) {
+      try {
+        Thread.sleep(Long.parseLong(query.substring("delay=".length())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
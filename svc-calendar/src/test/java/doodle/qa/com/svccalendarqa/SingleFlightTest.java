@@ -0,0 +1,118 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import doodle.qa.com.svccalendarqa.client.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the SingleFlight. These tests verify that concurrent calls for the same key share
+ * one call and that collapsed calls are counted.
+ */
+class SingleFlightTest {
+
+  private Counter collapsed;
+  private SingleFlight<String, String> singleFlight;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    collapsed = new SimpleMeterRegistry().counter("collapsed");
+    singleFlight = new SingleFlight<>(collapsed);
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should share one call between concurrent callers for the same key")
+  void execute_WhenCallInFlight_ShouldShareResult() throws Exception {
+    // Given
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    CompletableFuture<String> leader =
+        CompletableFuture.supplyAsync(
+            () ->
+                singleFlight.execute(
+                    "key",
+                    () -> {
+                      calls.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "result";
+                    }),
+            executor);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // When
+    CompletableFuture<String> follower =
+        CompletableFuture.supplyAsync(
+            () -> singleFlight.execute("key", () -> "unexpected " + calls.incrementAndGet()),
+            executor);
+    while (collapsed.count() < 1) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    // Then
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(collapsed.count()).isEqualTo(1);
+    assertThat(singleFlight.inFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should run a new call once the previous call for the key has completed")
+  void execute_WhenNoCallInFlight_ShouldRunCall() {
+    // When
+    String first = singleFlight.execute("key", () -> "first");
+    String second = singleFlight.execute("key", () -> "second");
+
+    // Then
+    assertThat(first).isEqualTo("first");
+    assertThat(second).isEqualTo("second");
+    assertThat(collapsed.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should release the key when the call fails")
+  void execute_WhenCallFails_ShouldPropagateAndReleaseKey() {
+    // When/Then
+    assertThatThrownBy(
+            () ->
+                singleFlight.execute(
+                    "key",
+                    () -> {
+                      throw new IllegalStateException("Provider down");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Provider down");
+    assertThat(singleFlight.inFlight()).isZero();
+    assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package doodle.qa.com.svccalendarqa;
+
+import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
+import doodle.qa.com.svccalendarqa.service.BusyInterval;
+import doodle.qa.com.svccalendarqa.service.FreeSlots;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of producing one page of 15-minute slots over a 7-day range, comparing materializing
+ * every slot and taking a sublist with generating the page lazily through {@link FreeSlots}. Run
+ * {@link #main} from the test classpath; the GC profiler reports allocations per page as {@code
+ * gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotGenerationBenchmark {
+
+  private static final Duration SLOT_DURATION = Duration.ofMinutes(15);
+  private static final int PAGE_SIZE = 10;
+
+  /** Number of one-hour meetings spread over the range. */
+  @Param({"0", "50", "200"})
+  private int meetings;
+
+  /** Index of the requested page. */
+  @Param({"0", "40"})
+  private int page;
+
+  private LocalDateTime from;
+  private LocalDateTime to;
+  private List<BusyInterval> busyIntervals;
+
+  @Setup
+  public void setUp() {
+    from = LocalDateTime.of(2030, 1, 7, 0, 0);
+    to = from.plusDays(7);
+    busyIntervals = new ArrayList<>();
+    long spacingMinutes = meetings == 0 ? 0 : Duration.between(from, to).toMinutes() / meetings;
+    for (int i = 0; i < meetings; i++) {
+      LocalDateTime start = from.plusMinutes(i * spacingMinutes);
+      busyIntervals.add(new BusyInterval(start, start.plusHours(1)));
+    }
+  }
+
+  @Benchmark
+  public List<TimeSlotDto> materialized() {
+    List<TimeSlotDto> all = materialize(from, to, SLOT_DURATION, busyIntervals);
+    int start = Math.min(page * PAGE_SIZE, all.size());
+    int end = Math.min(start + PAGE_SIZE, all.size());
+    return new ArrayList<>(all.subList(start, end));
+  }
+
+  @Benchmark
+  public List<TimeSlotDto> lazy() {
+    FreeSlots freeSlots = FreeSlots.between(from, to, SLOT_DURATION, busyIntervals);
+    freeSlots.count();
+    return freeSlots.page((long) page * PAGE_SIZE, PAGE_SIZE);
+  }
+
+  /** The slot generation used before {@link FreeSlots}, which builds every slot of the range. */
+  private static List<TimeSlotDto> materialize(
+      LocalDateTime from, LocalDateTime to, Duration slotDuration, List<BusyInterval> busy) {
+    List<TimeSlotDto> slots = new ArrayList<>();
+    LocalDateTime current = from;
+    for (BusyInterval interval : busy) {
+      while (!current.plus(slotDuration).isAfter(interval.start())) {
+        slots.add(slot(current, slotDuration));
+        current = current.plus(slotDuration);
+      }
+      current = interval.end();
+    }
+    while (!current.plus(slotDuration).isAfter(to)) {
+      slots.add(slot(current, slotDuration));
+      current = current.plus(slotDuration);
+    }
+    return slots;
+  }
+
+  private static TimeSlotDto slot(LocalDateTime start, Duration slotDuration) {
+    return TimeSlotDto.builder()
+        .startTime(start)
+        .endTime(start.plus(slotDuration))
+        .durationMinutes((int) slotDuration.toMinutes())
+        .build();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(SlotGenerationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
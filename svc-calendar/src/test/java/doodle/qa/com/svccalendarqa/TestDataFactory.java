@@ -1,9 +1,14 @@
 package doodle.qa.com.svccalendarqa;
 
+import doodle.qa.com.svccalendarqa.client.ProviderResilience;
 import doodle.qa.com.svccalendarqa.dto.MeetingDto;
 import doodle.qa.com.svccalendarqa.dto.TimeSlotDto;
 import doodle.qa.com.svccalendarqa.entity.Meeting;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.repository.MeetingInterval;
+import doodle.qa.com.svccalendarqa.repository.MeetingPageRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -244,6 +249,108 @@ public class TestDataFactory {
     return meetingDtos;
   }
 
+  /**
+   * Creates the MeetingInterval projection of a Meeting entity, as the repository would return it.
+   *
+   * @param meeting The meeting
+   * @return A MeetingInterval
+   */
+  public static MeetingInterval createMeetingInterval(Meeting meeting) {
+    UUID userCalendarId =
+        meeting.getUserCalendar() != null ? meeting.getUserCalendar().getId() : null;
+    return new MeetingInterval() {
+      @Override
+      public UUID getId() {
+        return meeting.getId();
+      }
+
+      @Override
+      public UUID getUserCalendarId() {
+        return userCalendarId;
+      }
+
+      @Override
+      public UUID getCalendarId() {
+        return meeting.getCalendarId();
+      }
+
+      @Override
+      public LocalDateTime getStartTime() {
+        return meeting.getStartTime();
+      }
+
+      @Override
+      public LocalDateTime getEndTime() {
+        return meeting.getEndTime();
+      }
+    };
+  }
+
+  /**
+   * Creates the MeetingPageRow projection of a MeetingDto, as the repository would return it.
+   *
+   * @param meeting The meeting
+   * @param total The number of meetings listed in total
+   * @return A MeetingPageRow
+   */
+  public static MeetingPageRow createMeetingPageRow(MeetingDto meeting, long total) {
+    return new MeetingPageRow() {
+      @Override
+      public String getId() {
+        return meeting.getId().toString();
+      }
+
+      @Override
+      public String getTitle() {
+        return meeting.getTitle();
+      }
+
+      @Override
+      public String getDescription() {
+        return meeting.getDescription();
+      }
+
+      @Override
+      public LocalDateTime getStartTime() {
+        return meeting.getStartTime();
+      }
+
+      @Override
+      public LocalDateTime getEndTime() {
+        return meeting.getEndTime();
+      }
+
+      @Override
+      public String getLocation() {
+        return meeting.getLocation();
+      }
+
+      @Override
+      public String getCalendarId() {
+        return meeting.getCalendarId().toString();
+      }
+
+      @Override
+      public long getTotal() {
+        return total;
+      }
+    };
+  }
+
+  /**
+   * Creates the MeetingInterval projections of a list of Meeting entities.
+   *
+   * @param meetings The meetings
+   * @return A list of MeetingInterval projections
+   */
+  public static List<MeetingInterval> createMeetingIntervals(Meeting... meetings) {
+    List<MeetingInterval> intervals = new ArrayList<>();
+    for (Meeting meeting : meetings) {
+      intervals.add(createMeetingInterval(meeting));
+    }
+    return intervals;
+  }
+
   /**
    * Creates a list of TimeSlotDto objects for testing.
    *
@@ -262,4 +369,16 @@ public class TestDataFactory {
     }
     return timeSlotDtos;
   }
+
+  /**
+   * Creates a ProviderResilience whose circuit breaker opens once three calls have failed, with
+   * retries that back off for only a millisecond.
+   *
+   * @param meterRegistry The meter registry
+   * @return A ProviderResilience
+   */
+  public static ProviderResilience createProviderResilience(MeterRegistry meterRegistry) {
+    return new ProviderResilience(
+        meterRegistry, 50, 6, Duration.ofMinutes(1), 1, 10, 3, Duration.ofMillis(1), 0.1);
+  }
 }
@@ -0,0 +1,215 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.example.svcuser.avro.EventType;
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.entity.UserCalendar;
+import doodle.qa.com.svccalendarqa.kafka.UserStateBatchConsumer;
+import doodle.qa.com.svccalendarqa.kafka.UserStateVersionTracker;
+import doodle.qa.com.svccalendarqa.repository.UserCalendarBatchRepository;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+/**
+ * Unit tests for the UserStateBatchConsumer. These tests verify that the events of a batch are
+ * collapsed per user and applied with one insert and one delete.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStateBatchConsumerTest {
+
+  @Mock private UserCalendarBatchRepository userCalendarBatchRepository;
+  @Mock private MembershipIndex membershipIndex;
+  @Mock private UserStateVersionTracker userStateVersionTracker;
+  @Mock private Acknowledgment acknowledgment;
+
+  private SimpleMeterRegistry meterRegistry;
+  private UserStateBatchConsumer userStateBatchConsumer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    userStateBatchConsumer =
+        new UserStateBatchConsumer(
+            userCalendarBatchRepository, membershipIndex, userStateVersionTracker, meterRegistry);
+    lenient()
+        .when(userStateVersionTracker.acceptAll(anyList(), anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  @DisplayName("Should collapse the events of each user and apply the batch at once")
+  void processUserStates_ShouldApplyLatestStatePerUser() {
+    // Given
+    UUID firstUserId = UUID.randomUUID();
+    UUID secondUserId = UUID.randomUUID();
+    UUID keptCalendarId = UUID.randomUUID();
+    UUID removedCalendarId = UUID.randomUUID();
+    UUID secondCalendarId = UUID.randomUUID();
+    List<UserState> userStates =
+        List.of(
+            userState(firstUserId, EventType.UPDATED, keptCalendarId, removedCalendarId),
+            userState(secondUserId, EventType.CREATED, secondCalendarId),
+            userState(firstUserId, EventType.CALENDAR_REMOVED, keptCalendarId));
+    UserCalendar removed =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), removedCalendarId, firstUserId);
+    UserCalendar added =
+        TestDataFactory.createUserCalendar(UUID.randomUUID(), secondCalendarId, secondUserId);
+
+    when(userCalendarBatchRepository.deleteAllExcept(
+            Map.of(firstUserId, Set.of(keptCalendarId), secondUserId, Set.of(secondCalendarId))))
+        .thenReturn(List.of(removed));
+    when(userCalendarBatchRepository.insertAllMissing(
+            List.of(
+                UserCalendar.builder().calendarId(keptCalendarId).userId(firstUserId).build(),
+                UserCalendar.builder().calendarId(secondCalendarId).userId(secondUserId).build())))
+        .thenReturn(List.of(added));
+
+    // When
+    userStateBatchConsumer.processUserStates(userStates, offsetsOf(userStates), acknowledgment);
+
+    // Then
+    verify(acknowledgment, times(1)).acknowledge();
+    verify(membershipIndex).remove(removed, 2L);
+    verify(membershipIndex).put(added, 1L);
+    assertThat(meterRegistry.get("user-state.batch.records").summary().totalAmount())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Should only insert calendars when the batch only adds calendars")
+  void processUserStates_WhenCalendarsOnlyAdded_ShouldNotDelete() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    when(userCalendarBatchRepository.insertAllMissing(
+            List.of(UserCalendar.builder().calendarId(calendarId).userId(userId).build())))
+        .thenReturn(List.of());
+
+    // When
+    List<UserState> userStates = List.of(userState(userId, EventType.CALENDAR_ADDED, calendarId));
+    userStateBatchConsumer.processUserStates(userStates, offsetsOf(userStates), acknowledgment);
+
+    // Then
+    verify(userCalendarBatchRepository, never()).deleteAllExcept(anyMap());
+    verify(acknowledgment).acknowledge();
+  }
+
+  @Test
+  @DisplayName("Should delete every calendar of a deleted user without inserting any")
+  void processUserStates_WhenUserDeleted_ShouldDeleteAllCalendars() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    List<UserState> userStates =
+        List.of(
+            userState(userId, EventType.CALENDAR_ADDED, calendarId),
+            userState(userId, EventType.DELETED));
+    when(userCalendarBatchRepository.deleteAllExcept(Map.of(userId, Set.of())))
+        .thenReturn(List.of());
+
+    // When
+    userStateBatchConsumer.processUserStates(userStates, offsetsOf(userStates), acknowledgment);
+
+    // Then
+    verify(userCalendarBatchRepository, never()).insertAllMissing(any());
+    verify(acknowledgment).acknowledge();
+  }
+
+  @Test
+  @DisplayName("Should leave user calendars alone when every event of the batch is stale")
+  void processUserStates_WhenEventsStale_ShouldOnlyAcknowledge() {
+    // Given
+    List<UserState> userStates =
+        List.of(userState(UUID.randomUUID(), EventType.CREATED, UUID.randomUUID()));
+    when(userStateVersionTracker.acceptAll(userStates, offsetsOf(userStates)))
+        .thenReturn(List.of());
+
+    // When
+    userStateBatchConsumer.processUserStates(userStates, offsetsOf(userStates), acknowledgment);
+
+    // Then
+    verifyNoInteractions(userCalendarBatchRepository, membershipIndex);
+    verify(acknowledgment).acknowledge();
+  }
+
+  @Test
+  @DisplayName("Should not acknowledge the batch when applying it fails")
+  void processUserStates_WhenDatabaseFails_ShouldNotAcknowledge() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    when(userCalendarBatchRepository.deleteAllExcept(anyMap()))
+        .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+    // When/Then
+    assertThrows(
+        DataAccessResourceFailureException.class,
+        () ->
+            userStateBatchConsumer.processUserStates(
+                List.of(userState(userId, EventType.DELETED)), List.of(0L), acknowledgment));
+    verify(acknowledgment, never()).acknowledge();
+    verifyNoInteractions(membershipIndex);
+  }
+
+  /** Offsets of events read one after the other from the start of a partition. */
+  @Test
+  @DisplayName("Should apply the events before an unreadable one and fail the batch at it")
+  void processUserStates_WhenEventUnreadable_ShouldApplyEarlierEvents() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UUID calendarId = UUID.randomUUID();
+    UserState added = userState(userId, EventType.CALENDAR_ADDED, calendarId);
+    List<UserState> userStates = Arrays.asList(added, null, userState(userId, EventType.DELETED));
+    when(userCalendarBatchRepository.insertAllMissing(
+            List.of(UserCalendar.builder().calendarId(calendarId).userId(userId).build())))
+        .thenReturn(List.of());
+
+    // When
+    BatchListenerFailedException exception =
+        assertThrows(
+            BatchListenerFailedException.class,
+            () ->
+                userStateBatchConsumer.processUserStates(
+                    userStates, offsetsOf(userStates), acknowledgment));
+
+    // Then
+    assertThat(exception.getIndex()).isEqualTo(1);
+    verify(userStateVersionTracker).acceptAll(List.of(added), List.of(0L));
+    verify(userCalendarBatchRepository, never()).deleteAllExcept(anyMap());
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  private static List<Long> offsetsOf(List<UserState> userStates) {
+    return LongStream.range(0, userStates.size()).boxed().toList();
+  }
+
+  private static UserState userState(UUID userId, EventType eventType, UUID... calendarIds) {
+    return UserState.newBuilder()
+        .setId(userId.toString())
+        .setName("Test User")
+        .setEmail("test@example.com")
+        .setCalendarIds(Arrays.stream(calendarIds).map(UUID::toString).toList())
+        .setEventType(eventType)
+        .setTimestamp(System.currentTimeMillis())
+        .build();
+  }
+}
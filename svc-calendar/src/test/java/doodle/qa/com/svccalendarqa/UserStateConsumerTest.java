@@ -7,7 +7,9 @@ import com.example.svcuser.avro.EventType;
 import com.example.svcuser.avro.UserState;
 import doodle.qa.com.svccalendarqa.entity.UserCalendar;
 import doodle.qa.com.svccalendarqa.kafka.UserStateConsumer;
+import doodle.qa.com.svccalendarqa.kafka.UserStateVersionTracker;
 import doodle.qa.com.svccalendarqa.repository.UserCalendarRepository;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -29,13 +31,16 @@ import org.springframework.kafka.support.Acknowledgment;
 class UserStateConsumerTest {
 
   @Mock private UserCalendarRepository userCalendarRepository;
+  @Mock private MembershipIndex membershipIndex;
+  @Mock private UserStateVersionTracker userStateVersionTracker;
   @Mock private Acknowledgment acknowledgment;
 
   private UserStateConsumer userStateConsumer;
 
   @BeforeEach
   void setUp() {
-    userStateConsumer = new UserStateConsumer(userCalendarRepository);
+    userStateConsumer =
+        new UserStateConsumer(userCalendarRepository, membershipIndex, userStateVersionTracker);
   }
 
   @Test
@@ -61,9 +66,10 @@ class UserStateConsumerTest {
     when(userCalendarRepository.existsByCalendarIdAndUserId(calendarId1, userId)).thenReturn(false);
     when(userCalendarRepository.existsByCalendarIdAndUserId(calendarId2, userId)).thenReturn(false);
     when(userCalendarRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When
-    userStateConsumer.processUserState(userState, acknowledgment);
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
 
     // Then
     // Verify that the repository was called to save the user calendars
@@ -107,9 +113,10 @@ class UserStateConsumerTest {
     when(userCalendarRepository.existsByCalendarIdAndUserId(calendarId2, userId)).thenReturn(true);
     when(userCalendarRepository.findByUserId(userId))
         .thenReturn(Collections.singletonList(existingUserCalendar));
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When
-    userStateConsumer.processUserState(userState, acknowledgment);
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
 
     // Then
     // Verify that the repository was called to save the new user calendar
@@ -123,6 +130,10 @@ class UserStateConsumerTest {
 
     // Verify the saved user calendar
     assertUserCalendar(capturedUserCalendar, userId, calendarId1);
+
+    // Verify that the changes were applied to the membership index
+    verify(membershipIndex).put(capturedUserCalendar, 0L);
+    verify(membershipIndex).remove(existingUserCalendar, 0L);
   }
 
   @Test
@@ -152,15 +163,18 @@ class UserStateConsumerTest {
 
     // Mock repository behavior
     when(userCalendarRepository.findByUserId(userId)).thenReturn(existingUserCalendars);
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When
-    userStateConsumer.processUserState(userState, acknowledgment);
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
 
     // Then
     // Verify that the repository was called to delete the user calendars
     verify(userCalendarRepository).findByUserId(userId);
     verify(userCalendarRepository).deleteAll(existingUserCalendars);
     verify(acknowledgment).acknowledge();
+    verify(membershipIndex).remove(userCalendar1, 0L);
+    verify(membershipIndex).remove(userCalendar2, 0L);
   }
 
   @Test
@@ -183,9 +197,10 @@ class UserStateConsumerTest {
 
     // Mock repository behavior
     when(userCalendarRepository.existsByCalendarIdAndUserId(calendarId, userId)).thenReturn(false);
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When
-    userStateConsumer.processUserState(userState, acknowledgment);
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
 
     // Then
     // Verify that the repository was called to save the user calendar
@@ -228,9 +243,10 @@ class UserStateConsumerTest {
 
     // Mock repository behavior
     when(userCalendarRepository.findByUserId(userId)).thenReturn(existingUserCalendars);
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When
-    userStateConsumer.processUserState(userState, acknowledgment);
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
 
     // Then
     // Verify that the repository was called to delete the removed user calendar
@@ -258,10 +274,11 @@ class UserStateConsumerTest {
     // Mock repository to throw exception
     when(userCalendarRepository.findByUserId(userId))
         .thenThrow(new RuntimeException("Test exception"));
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(true);
 
     // When/Then
     try {
-      userStateConsumer.processUserState(userState, acknowledgment);
+      userStateConsumer.processUserState(userState, 0L, acknowledgment);
     } catch (Exception e) {
       // Expected exception
     }
@@ -270,6 +287,29 @@ class UserStateConsumerTest {
     verify(acknowledgment, never()).acknowledge();
   }
 
+  @Test
+  @DisplayName("Should acknowledge a stale event without touching user calendars")
+  void processUserState_WhenEventStale_ShouldSkipAndAcknowledge() {
+    // Given
+    UserState userState =
+        UserState.newBuilder()
+            .setId(UUID.randomUUID().toString())
+            .setName("Test User")
+            .setEmail("test@example.com")
+            .setCalendarIds(Collections.emptyList())
+            .setEventType(EventType.DELETED)
+            .setTimestamp(System.currentTimeMillis())
+            .build();
+    when(userStateVersionTracker.accept(userState, 0L)).thenReturn(false);
+
+    // When
+    userStateConsumer.processUserState(userState, 0L, acknowledgment);
+
+    // Then
+    verifyNoInteractions(userCalendarRepository, membershipIndex);
+    verify(acknowledgment).acknowledge();
+  }
+
   // Helper methods to verify user calendars
   private void assertUserCalendar(UserCalendar userCalendar, UUID userId, UUID calendarId) {
     assertThat(userCalendar.getUserId()).isEqualTo(userId);
@@ -0,0 +1,156 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.example.svcuser.avro.EventType;
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.kafka.UserStateConsumer;
+import doodle.qa.com.svccalendarqa.kafka.UserStateParallelConsumer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+/**
+ * Unit tests for the UserStateParallelConsumer. These tests verify that the events of a user are
+ * applied in order while users are processed in parallel, and that a failure is reported at the
+ * earliest failed event.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStateParallelConsumerTest {
+
+  @Mock private UserStateConsumer userStateConsumer;
+  @Mock private Acknowledgment acknowledgment;
+
+  private ExecutorService executor;
+  private SimpleMeterRegistry meterRegistry;
+  private UserStateParallelConsumer userStateParallelConsumer;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    meterRegistry = new SimpleMeterRegistry();
+    userStateParallelConsumer =
+        new UserStateParallelConsumer(userStateConsumer, executor, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should apply the events of each user in order and acknowledge the batch once")
+  void processUserStates_ShouldApplyEventsOfEachUserInOrder() {
+    // Given
+    UUID firstUserId = UUID.randomUUID();
+    UUID secondUserId = UUID.randomUUID();
+    UserState firstCreated = userState(firstUserId, EventType.CREATED);
+    UserState secondCreated = userState(secondUserId, EventType.CREATED);
+    UserState firstUpdated = userState(firstUserId, EventType.UPDATED);
+    UserState firstDeleted = userState(firstUserId, EventType.DELETED);
+
+    // When
+    userStateParallelConsumer.processUserStates(
+        records(firstCreated, secondCreated, firstUpdated, firstDeleted), acknowledgment);
+
+    // Then
+    InOrder inOrder = inOrder(userStateConsumer);
+    inOrder.verify(userStateConsumer).applyUserState(firstCreated, 0L);
+    inOrder.verify(userStateConsumer).applyUserState(firstUpdated, 2L);
+    inOrder.verify(userStateConsumer).applyUserState(firstDeleted, 3L);
+    verify(userStateConsumer).applyUserState(secondCreated, 1L);
+    verify(acknowledgment, times(1)).acknowledge();
+    assertThat(meterRegistry.get("user-state.batch.users").summary().totalAmount()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Should stop a user at its failed event and report the earliest failure")
+  void processUserStates_WhenEventFails_ShouldReportEarliestFailedEvent() {
+    // Given
+    UUID firstUserId = UUID.randomUUID();
+    UUID secondUserId = UUID.randomUUID();
+    UserState firstCreated = userState(firstUserId, EventType.CREATED);
+    UserState secondCreated = userState(secondUserId, EventType.CREATED);
+    UserState firstUpdated = userState(firstUserId, EventType.UPDATED);
+    UserState firstDeleted = userState(firstUserId, EventType.DELETED);
+    UserState secondUpdated = userState(secondUserId, EventType.UPDATED);
+    lenient()
+        .doThrow(new DataAccessResourceFailureException("Connection refused"))
+        .when(userStateConsumer)
+        .applyUserState(firstUpdated, 2L);
+
+    // When/Then
+    BatchListenerFailedException exception =
+        assertThrows(
+            BatchListenerFailedException.class,
+            () ->
+                userStateParallelConsumer.processUserStates(
+                    records(firstCreated, secondCreated, firstUpdated, firstDeleted, secondUpdated),
+                    acknowledgment));
+    assertThat(exception.getIndex()).isEqualTo(2);
+    verify(userStateConsumer, never()).applyUserState(firstDeleted, 3L);
+    verify(userStateConsumer).applyUserState(secondUpdated, 4L);
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  @Test
+  @DisplayName("Should report an unreadable event without key as failed instead of grouping it")
+  void processUserStates_WhenUnreadableEventHasNoKey_ShouldReportItAsFailed() {
+    // Given
+    UserState firstCreated = userState(UUID.randomUUID(), EventType.CREATED);
+    UserState secondCreated = userState(UUID.randomUUID(), EventType.CREATED);
+    List<ConsumerRecord<String, UserState>> records =
+        List.of(
+            new ConsumerRecord<>("user-state", 0, 0L, firstCreated.getId(), firstCreated),
+            new ConsumerRecord<>("user-state", 0, 1L, null, null),
+            new ConsumerRecord<>("user-state", 0, 2L, secondCreated.getId(), secondCreated));
+
+    // When/Then
+    BatchListenerFailedException exception =
+        assertThrows(
+            BatchListenerFailedException.class,
+            () -> userStateParallelConsumer.processUserStates(records, acknowledgment));
+    assertThat(exception.getIndex()).isEqualTo(1);
+    assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+    verify(userStateConsumer).applyUserState(firstCreated, 0L);
+    verify(userStateConsumer).applyUserState(secondCreated, 2L);
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  private static List<ConsumerRecord<String, UserState>> records(UserState... userStates) {
+    List<ConsumerRecord<String, UserState>> records = new ArrayList<>();
+    for (int offset = 0; offset < userStates.length; offset++) {
+      UserState userState = userStates[offset];
+      records.add(new ConsumerRecord<>("user-state", 0, offset, userState.getId(), userState));
+    }
+    return records;
+  }
+
+  private static UserState userState(UUID userId, EventType eventType) {
+    return UserState.newBuilder()
+        .setId(userId.toString())
+        .setName("Test User")
+        .setEmail("test@example.com")
+        .setCalendarIds(List.of(UUID.randomUUID().toString()))
+        .setEventType(eventType)
+        .setTimestamp(System.currentTimeMillis())
+        .build();
+  }
+}
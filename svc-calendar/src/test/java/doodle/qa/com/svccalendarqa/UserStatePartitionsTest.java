@@ -0,0 +1,85 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.mockito.Mockito.*;
+
+import doodle.qa.com.svccalendarqa.kafka.UserStatePartitions;
+import doodle.qa.com.svccalendarqa.service.MembershipIndex;
+import java.util.List;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for the UserStatePartitions. These tests verify that the membership index is started
+ * only once every partition of the user state topic is assigned to this instance, and stopped as
+ * soon as one of them is revoked.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStatePartitionsTest {
+
+  private static final String TOPIC = "user-state";
+
+  @Mock private MembershipIndex membershipIndex;
+  @Mock private Consumer<String, Object> consumer;
+
+  private UserStatePartitions userStatePartitions;
+
+  @BeforeEach
+  void setUp() {
+    userStatePartitions = new UserStatePartitions(membershipIndex, TOPIC);
+    lenient()
+        .when(consumer.partitionsFor(TOPIC))
+        .thenReturn(
+            List.of(
+                new PartitionInfo(TOPIC, 0, null, null, null),
+                new PartitionInfo(TOPIC, 1, null, null, null)));
+  }
+
+  @Test
+  @DisplayName("Should start the membership index once all partitions are assigned")
+  void onPartitionsAssigned_WhenAllAssigned_ShouldStartMembershipIndex() {
+    // When
+    userStatePartitions.onPartitionsAssigned(consumer, List.of(new TopicPartition(TOPIC, 0)));
+
+    // Then
+    verify(membershipIndex, never()).start();
+
+    // When
+    userStatePartitions.onPartitionsAssigned(consumer, List.of(new TopicPartition(TOPIC, 1)));
+
+    // Then
+    verify(membershipIndex).start();
+  }
+
+  @Test
+  @DisplayName("Should stop the membership index when a partition is revoked")
+  void onPartitionsRevokedBeforeCommit_ShouldStopMembershipIndex() {
+    // Given
+    userStatePartitions.onPartitionsAssigned(
+        consumer, List.of(new TopicPartition(TOPIC, 0), new TopicPartition(TOPIC, 1)));
+
+    // When
+    userStatePartitions.onPartitionsRevokedBeforeCommit(
+        consumer, List.of(new TopicPartition(TOPIC, 1)));
+
+    // Then
+    verify(membershipIndex).stop();
+  }
+
+  @Test
+  @DisplayName("Should ignore partitions of other topics")
+  void onPartitionsAssigned_WhenOtherTopic_ShouldNotStartMembershipIndex() {
+    // When
+    userStatePartitions.onPartitionsAssigned(
+        consumer, List.of(new TopicPartition(TOPIC, 0), new TopicPartition("user-state-dlt", 1)));
+
+    // Then
+    verify(membershipIndex, never()).start();
+  }
+}
@@ -0,0 +1,142 @@
+package doodle.qa.com.svccalendarqa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.example.svcuser.avro.EventType;
+import com.example.svcuser.avro.UserState;
+import doodle.qa.com.svccalendarqa.entity.UserStateVersion;
+import doodle.qa.com.svccalendarqa.kafka.UserStateVersionTracker;
+import doodle.qa.com.svccalendarqa.repository.UserStateVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for the UserStateVersionTracker. These tests verify that stale and redelivered user
+ * state events are skipped and counted, and that the last applied event is recorded per user.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStateVersionTrackerTest {
+
+  @Mock private UserStateVersionRepository userStateVersionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private UserStateVersionTracker userStateVersionTracker;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    userStateVersionTracker =
+        new UserStateVersionTracker(userStateVersionRepository, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should accept the first event of a user and record it")
+  void accept_WhenUserHasNoVersion_ShouldRecordVersion() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UserState userState = userState(userId, EventType.CREATED, 1000L);
+    when(userStateVersionRepository.findAllByUserIdIn(anyCollection())).thenReturn(List.of());
+
+    // When
+    boolean accepted = userStateVersionTracker.accept(userState, 0L);
+
+    // Then
+    assertThat(accepted).isTrue();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UserStateVersion>> captor = ArgumentCaptor.forClass(List.class);
+    verify(userStateVersionRepository).saveAll(captor.capture());
+    assertThat(captor.getValue())
+        .singleElement()
+        .satisfies(
+            version -> {
+              assertThat(version.getUserId()).isEqualTo(userId);
+              assertThat(version.getEventTimestamp()).isEqualTo(1000L);
+              assertThat(version.getEventOffset()).isZero();
+            });
+  }
+
+  @Test
+  @DisplayName("Should skip events older than the last applied one and count them as stale")
+  void acceptAll_WhenEventOlder_ShouldSkipAsStale() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UserStateVersion version =
+        UserStateVersion.builder().userId(userId).eventTimestamp(2000L).eventOffset(5L).build();
+    when(userStateVersionRepository.findAllByUserIdIn(anyCollection()))
+        .thenReturn(List.of(version));
+    UserState older = userState(userId, EventType.UPDATED, 1000L);
+    UserState newer = userState(userId, EventType.UPDATED, 3000L);
+
+    // When
+    List<UserState> accepted =
+        userStateVersionTracker.acceptAll(List.of(older, newer), List.of(6L, 7L));
+
+    // Then
+    assertThat(accepted).containsExactly(newer);
+    assertThat(version.getEventTimestamp()).isEqualTo(3000L);
+    assertThat(skippedEvents("stale")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should skip a redelivered event but accept a later event with the same timestamp")
+  void acceptAll_WhenEventRedelivered_ShouldSkipAsDuplicate() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UserState created = userState(userId, EventType.CREATED, 1000L);
+    UserState added = userState(userId, EventType.CALENDAR_ADDED, 1000L);
+    when(userStateVersionRepository.findAllByUserIdIn(anyCollection())).thenReturn(List.of());
+
+    // When
+    List<UserState> accepted =
+        userStateVersionTracker.acceptAll(List.of(created, created, added), List.of(0L, 0L, 1L));
+
+    // Then
+    assertThat(accepted).containsExactly(created, added);
+    assertThat(skippedEvents("duplicate")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should skip a redelivered earlier event with the same timestamp as stale")
+  void acceptAll_WhenEarlierEventWithSameTimestampRedelivered_ShouldSkipAsStale() {
+    // Given
+    UUID userId = UUID.randomUUID();
+    UserStateVersion version =
+        UserStateVersion.builder().userId(userId).eventTimestamp(1000L).eventOffset(5L).build();
+    when(userStateVersionRepository.findAllByUserIdIn(anyCollection()))
+        .thenReturn(List.of(version));
+    UserState added = userState(userId, EventType.CALENDAR_ADDED, 1000L);
+
+    // When
+    List<UserState> accepted = userStateVersionTracker.acceptAll(List.of(added), List.of(4L));
+
+    // Then
+    assertThat(accepted).isEmpty();
+    assertThat(version.getEventOffset()).isEqualTo(5L);
+    assertThat(skippedEvents("stale")).isEqualTo(1.0);
+  }
+
+  private double skippedEvents(String reason) {
+    return meterRegistry.get("user-state.events.skipped").tag("reason", reason).counter().count();
+  }
+
+  private static UserState userState(UUID userId, EventType eventType, long timestamp) {
+    return UserState.newBuilder()
+        .setId(userId.toString())
+        .setName("Test User")
+        .setEmail("test@example.com")
+        .setCalendarIds(List.of(UUID.randomUUID().toString()))
+        .setEventType(eventType)
+        .setTimestamp(timestamp)
+        .build();
+  }
+}
@@ -16,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +35,9 @@ public class CalendarController {
    *
    * @param page Page number (zero-based, optional)
    * @param size Number of calendars per page (optional)
+   * @param slice Whether to return hasNext instead of totalPages, without a count query (optional)
+   * @param approximateCount Whether to also return an approximate total from table statistics,
+   *     which implies slice (optional)
    * @return Simplified response with calendars and minimal pagination information
    */
   @GetMapping
@@ -47,11 +51,37 @@ public class CalendarController {
           @RequestParam(required = false, defaultValue = "0")
           Integer page,
       @Parameter(description = "Page size") @RequestParam(required = false, defaultValue = "20")
-          Integer size) {
+          Integer size,
+      @Parameter(description = "Return hasNext instead of totalPages, without a count query")
+          @RequestParam(required = false, defaultValue = "false")
+          Boolean slice,
+      @Parameter(description = "Also return an approximate total from table statistics")
+          @RequestParam(required = false, defaultValue = "false")
+          Boolean approximateCount) {
 
     Pageable pageable = PageRequest.of(page, size);
     log.info("GET request to retrieve all calendars with pagination: page={}, size={}", page, size);
 
+    if (slice || approximateCount) {
+      Slice<CalendarDto> calendarsSlice = calendarService.getCalendarSlice(pageable);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("calendars", calendarsSlice.getContent());
+      response.put("hasNext", calendarsSlice.hasNext());
+      response.put("currentPage", calendarsSlice.getNumber());
+      if (approximateCount) {
+        response.put("approximateTotalElements", calendarService.estimateCalendarCount());
+      }
+
+      log.info(
+          "Retrieved {} calendars (page {}, has next: {})",
+          calendarsSlice.getNumberOfElements(),
+          calendarsSlice.getNumber() + 1,
+          calendarsSlice.hasNext());
+
+      return ResponseEntity.ok(response);
+    }
+
     Page<CalendarDto> calendarsPage = calendarService.getAllCalendars(pageable);
 
     // Create a simplified response with minimal pagination information
@@ -3,7 +3,10 @@ package doodle.qa.com.svcproviderqa.repository;
 import doodle.qa.com.svcproviderqa.entity.Calendar;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +14,17 @@ public interface CalendarRepository extends JpaRepository<Calendar, UUID> {
   Optional<Calendar> findByName(String name);
 
   boolean existsByName(String name);
+
+  Slice<Calendar> findAllBy(Pageable pageable);
+
+  /**
+   * Estimates the number of calendars from the planner statistics of the calendars table, which
+   * PostgreSQL refreshes on VACUUM and ANALYZE, without scanning the table.
+   *
+   * @return the estimate, negative if the table has not been analyzed yet
+   */
+  @Query(
+      value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('calendars')",
+      nativeQuery = true)
+  Long estimateCount();
 }
@@ -17,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
@@ -45,6 +46,32 @@ public class CalendarService {
     return calendarRepository.findAll(pageable).map(this::mapToDto);
   }
 
+  /**
+   * Retrieves a slice of all calendars. Only one extra row is read to tell whether a next slice
+   * exists, and no count query is run.
+   *
+   * @param pageable Pagination information
+   * @return Slice of CalendarDto objects
+   */
+  public Slice<CalendarDto> getCalendarSlice(Pageable pageable) {
+    log.info("Retrieving a slice of calendars: {}", pageable);
+    return calendarRepository.findAllBy(pageable).map(this::mapToDto);
+  }
+
+  /**
+   * Estimates the number of calendars from table statistics, falling back to an exact count if the
+   * table has not been analyzed yet. The estimate lags behind recent writes.
+   *
+   * @return Approximate number of calendars
+   */
+  public long estimateCalendarCount() {
+    Long estimate = calendarRepository.estimateCount();
+    if (estimate == null || estimate < 0) {
+      return calendarRepository.count();
+    }
+    return estimate;
+  }
+
   /**
    * Retrieves all calendars. Note: For large datasets, consider using the paginated version.
    *
@@ -25,6 +25,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -132,6 +134,51 @@ class CalendarControllerTest {
     verify(calendarService).getAllCalendars(any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("Should return calendars and hasNext without totals when getting a slice")
+  void getAllCalendars_WithSlice_ShouldReturnHasNextWithoutTotals() throws Exception {
+    // Given
+    List<CalendarDto> calendars = TestDataFactory.createCalendarDtoList(2);
+    Slice<CalendarDto> calendarSlice = new SliceImpl<>(calendars, PageRequest.of(0, 2), true);
+
+    when(calendarService.getCalendarSlice(any(Pageable.class))).thenReturn(calendarSlice);
+
+    // When/Then
+    mockMvc
+        .perform(get("/api/calendars").param("size", "2").param("slice", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.calendars", hasSize(2)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.currentPage", is(0)))
+        .andExpect(jsonPath("$.totalPages").doesNotExist())
+        .andExpect(jsonPath("$.approximateTotalElements").doesNotExist());
+
+    verify(calendarService, never()).getAllCalendars(any(Pageable.class));
+    verify(calendarService, never()).estimateCalendarCount();
+  }
+
+  @Test
+  @DisplayName("Should return an approximate total when getting calendars with approximate count")
+  void getAllCalendars_WithApproximateCount_ShouldReturnEstimatedTotal() throws Exception {
+    // Given
+    List<CalendarDto> calendars = TestDataFactory.createCalendarDtoList(2);
+    Slice<CalendarDto> calendarSlice = new SliceImpl<>(calendars, PageRequest.of(0, 2), true);
+
+    when(calendarService.getCalendarSlice(any(Pageable.class))).thenReturn(calendarSlice);
+    when(calendarService.estimateCalendarCount()).thenReturn(1000L);
+
+    // When/Then
+    mockMvc
+        .perform(get("/api/calendars").param("size", "2").param("approximateCount", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.calendars", hasSize(2)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.approximateTotalElements", is(1000)));
+
+    verify(calendarService, never()).getAllCalendars(any(Pageable.class));
+  }
+
   @Test
   @DisplayName("Should return calendar when getting calendar by ID that exists")
   void getCalendarById_WhenCalendarExists_ShouldReturnCalendar() throws Exception {
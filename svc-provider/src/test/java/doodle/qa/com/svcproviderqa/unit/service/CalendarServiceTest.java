@@ -25,6 +25,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 /**
  * Unit tests for the CalendarService. These tests verify the business logic in the service layer
@@ -57,6 +61,52 @@ class CalendarServiceTest {
     verify(calendarRepository).findAll();
   }
 
+  @Test
+  @DisplayName("Should return a slice of calendars without counting them")
+  void getCalendarSlice_ShouldReturnSliceWithoutCount() {
+    // Given
+    List<Calendar> calendars = TestDataFactory.createCalendarList(2);
+    Pageable pageable = PageRequest.of(0, 2);
+    when(calendarRepository.findAllBy(pageable))
+        .thenReturn(new SliceImpl<>(calendars, pageable, true));
+
+    // When
+    Slice<CalendarDto> result = calendarService.getCalendarSlice(pageable);
+
+    // Then
+    assertThat(result.getContent()).hasSize(2);
+    assertThat(result.hasNext()).isTrue();
+    verify(calendarRepository, never()).count();
+  }
+
+  @Test
+  @DisplayName("Should return the table estimate when estimating the calendar count")
+  void estimateCalendarCount_WhenTableAnalyzed_ShouldReturnEstimate() {
+    // Given
+    when(calendarRepository.estimateCount()).thenReturn(1000L);
+
+    // When
+    long result = calendarService.estimateCalendarCount();
+
+    // Then
+    assertThat(result).isEqualTo(1000L);
+    verify(calendarRepository, never()).count();
+  }
+
+  @Test
+  @DisplayName("Should fall back to an exact count when the table has not been analyzed")
+  void estimateCalendarCount_WhenTableNotAnalyzed_ShouldCountCalendars() {
+    // Given
+    when(calendarRepository.estimateCount()).thenReturn(-1L);
+    when(calendarRepository.count()).thenReturn(3L);
+
+    // When
+    long result = calendarService.estimateCalendarCount();
+
+    // Then
+    assertThat(result).isEqualTo(3L);
+  }
+
   @Test
   @DisplayName("Should return calendar by ID when calendar exists")
   void getCalendarById_WhenCalendarExists_ShouldReturnCalendar() {
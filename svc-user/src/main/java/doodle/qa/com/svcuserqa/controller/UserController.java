@@ -16,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +35,9 @@ public class UserController {
    *
    * @param page Page number (zero-based, optional)
    * @param size Number of users per page (optional)
+   * @param slice Whether to return hasNext instead of totalPages, without a count query (optional)
+   * @param approximateCount Whether to also return an approximate total from table statistics,
+   *     which implies slice (optional)
    * @return Simplified response with users and minimal pagination information
    */
   @GetMapping
@@ -47,11 +51,37 @@ public class UserController {
           @RequestParam(required = false, defaultValue = "0")
           Integer page,
       @Parameter(description = "Page size") @RequestParam(required = false, defaultValue = "20")
-          Integer size) {
+          Integer size,
+      @Parameter(description = "Return hasNext instead of totalPages, without a count query")
+          @RequestParam(required = false, defaultValue = "false")
+          Boolean slice,
+      @Parameter(description = "Also return an approximate total from table statistics")
+          @RequestParam(required = false, defaultValue = "false")
+          Boolean approximateCount) {
 
     Pageable pageable = PageRequest.of(page, size);
     log.debug("GET request to retrieve all users with pagination: page={}, size={}", page, size);
 
+    if (slice || approximateCount) {
+      Slice<UserDto> usersSlice = userService.getUserSlice(pageable);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("users", usersSlice.getContent());
+      response.put("hasNext", usersSlice.hasNext());
+      response.put("currentPage", usersSlice.getNumber());
+      if (approximateCount) {
+        response.put("approximateTotalElements", userService.estimateUserCount());
+      }
+
+      log.info(
+          "Retrieved {} users (page {}, has next: {})",
+          usersSlice.getNumberOfElements(),
+          usersSlice.getNumber() + 1,
+          usersSlice.hasNext());
+
+      return ResponseEntity.ok(response);
+    }
+
     Page<UserDto> usersPage = userService.getAllUsers(pageable);
 
     // Create a simplified response with minimal pagination information
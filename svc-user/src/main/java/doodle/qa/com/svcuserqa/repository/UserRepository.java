@@ -3,7 +3,10 @@ package doodle.qa.com.svcuserqa.repository;
 import doodle.qa.com.svcuserqa.entity.User;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +14,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  Slice<User> findAllBy(Pageable pageable);
+
+  /**
+   * Estimates the number of users from the planner statistics of the users table, which PostgreSQL
+   * refreshes on VACUUM and ANALYZE, without scanning the table.
+   *
+   * @return the estimate, negative if the table has not been analyzed yet
+   */
+  @Query(
+      value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('users')",
+      nativeQuery = true)
+  Long estimateCount();
 }
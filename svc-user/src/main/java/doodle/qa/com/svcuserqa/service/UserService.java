@@ -23,6 +23,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
@@ -52,6 +53,32 @@ public class UserService {
     return userRepository.findAll(pageable).map(this::mapToDto);
   }
 
+  /**
+   * Retrieves a slice of all users. Only one extra row is read to tell whether a next slice exists,
+   * and no count query is run.
+   *
+   * @param pageable Pagination information
+   * @return Slice of UserDto objects
+   */
+  public Slice<UserDto> getUserSlice(Pageable pageable) {
+    log.debug("Retrieving a slice of users: {}", pageable);
+    return userRepository.findAllBy(pageable).map(this::mapToDto);
+  }
+
+  /**
+   * Estimates the number of users from table statistics, falling back to an exact count if the
+   * table has not been analyzed yet. The estimate lags behind recent writes.
+   *
+   * @return Approximate number of users
+   */
+  public long estimateUserCount() {
+    Long estimate = userRepository.estimateCount();
+    if (estimate == null || estimate < 0) {
+      return userRepository.count();
+    }
+    return estimate;
+  }
+
   /**
    * Retrieves all users. Note: For large datasets, consider using the paginated version.
    *
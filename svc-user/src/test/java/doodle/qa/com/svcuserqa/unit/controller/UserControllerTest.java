@@ -24,6 +24,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -126,6 +128,51 @@ class UserControllerTest {
     verify(userService).getAllUsers(any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("Should return users and hasNext without totals when getting a slice")
+  void getAllUsers_WithSlice_ShouldReturnHasNextWithoutTotals() throws Exception {
+    // Given
+    List<UserDto> users = TestDataFactory.createUserDtoList(2);
+    Slice<UserDto> userSlice = new SliceImpl<>(users, PageRequest.of(0, 2), true);
+
+    when(userService.getUserSlice(any(Pageable.class))).thenReturn(userSlice);
+
+    // When/Then
+    mockMvc
+        .perform(get("/api/users").param("size", "2").param("slice", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.users", hasSize(2)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.currentPage", is(0)))
+        .andExpect(jsonPath("$.totalPages").doesNotExist())
+        .andExpect(jsonPath("$.approximateTotalElements").doesNotExist());
+
+    verify(userService, never()).getAllUsers(any(Pageable.class));
+    verify(userService, never()).estimateUserCount();
+  }
+
+  @Test
+  @DisplayName("Should return an approximate total when getting users with approximate count")
+  void getAllUsers_WithApproximateCount_ShouldReturnEstimatedTotal() throws Exception {
+    // Given
+    List<UserDto> users = TestDataFactory.createUserDtoList(2);
+    Slice<UserDto> userSlice = new SliceImpl<>(users, PageRequest.of(0, 2), true);
+
+    when(userService.getUserSlice(any(Pageable.class))).thenReturn(userSlice);
+    when(userService.estimateUserCount()).thenReturn(1000L);
+
+    // When/Then
+    mockMvc
+        .perform(get("/api/users").param("size", "2").param("approximateCount", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.users", hasSize(2)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.approximateTotalElements", is(1000)));
+
+    verify(userService, never()).getAllUsers(any(Pageable.class));
+  }
+
   @Test
   @DisplayName("Should return user when getting user by ID that exists")
   void getUserById_WhenUserExists_ShouldReturnUser() throws Exception {
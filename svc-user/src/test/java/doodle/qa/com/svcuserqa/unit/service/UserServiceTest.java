@@ -27,6 +27,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 /**
  * Unit tests for the UserService. These tests verify the business logic in the service layer using
@@ -61,6 +65,51 @@ class UserServiceTest {
     verify(userRepository).findAll();
   }
 
+  @Test
+  @DisplayName("Should return a slice of users without counting them")
+  void getUserSlice_ShouldReturnSliceWithoutCount() {
+    // Given
+    List<User> users = TestDataFactory.createUserList(2);
+    Pageable pageable = PageRequest.of(0, 2);
+    when(userRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(users, pageable, true));
+
+    // When
+    Slice<UserDto> result = userService.getUserSlice(pageable);
+
+    // Then
+    assertThat(result.getContent()).hasSize(2);
+    assertThat(result.hasNext()).isTrue();
+    verify(userRepository, never()).count();
+  }
+
+  @Test
+  @DisplayName("Should return the table estimate when estimating the user count")
+  void estimateUserCount_WhenTableAnalyzed_ShouldReturnEstimate() {
+    // Given
+    when(userRepository.estimateCount()).thenReturn(1000L);
+
+    // When
+    long result = userService.estimateUserCount();
+
+    // Then
+    assertThat(result).isEqualTo(1000L);
+    verify(userRepository, never()).count();
+  }
+
+  @Test
+  @DisplayName("Should fall back to an exact count when the table has not been analyzed")
+  void estimateUserCount_WhenTableNotAnalyzed_ShouldCountUsers() {
+    // Given
+    when(userRepository.estimateCount()).thenReturn(-1L);
+    when(userRepository.count()).thenReturn(3L);
+
+    // When
+    long result = userService.estimateUserCount();
+
+    // Then
+    assertThat(result).isEqualTo(3L);
+  }
+
   @Test
   @DisplayName("Should return user by ID when user exists")
   void getUserById_WhenUserExists_ShouldReturnUser() {